@@ -0,0 +1,97 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.Controller.RecyclingResponse;
+import com.example.backend.utill.GeminiImageRequestBody;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap cost of building and sending one Gemini request, and of reading its response: the old
+ * base64 string + text block + readTree path against the streaming body and parser. Compare
+ * gc.alloc.rate.norm (bytes per upload); with 8 threads it also shows the cost under concurrent uploads.
+ * Lives in the service package because the response reader is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class GeminiPayloadBenchmark {
+
+    // 10 MB is the multipart upload limit
+    @Param({"1024", "10240"})
+    private int imageKb;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] image;
+    private byte[] responseBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        image = new byte[imageKb * 1024];
+        new Random(42).nextBytes(image);
+
+        String answer = objectMapper.writeValueAsString(new RecyclingResponse(
+                "Plastic bottle", "PET", "Recyclable", "1. Rinse\n2. Remove the cap\n3. Put it in the plastic bin"));
+        responseBody = objectMapper.writeValueAsBytes(objectMapper.createObjectNode()
+                .set("candidates", objectMapper.createArrayNode().add(objectMapper.createObjectNode()
+                        .put("finishReason", "STOP")
+                        .set("content", objectMapper.createObjectNode()
+                                .put("role", "model")
+                                .set("parts", objectMapper.createArrayNode()
+                                        .add(objectMapper.createObjectNode().put("text", answer)))))));
+    }
+
+    @Benchmark
+    public void stringRequestBody() throws IOException {
+        String base64Image = Base64.getEncoder().encodeToString(image);
+        String json = """
+                {"contents":[{"parts":[{"inlineData":{"mimeType":"%s","data":"%s"}},{"text":"%s"}]}]}
+                """.formatted("image/jpeg", base64Image, GeminiService.PROMPT);
+        writeToNowhere(RequestBody.create(json, MediaType.parse("application/json")));
+    }
+
+    @Benchmark
+    public void streamingRequestBody() throws IOException {
+        writeToNowhere(new GeminiImageRequestBody(objectMapper.getFactory(),
+                () -> new ByteArrayInputStream(image), image.length, "image/jpeg", GeminiService.PROMPT));
+    }
+
+    @Benchmark
+    public RecyclingResponse treeResponse() throws IOException {
+        JsonNode jsonNode = objectMapper.readTree(new String(responseBody, StandardCharsets.UTF_8));
+        String content = jsonNode.path("candidates").get(0).path("content").path("parts").get(0).path("text").asText();
+        JsonNode contentNode = objectMapper.readTree(content);
+        return new RecyclingResponse(
+                contentNode.path("itemName").asText("Unknown Item"),
+                contentNode.path("material").asText("Unknown Material"),
+                contentNode.path("recyclability").asText("Unknown"),
+                contentNode.path("recyclingProcess").asText("No recycling process available."));
+    }
+
+    @Benchmark
+    public RecyclingResponse streamingResponse() throws IOException {
+        return GeminiService.readResponse(objectMapper.getFactory(), new ByteArrayInputStream(responseBody));
+    }
+
+    private static void writeToNowhere(RequestBody body) throws IOException {
+        // Stands in for the socket: bytes are consumed as written, like OkHttp's sink
+        try (BufferedSink sink = Okio.buffer(Okio.blackhole())) {
+            body.writeTo(sink);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.DTO.BinReadingPointDTO;
+import com.example.backend.utill.BinHistoryStore;
+import com.example.backend.utill.BinHistoryStore.Level;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingest rate and query latency of the bin fill-level history tables. Needs the MySQL database
+ * from application.properties (override with -Dhistory.jdbc.url/-user/-password). Works on bin ids
+ * from 9,000,000,000 up and deletes them again afterwards, so it can run against a dev database.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinHistoryBenchmark {
+
+    private static final long FIRST_BIN_ID = 9_000_000_000L;
+    private static final int INGEST_BATCH = 1000;
+
+    @Param({"100"})
+    private int bins;
+
+    private JdbcTemplate jdbcTemplate;
+    private BinHistoryStore store;
+    private Random random;
+    private LocalDateTime now;
+    private long nextIngestSecond;
+
+    private final long[] binIds = new long[INGEST_BATCH];
+    private final long[] epochSeconds = new long[INGEST_BATCH];
+    private final byte[] fillLevels = new byte[INGEST_BATCH];
+    private final byte[] batteryLevels = new byte[INGEST_BATCH];
+
+    @Setup
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("history.jdbc.url", "jdbc:mysql://localhost:3306/ITPM?rewriteBatchedStatements=true"),
+                System.getProperty("history.jdbc.user", "root"),
+                System.getProperty("history.jdbc.password", "1234"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        store = new BinHistoryStore(jdbcTemplate);
+        store.createTables();
+        deleteBenchmarkRows();
+
+        random = new Random(42);
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+        // 90 days of hourly and daily rollups and one day of raw readings every 5 minutes per bin
+        List<Object[]> hourly = new ArrayList<>();
+        List<Object[]> daily = new ArrayList<>();
+        List<Object[]> raw = new ArrayList<>();
+        String rollupSql = " (bin_id, bucket_start, samples, fill_min, fill_max, fill_sum, fill_last, battery_min)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        for (int bin = 0; bin < bins; bin++) {
+            long binId = FIRST_BIN_ID + bin;
+            for (int hour = 0; hour < 90 * 24; hour++) {
+                int fill = random.nextInt(101);
+                hourly.add(new Object[]{binId, Timestamp.valueOf(now.minusHours(hour)), 12, Math.max(0, fill - 10),
+                        fill, fill * 12 - 30, fill, 60});
+            }
+            for (int day = 0; day < 90; day++) {
+                int fill = random.nextInt(101);
+                daily.add(new Object[]{binId, Timestamp.valueOf(now.truncatedTo(ChronoUnit.DAYS).minusDays(day)), 288, 0,
+                        fill, fill * 144, fill, 55});
+            }
+            for (int minute = 0; minute < 24 * 60; minute += 5) {
+                raw.add(new Object[]{binId, Timestamp.valueOf(now.minusMinutes(minute)), random.nextInt(101), 70});
+            }
+            if (hourly.size() > 20_000 || bin == bins - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO bin_readings_hourly" + rollupSql, hourly);
+                jdbcTemplate.batchUpdate("INSERT INTO bin_readings_daily" + rollupSql, daily);
+                jdbcTemplate.batchUpdate("INSERT INTO bin_readings_raw (bin_id, read_at, fill_level, battery_level)"
+                        + " VALUES (?, ?, ?, ?)", raw);
+                hourly.clear();
+                daily.clear();
+                raw.clear();
+            }
+        }
+        // Ingest writes readings from a year ago onwards, clear of the seeded rows
+        nextIngestSecond = now.minusDays(365).atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    @TearDown
+    public void tearDown() {
+        deleteBenchmarkRows();
+    }
+
+    // Readings per second written through the same batched insert the telemetry flush uses
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(INGEST_BATCH)
+    public void ingest() {
+        for (int i = 0; i < INGEST_BATCH; i++) {
+            binIds[i] = FIRST_BIN_ID + (i % bins);
+            epochSeconds[i] = nextIngestSecond;
+            fillLevels[i] = (byte) random.nextInt(101);
+            batteryLevels[i] = 80;
+            if (i % bins == bins - 1) {
+                nextIngestSecond++;
+            }
+        }
+        nextIngestSecond++;
+        store.insertRaw(binIds, epochSeconds, fillLevels, batteryLevels, INGEST_BATCH);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<BinReadingPointDTO> query90DaysHourly() {
+        return store.query(randomBin(), Level.HOURLY, now.minusDays(90), now.plusHours(1));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<BinReadingPointDTO> query90DaysDaily() {
+        return store.query(randomBin(), Level.DAILY, now.minusDays(90), now.plusHours(1));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<BinReadingPointDTO> query1DayRaw() {
+        return store.query(randomBin(), Level.RAW, now.minusDays(1), now.plusHours(1));
+    }
+
+    private long randomBin() {
+        return FIRST_BIN_ID + random.nextInt(bins);
+    }
+
+    private void deleteBenchmarkRows() {
+        for (String table : new String[]{"bin_readings_raw", "bin_readings_hourly", "bin_readings_daily"}) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE bin_id >= ?", FIRST_BIN_ID);
+        }
+    }
+}
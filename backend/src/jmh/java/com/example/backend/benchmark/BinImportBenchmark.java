@@ -0,0 +1,80 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.entity.BinLocation;
+import com.example.backend.entity.BinLocation.BinStatus;
+import com.example.backend.entity.BinLocation.WasteType;
+import com.example.backend.utill.BinImportReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and validating a bin inventory file for POST /api/v1/BinLocation/import, CSV against
+ * NDJSON, with every hundredth row invalid. Database writes are not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinImportBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    private byte[] csv;
+    private byte[] ndjson;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder csvText = new StringBuilder("address,latitude,longitude,wasteType,status,lastUpdated\n");
+        StringBuilder ndjsonText = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            String address = "No. " + i + ", Galle Road, Colombo";
+            double latitude = i % 100 == 99 ? 123.4 : 6.85 + random.nextDouble() * 0.1;
+            double longitude = 79.85 + random.nextDouble() * 0.1;
+            WasteType wasteType = WasteType.values()[i % WasteType.values().length];
+            BinStatus status = BinStatus.values()[i % BinStatus.values().length];
+            String lastUpdated = "2024-05-01T08:30:00";
+
+            csvText.append('"').append(address).append("\",").append(latitude).append(',').append(longitude)
+                    .append(',').append(wasteType).append(',').append(status).append(',').append(lastUpdated).append('\n');
+            ndjsonText.append("{\"address\":\"").append(address).append("\",\"latitude\":").append(latitude)
+                    .append(",\"longitude\":").append(longitude).append(",\"wasteType\":\"").append(wasteType)
+                    .append("\",\"status\":\"").append(status).append("\",\"lastUpdated\":\"").append(lastUpdated).append("\"}\n");
+        }
+        csv = csvText.toString().getBytes(StandardCharsets.UTF_8);
+        ndjson = ndjsonText.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void parseCsv(Blackhole blackhole) throws IOException {
+        BinImportReader.read(new ByteArrayInputStream(csv), BinImportReader.Format.CSV, listener(blackhole));
+    }
+
+    @Benchmark
+    public void parseNdjson(Blackhole blackhole) throws IOException {
+        BinImportReader.read(new ByteArrayInputStream(ndjson), BinImportReader.Format.NDJSON, listener(blackhole));
+    }
+
+    private static BinImportReader.RowListener listener(Blackhole blackhole) {
+        return new BinImportReader.RowListener() {
+            @Override
+            public void onRow(long row, BinLocation binLocation) {
+                blackhole.consume(binLocation);
+            }
+
+            @Override
+            public void onError(long row, String message) {
+                blackhole.consume(message);
+            }
+        };
+    }
+}
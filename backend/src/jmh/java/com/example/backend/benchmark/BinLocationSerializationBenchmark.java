@@ -0,0 +1,70 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.DTO.BinLocationDTO;
+import com.example.backend.entity.BinLocation.BinStatus;
+import com.example.backend.entity.BinLocation.WasteType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the /api/v1/BinLocation/get-all payload, configured the way Spring Boot
+ * configures its ObjectMapper. Includes the derived formattedCoordinates property.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinLocationSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private List<BinLocationDTO> binLocations;
+    private BinLocationDTO single;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        Random random = new Random(42);
+        binLocations = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            binLocations.add(new BinLocationDTO(
+                    (long) i,
+                    "No. " + i + ", Galle Road, Colombo",
+                    6.85 + random.nextDouble() * 0.1,
+                    79.85 + random.nextDouble() * 0.1,
+                    WasteType.values()[i % WasteType.values().length],
+                    BinStatus.values()[i % BinStatus.values().length],
+                    LocalDateTime.now(),
+                    random.nextInt(101),
+                    random.nextInt(101),
+                    (long) (i % 40)
+            ));
+        }
+        single = binLocations.get(0);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(binLocations);
+    }
+
+    @Benchmark
+    public String formattedCoordinates() {
+        return single.getFormattedCoordinates();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.entity.BinLocation;
+import com.example.backend.entity.BinLocation.BinStatus;
+import com.example.backend.entity.BinLocation.WasteType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The dispatcher map's "bins in this rectangle with this status" question, answered by the
+ * idx_bin_bbox covering index as in GET /api/v1/BinLocation/viewport, against loading every bin as
+ * findAll() does and filtering in memory. The findAll side maps rows by hand, so it is a lower
+ * bound on what Hibernate costs.
+ * <p>
+ * Needs the MySQL database from application.properties with the schema the application creates
+ * (override with -Dviewport.jdbc.url/-user/-password). Seeds bins over a 40 km square far from any real
+ * data, with ids from 9,000,000,000 up, and deletes them again afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinViewportBenchmark {
+
+    private static final long FIRST_BIN_ID = 9_000_000_000L;
+    private static final double ORIGIN_LAT = 60.0;
+    private static final double ORIGIN_LON = 10.0;
+    private static final double AREA_DEGREES = 0.36; // about 40 km
+    private static final double VIEWPORT_DEGREES = 0.02; // about 2 km, a street-level map
+    private static final int LIMIT = 5000;
+
+    private static final String VIEWPORT_SQL = "SELECT id, latitude, longitude, status FROM bin_locations"
+            + " WHERE latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ? AND status IN ('FULL', 'HALF_FULL')"
+            + " LIMIT " + (LIMIT + 1);
+
+    @Param({"50000", "500000"})
+    private int rows;
+
+    private JdbcTemplate jdbcTemplate;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("viewport.jdbc.url", "jdbc:mysql://localhost:3306/ITPM?rewriteBatchedStatements=true"),
+                System.getProperty("viewport.jdbc.user", "root"),
+                System.getProperty("viewport.jdbc.password", "1234"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        deleteBenchmarkRows();
+
+        random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{FIRST_BIN_ID + i, "Benchmark bin " + i,
+                    ORIGIN_LAT + random.nextDouble() * AREA_DEGREES, ORIGIN_LON + random.nextDouble() * AREA_DEGREES,
+                    WasteType.values()[random.nextInt(WasteType.values().length)].name(),
+                    BinStatus.values()[random.nextInt(BinStatus.values().length)].name(), now});
+            if (batch.size() == 10_000 || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO bin_locations (id, address, latitude, longitude, waste_type, status,"
+                        + " last_updated) VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.execute("ANALYZE TABLE bin_locations");
+
+        // "Using index" in Extra means the query never left idx_bin_bbox
+        Map<String, Object> plan = jdbcTemplate.queryForMap("EXPLAIN " + VIEWPORT_SQL,
+                ORIGIN_LAT, ORIGIN_LAT + VIEWPORT_DEGREES, ORIGIN_LON, ORIGIN_LON + VIEWPORT_DEGREES);
+        System.out.println("Viewport plan: key=" + plan.get("key") + ", extra=" + plan.get("Extra"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        deleteBenchmarkRows();
+    }
+
+    @Benchmark
+    public int viewportQuery() {
+        double minLat = ORIGIN_LAT + random.nextDouble() * (AREA_DEGREES - VIEWPORT_DEGREES);
+        double minLon = ORIGIN_LON + random.nextDouble() * (AREA_DEGREES - VIEWPORT_DEGREES);
+        return jdbcTemplate.query(VIEWPORT_SQL, (rs, rowNum) -> rs.getLong(1),
+                minLat, minLat + VIEWPORT_DEGREES, minLon, minLon + VIEWPORT_DEGREES).size();
+    }
+
+    @Benchmark
+    public int findAllThenFilter() {
+        double minLat = ORIGIN_LAT + random.nextDouble() * (AREA_DEGREES - VIEWPORT_DEGREES);
+        double minLon = ORIGIN_LON + random.nextDouble() * (AREA_DEGREES - VIEWPORT_DEGREES);
+        List<BinLocation> all = jdbcTemplate.query("SELECT id, address, latitude, longitude, waste_type, status,"
+                        + " last_updated, fill_level, battery_level, zone_id FROM bin_locations",
+                (rs, rowNum) -> new BinLocation(rs.getLong("id"), rs.getString("address"), rs.getDouble("latitude"),
+                        rs.getDouble("longitude"), WasteType.valueOf(rs.getString("waste_type")),
+                        BinStatus.valueOf(rs.getString("status")),
+                        rs.getTimestamp("last_updated") != null ? rs.getTimestamp("last_updated").toLocalDateTime() : null,
+                        (Integer) rs.getObject("fill_level"), (Integer) rs.getObject("battery_level"),
+                        (Long) rs.getObject("zone_id"), null));
+        int matches = 0;
+        for (BinLocation bin : all) {
+            if (bin.getLatitude() >= minLat && bin.getLatitude() <= minLat + VIEWPORT_DEGREES
+                    && bin.getLongitude() >= minLon && bin.getLongitude() <= minLon + VIEWPORT_DEGREES
+                    && bin.getStatus() != BinStatus.EMPTY) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private void deleteBenchmarkRows() {
+        jdbcTemplate.update("DELETE FROM bin_locations WHERE id >= ?", FIRST_BIN_ID);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.utill.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation, parsing and validation as done by the login endpoint and JwtRequestFilter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        userDetails = new User("user123@gmail.com", "password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String parseUsername() {
+        return jwtUtil.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public Boolean validate() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+}
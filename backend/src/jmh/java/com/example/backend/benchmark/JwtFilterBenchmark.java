@@ -0,0 +1,83 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.Service.IMPL.JwtService;
+import com.example.backend.configuration.JwtRequestFilter;
+import com.example.backend.utill.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of JwtRequestFilter with many threads sending the same bearer token, which is what a
+ * logged-in dashboard does. The user lookup is stubbed so only the token handling is measured.
+ * {@code tripleParse} reproduces the old filter, which parsed and verified the token three times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private final JwtRequestFilter filter = new JwtRequestFilter();
+    private final FilterChain chain = (request, response) -> { };
+    private UserDetails userDetails;
+    private String token;
+
+    @State(Scope.Thread)
+    public static class Exchange {
+        private MockHttpServletRequest request;
+        private MockHttpServletResponse response;
+
+        @Setup
+        public void setUp(JwtFilterBenchmark benchmark) {
+            request = new MockHttpServletRequest("GET", "/api/v1/BinLocation/get-all");
+            request.addHeader("Authorization", "Bearer " + benchmark.token);
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        userDetails = new User("user123@gmail.com", "password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtUtil.generateToken(userDetails);
+
+        JwtService jwtService = new JwtService() {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return userDetails;
+            }
+        };
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+    }
+
+    @Benchmark
+    public void filter(Exchange exchange) throws ServletException, IOException {
+        filter.doFilter(exchange.request, exchange.response, chain);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean tripleParse() {
+        String username = jwtUtil.getClaimFromToken(token, Claims::getSubject);
+        String subject = jwtUtil.getClaimFromToken(token, Claims::getSubject);
+        return username.equals(subject)
+                && jwtUtil.getClaimFromToken(token, Claims::getExpiration).getTime() > System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.utill.KMeansClusterer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clustering 100k bins in 30 dense neighbourhoods over a 40 km square, as for
+ * GET /api/v1/BinLocation/clusters, with and without a capacity. Single-threaded against all
+ * cores shows the gain from the parallel assignment steps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class KMeansBenchmark {
+
+    private static final double AREA_METERS = 40_000;
+    private static final int NEIGHBOURHOODS = 30;
+
+    @Param({"100000"})
+    private int bins;
+
+    @Param({"50"})
+    private int k;
+
+    @Param({"1", "0"})
+    private int threads; // 0 = one per core
+
+    private double[] x;
+    private double[] y;
+    private double[] weights;
+    private ForkJoinPool pool;
+    private KMeansClusterer clusterer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        double[] centerX = new double[NEIGHBOURHOODS];
+        double[] centerY = new double[NEIGHBOURHOODS];
+        for (int i = 0; i < NEIGHBOURHOODS; i++) {
+            centerX[i] = random.nextDouble() * AREA_METERS;
+            centerY[i] = random.nextDouble() * AREA_METERS;
+        }
+        x = new double[bins];
+        y = new double[bins];
+        weights = new double[bins];
+        for (int i = 0; i < bins; i++) {
+            int neighbourhood = random.nextInt(NEIGHBOURHOODS);
+            x[i] = centerX[neighbourhood] + random.nextGaussian() * 2000;
+            y[i] = centerY[neighbourhood] + random.nextGaussian() * 2000;
+            weights[i] = 1 + random.nextInt(30);
+        }
+        pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        clusterer = new KMeansClusterer(pool, 100);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double unconstrained() {
+        return clusterer.cluster(x, y, weights, k, 0, 42).getCost();
+    }
+
+    @Benchmark
+    public double capacitated() {
+        return clusterer.cluster(x, y, weights, k, (int) (bins * 1.1 / k), 42).getCost();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.DTO.ComplainsDTO;
+import com.example.backend.DTO.RequestServiceDTO;
+import com.example.backend.DTO.ScheduleDTO;
+import com.example.backend.entity.Complains;
+import com.example.backend.entity.RequestServiceEntity;
+import com.example.backend.entity.Schedule;
+import com.example.backend.entity.enums.RequestStatus;
+import com.example.backend.entity.enums.WasteType;
+import com.example.backend.mapper.ComplainsMapper;
+import com.example.backend.mapper.RequestServiceMapper;
+import com.example.backend.mapper.ScheduleMapper;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List mapping done by the get-all endpoints: the reflective ModelMapper path the services used
+ * to take against the generated MapStruct mappers. Divide the score by {@code rows} for the
+ * per-row cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"100", "10000"})
+    private int rows;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final ScheduleMapper scheduleMapper = Mappers.getMapper(ScheduleMapper.class);
+    private final ComplainsMapper complainsMapper = Mappers.getMapper(ComplainsMapper.class);
+    private final RequestServiceMapper requestServiceMapper = Mappers.getMapper(RequestServiceMapper.class);
+
+    private List<Schedule> schedules;
+    private List<Complains> complains;
+    private List<RequestServiceEntity> requests;
+
+    @Setup
+    public void setUp() {
+        schedules = new ArrayList<>(rows);
+        complains = new ArrayList<>(rows);
+        requests = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            schedules.add(new Schedule((long) i, LocalDate.now().plusDays(i % 30), LocalTime.of(8, 30),
+                    "Ward " + (i % 50), WasteType.values()[i % WasteType.values().length], null, null, (long) (i % 50), null));
+            complains.add(new Complains(i, "Citizen " + i, "Bin near house " + i + " was not collected", null, null));
+
+            RequestServiceEntity request = new RequestServiceEntity();
+            request.setRequestId(i);
+            request.setRequesterName("Requester " + i);
+            request.setEmail("user" + i + "@example.com");
+            request.setContactNumbers(List.of("07712345" + (i % 100)));
+            request.setEventType("Wedding");
+            request.setLocation("Colombo " + (i % 15));
+            request.setEventDate(LocalDate.now().plusDays(i % 60));
+            request.setEventTime(LocalTime.NOON);
+            request.setRequestDate(LocalDateTime.now());
+            request.setStatus(RequestStatus.values()[i % RequestStatus.values().length]);
+            request.setNumberOfCleaners(i % 10);
+            request.setEstimatedDuration(2.5);
+            requests.add(request);
+        }
+    }
+
+    @Benchmark
+    public List<ScheduleDTO> schedulesModelMapper() {
+        return modelMapper.map(schedules, new TypeToken<List<ScheduleDTO>>() {}.getType());
+    }
+
+    @Benchmark
+    public List<ScheduleDTO> schedulesMapStruct() {
+        return scheduleMapper.toDTOList(schedules);
+    }
+
+    @Benchmark
+    public List<ComplainsDTO> complainsModelMapper() {
+        return modelMapper.map(complains, new TypeToken<List<ComplainsDTO>>() {}.getType());
+    }
+
+    @Benchmark
+    public List<ComplainsDTO> complainsMapStruct() {
+        return complainsMapper.toDTOList(complains);
+    }
+
+    @Benchmark
+    public List<RequestServiceDTO> requestsModelMapper() {
+        return modelMapper.map(requests, new TypeToken<List<RequestServiceDTO>>() {}.getType());
+    }
+
+    @Benchmark
+    public List<RequestServiceDTO> requestsMapStruct() {
+        return requestServiceMapper.toDTOList(requests);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.utill.MaterialTaxonomy;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tag to material classification done on every Imagga response: the old chain of
+ * anyMatch(contains) scans, run three times per response, against one pass of the compiled taxonomy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaterialClassificationBenchmark {
+
+    // First tag list hits the first rule, the last one falls through every rule
+    @Param({"plastic", "glass", "unknown"})
+    private String tagSet;
+
+    private MaterialTaxonomy taxonomy;
+    private List<String> tags;
+    private List<Double> confidences;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream json = getClass().getResourceAsStream("/recycling/material-taxonomy.json")) {
+            taxonomy = MaterialTaxonomy.load(json);
+        }
+        switch (tagSet) {
+            case "plastic":
+                tags = List.of("bottle", "plastic bag", "container", "water", "drink");
+                break;
+            case "glass":
+                tags = List.of("jar", "glass", "container", "kitchen", "food");
+                break;
+            default:
+                tags = List.of("sky", "cloud", "outdoor", "healthy", "fresh");
+                break;
+        }
+        confidences = List.of(92.5, 71.0, 55.3, 41.8, 33.2);
+    }
+
+    @Benchmark
+    public String[] anyMatchScans() {
+        // determineMaterial ran once directly and once inside each of the two follow-up lookups
+        return new String[]{legacyMaterial(tags), legacyMaterial(tags), legacyMaterial(tags)};
+    }
+
+    @Benchmark
+    public MaterialTaxonomy.Material taxonomy() {
+        return taxonomy.classify(tags, confidences);
+    }
+
+    private static String legacyMaterial(List<String> tags) {
+        if (tags.stream().anyMatch(tag -> tag.contains("plastic"))) return "Plastic";
+        if (tags.stream().anyMatch(tag -> tag.contains("metal"))) return "Metal";
+        if (tags.stream().anyMatch(tag -> tag.contains("paper"))) return "Paper";
+        if (tags.stream().anyMatch(tag -> tag.contains("glass"))) return "Glass";
+        return "Unknown material";
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.utill.RoutePlanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planning collection routes for 1k to 5k bins scattered over a 30 km square served by two depots,
+ * as for POST /api/v1/BinLocation/routes/plan. Single-threaded against all cores shows what the
+ * fork/join restarts buy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RoutePlannerBenchmark {
+
+    private static final double AREA_METERS = 30_000;
+
+    @Param({"1000", "5000"})
+    private int stops;
+
+    @Param({"1", "10"})
+    private int trucks;
+
+    @Param({"1", "0"})
+    private int threads; // 0 = one per core
+
+    private double[] stopX;
+    private double[] stopY;
+    private final double[] depotX = {AREA_METERS / 2, AREA_METERS * 0.1};
+    private final double[] depotY = {AREA_METERS / 2, AREA_METERS * 0.9};
+    private ForkJoinPool pool;
+    private RoutePlanner planner;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        stopX = new double[stops];
+        stopY = new double[stops];
+        for (int i = 0; i < stops; i++) {
+            stopX[i] = random.nextDouble() * AREA_METERS;
+            stopY[i] = random.nextDouble() * AREA_METERS;
+        }
+        pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        planner = new RoutePlanner(10, 4, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double plan() {
+        int capacity = (stops + trucks - 1) / trucks;
+        return planner.plan(depotX, depotY, stopX, stopY, trucks, capacity).getTotalLength();
+    }
+}
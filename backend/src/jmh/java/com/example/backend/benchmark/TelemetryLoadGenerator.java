@@ -0,0 +1,110 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.utill.TelemetryFrameCodec;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays a fleet of fill-level sensors against a running telemetry gateway (telemetry.enabled=true).
+ * Not a JMH benchmark; run it with
+ * <pre>
+ * ./mvnw -P benchmark test-compile exec:exec@telemetry-load -Dtelemetry.load.protocol=tcp -Dtelemetry.load.port=9500
+ * </pre>
+ * Each bin's fill level random-walks upwards and is emptied at 100%, so the gateway sees a steady
+ * trickle of status transitions among the repeats. Compare the frames sent with /telemetry-stats.
+ */
+public class TelemetryLoadGenerator {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (arg.startsWith("--") && equals > 2) {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        String host = options.getOrDefault("host", "127.0.0.1");
+        String protocol = options.getOrDefault("protocol", "udp");
+        int port = Integer.parseInt(options.getOrDefault("port", "tcp".equals(protocol) ? "9500" : "9501"));
+        long firstBinId = Long.parseLong(options.getOrDefault("first-bin-id", "1"));
+        int bins = Integer.parseInt(options.getOrDefault("bins", "5000"));
+        int rate = Integer.parseInt(options.getOrDefault("rate", "5000"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "60"));
+        int connections = Integer.parseInt(options.getOrDefault("connections", "16"));
+        // Frames per datagram or per TCP write
+        int batch = Math.max(1, Integer.parseInt(options.getOrDefault("batch", "10")));
+
+        InetSocketAddress target = new InetSocketAddress(host, port);
+        SocketChannel[] tcp = new SocketChannel[connections];
+        DatagramChannel udp = null;
+        if ("tcp".equals(protocol)) {
+            for (int i = 0; i < connections; i++) {
+                tcp[i] = SocketChannel.open(target);
+            }
+        } else {
+            udp = DatagramChannel.open();
+            udp.connect(target);
+        }
+
+        Random random = new Random(42);
+        int[] fill = new int[bins];
+        for (int i = 0; i < bins; i++) {
+            fill[i] = random.nextInt(100);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(batch * TelemetryFrameCodec.FRAME_SIZE);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        long sent = 0;
+        int nextBin = 0;
+        int nextConnection = 0;
+        while (System.nanoTime() < end) {
+            // Stay on the requested rate: sleep while ahead of schedule
+            long due = (long) ((System.nanoTime() - start) / 1e9 * rate);
+            if (sent >= due) {
+                Thread.sleep(1);
+                continue;
+            }
+
+            buffer.clear();
+            long now = System.currentTimeMillis() / 1000;
+            for (int i = 0; i < batch; i++) {
+                int bin = nextBin;
+                nextBin = (nextBin + 1) % bins;
+                fill[bin] = fill[bin] >= 100 ? 0 : Math.min(100, fill[bin] + random.nextInt(4));
+                TelemetryFrameCodec.encode(buffer, firstBinId + bin, fill[bin], 20 + random.nextInt(80), now);
+            }
+            buffer.flip();
+            if (udp != null) {
+                udp.write(buffer);
+            } else {
+                SocketChannel channel = tcp[nextConnection];
+                nextConnection = (nextConnection + 1) % connections;
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            sent += batch;
+        }
+
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Sent %d frames over %s in %.1f s (%.0f frames/s) for %d bins%n",
+                sent, protocol, elapsed, sent / elapsed, bins);
+        if (udp != null) {
+            udp.close();
+        }
+        for (SocketChannel channel : tcp) {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.entity.BinLocation;
+import com.example.backend.entity.BinLocation.BinStatus;
+import com.example.backend.entity.BinLocation.WasteType;
+import com.example.backend.utill.BinSpatialIndex;
+import com.example.backend.utill.TilePyramid;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeping the map tile pyramid in step with the bin index, and reading a city-centre tile as for
+ * GET /api/v1/BinLocation/tiles/{z}/{x}/{y}. The update cost should stay flat as the fleet grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TilePyramidBenchmark {
+
+    @Param({"10000", "100000"})
+    private int bins;
+
+    @Param({"14"})
+    private int zoom;
+
+    private BinSpatialIndex index;
+    private TilePyramid pyramid;
+    private Random random;
+    private int tileX;
+    private int tileY;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        List<BinLocation> binLocations = new ArrayList<>(bins);
+        for (int i = 0; i < bins; i++) {
+            binLocations.add(randomBin((long) i));
+        }
+        index = new BinSpatialIndex();
+        index.rebuild(binLocations);
+        pyramid = new TilePyramid(16, 32);
+        index.addListener(pyramid);
+
+        double latitude = Math.toRadians(6.9);
+        tileX = (int) Math.floor((79.9 + 180) / 360 * (1 << zoom));
+        tileY = (int) Math.floor((1 - Math.log(Math.tan(latitude) + 1 / Math.cos(latitude)) / Math.PI) / 2 * (1 << zoom));
+    }
+
+    @Benchmark
+    public boolean telemetryUpdate() {
+        return index.updateTelemetry((long) random.nextInt(bins), BinStatus.values()[random.nextInt(3)],
+                random.nextInt(101), 90, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public int moveBin() {
+        index.put(randomBin((long) random.nextInt(bins)));
+        return index.size();
+    }
+
+    @Benchmark
+    public int readTile() {
+        return pyramid.tile(zoom, tileX, tileY).getCells().size();
+    }
+
+    private BinLocation randomBin(Long id) {
+        return new BinLocation(id, "No. " + id + ", Galle Road, Colombo",
+                6.8 + random.nextDouble() * 0.2, 79.8 + random.nextDouble() * 0.2,
+                WasteType.values()[random.nextInt(WasteType.values().length)],
+                BinStatus.values()[random.nextInt(BinStatus.values().length)],
+                LocalDateTime.now(), random.nextInt(101), 90, null, null);
+    }
+}
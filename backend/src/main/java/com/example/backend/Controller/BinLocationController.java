@@ -1,13 +1,42 @@
 package com.example.backend.Controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.example.backend.DTO.BinClusteringDTO;
+import com.example.backend.DTO.BinHistoryDTO;
+import com.example.backend.DTO.BinLocationChangesDTO;
+import com.example.backend.DTO.CacheStatsDTO;
 import com.example.backend.DTO.BinLocationDTO;
+import com.example.backend.DTO.BinTileDTO;
+import com.example.backend.DTO.RoutePlanRequestDTO;
+import com.example.backend.DTO.TelemetryStatsDTO;
+import com.example.backend.Service.BinClusteringService;
+import com.example.backend.Service.BinHistoryService;
 import com.example.backend.Service.BinLocationService;
+import com.example.backend.Service.BinTileService;
+import com.example.backend.Service.RoutePlanningService;
+import com.example.backend.Service.SyncService;
+import com.example.backend.Service.TelemetryService;
+import com.example.backend.entity.BinLocation.BinStatus;
+import com.example.backend.entity.BinLocation.WasteType;
+import com.example.backend.utill.BinImportReader;
+import com.example.backend.utill.RangeFileSender;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 //Controller ekk kiyl define krne me word eken and frontend ekt return krn data json fromat ekt convert krl send krnw
@@ -15,19 +44,228 @@ import java.util.List;
 @CrossOrigin //Security Perpose walata use krnne
 public class BinLocationController {
 
+    private static final int MAX_NEAREST = 100;
+
     @Autowired
     private BinLocationService binLocationService;
 
+    @Autowired
+    private TelemetryService telemetryService;
+
+    @Autowired
+    private BinHistoryService binHistoryService;
+
+    @Autowired
+    private RoutePlanningService routePlanningService;
+
+    @Autowired
+    private BinClusteringService binClusteringService;
+
+    @Autowired
+    private BinTileService binTileService;
+
+    @Autowired
+    private SyncService syncService;
+
     @PostMapping(path = "/save")
     public String save(@RequestBody BinLocationDTO binLocationDTO) {
         String message = binLocationService.saveBinLocation(binLocationDTO);
         return message;
     }
 
+    // Bulk load: the file is streamed straight from the request body (text/csv or application/x-ndjson),
+    // bad rows are reported by line number and the rest are still imported
+    @PostMapping(path = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importBinLocations(HttpServletRequest request) throws IOException {
+        return importFrom(request.getInputStream(), BinImportReader.Format.detect(null, request.getContentType()));
+    }
+
+    // Same import for a file picked in a browser form
+    @PostMapping(path = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importBinLocationsFile(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return importFrom(input, BinImportReader.Format.detect(file.getOriginalFilename(), file.getContentType()));
+        }
+    }
+
+    private ResponseEntity<?> importFrom(InputStream input, BinImportReader.Format format) throws IOException {
+        try {
+            return ResponseEntity.ok(binLocationService.importBinLocations(input, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    // An unchanged poll with If-None-Match gets a 304 without touching the database
     @GetMapping(path = "/get-all")
-    public List<BinLocationDTO> getAllBinLocations() {
+    public ResponseEntity<List<BinLocationDTO>> getAllBinLocations(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
+    ) {
+        // Read the version before the rows, so a change racing the query costs a download, never a missed update
+        String etag = syncService.getETag(SyncService.BINS);
+        if (RangeFileSender.etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<BinLocationDTO> allBinLocations = binLocationService.getAllBinLocations();
-        return allBinLocations;
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(allBinLocations);
+    }
+
+    // Delta sync for polling clients: /changes for everything, then /changes?since=<next from the last reply>
+    @GetMapping(path = "/changes")
+    public ResponseEntity<BinLocationChangesDTO> getBinLocationChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
+    ) {
+        String etag = syncService.getETag(SyncService.BINS);
+        if (RangeFileSender.etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        BinLocationChangesDTO changes = binLocationService.getBinLocationChanges(since);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(changes);
+    }
+
+    // e.g. /nearest?lat=6.9271&lon=79.8612&k=5&wasteType=PLASTIC&status=EMPTY&status=HALF_FULL
+    @GetMapping(path = "/nearest")
+    public ResponseEntity<List<BinLocationDTO>> getNearestBins(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "5") int k,
+            @RequestParam(required = false) WasteType wasteType,
+            @RequestParam(required = false) List<BinStatus> status
+    ) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180 || k < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        Set<BinStatus> statuses = status == null || status.isEmpty() ? null : EnumSet.copyOf(status);
+        List<BinLocationDTO> nearestBins = binLocationService.findNearestBins(lat, lon, Math.min(k, MAX_NEAREST), wasteType, statuses);
+        return ResponseEntity.ok(nearestBins);
+    }
+
+    // Bins inside the visible map area, e.g. /viewport?minLat=6.90&minLon=79.84&maxLat=6.95&maxLon=79.90&status=FULL
+    @GetMapping(path = "/viewport")
+    public ResponseEntity<?> getBinsInViewport(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(required = false) WasteType wasteType,
+            @RequestParam(required = false) List<BinStatus> status
+    ) {
+        Set<BinStatus> statuses = status == null || status.isEmpty() ? null : EnumSet.copyOf(status);
+        try {
+            return ResponseEntity.ok(binLocationService.findBinsInBox(minLat, minLon, maxLat, maxLon, wasteType, statuses));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    // Fill-level history of one bin, e.g. /12/history?from=2024-05-01T00:00:00&to=2024-05-08T00:00:00
+    // Defaults to the last 24 hours; resolution raw/hourly/daily, or left out to pick one from the range
+    @GetMapping(path = "/{id}/history")
+    public ResponseEntity<?> getBinHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String resolution
+    ) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(1);
+        try {
+            BinHistoryDTO history = binHistoryService.getBinHistory(id, start, end, resolution);
+            return ResponseEntity.ok(history);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    // Fill-level history of all bins inside a lat/lon box, merged per hour or day
+    @GetMapping(path = "/history/area")
+    public ResponseEntity<?> getAreaHistory(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String resolution
+    ) {
+        if (minLat > maxLat || minLon > maxLon) {
+            return ResponseEntity.badRequest().body("Error: min must not be greater than max");
+        }
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        try {
+            BinHistoryDTO history = binHistoryService.getAreaHistory(minLat, minLon, maxLat, maxLon, start, end, resolution);
+            return ResponseEntity.ok(history);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    // Collection routes for the bins matching the filter (FULL and HALF_FULL by default), e.g.
+    // {"depots":[{"latitude":6.9271,"longitude":79.8612}],"trucks":4,"capacity":60,"wasteType":"PLASTIC"}
+    @PostMapping(path = "/routes/plan")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> planRoutes(@RequestBody RoutePlanRequestDTO request) {
+        try {
+            return ResponseEntity.ok(routePlanningService.planRoutes(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    // Splits the bins into k groups for zone and transfer-point planning, e.g. /clusters?k=12&capacity=900
+    // weighting=fill-frequency (default) pulls centers towards bins that are often full
+    @GetMapping(path = "/clusters")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> clusterBins(
+            @RequestParam int k,
+            @RequestParam(required = false) Integer capacity,
+            @RequestParam(required = false) WasteType wasteType,
+            @RequestParam(required = false) String weighting,
+            @RequestParam(defaultValue = "false") boolean includeBins
+    ) {
+        try {
+            BinClusteringDTO clustering = binClusteringService.clusterBins(k, capacity, wasteType, weighting, includeBins);
+            return ResponseEntity.ok(clustering);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    @GetMapping(path = "/clusters/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public CacheStatsDTO getClusterCacheStats() {
+        return binClusteringService.getCacheStats();
+    }
+
+    // Fill-level sensor gateway counters (frames in, status transitions and snapshots written)
+    @GetMapping(path = "/telemetry-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public TelemetryStatsDTO getTelemetryStats() {
+        return telemetryService.getStats();
+    }
+
+    // Per-cell bin counts for the public map, so it draws one tile at a time instead of every bin
+    @GetMapping(path = "/tiles/{z}/{x}/{y}")
+    public ResponseEntity<?> getTile(
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
+    ) {
+        try {
+            BinTileDTO tile = binTileService.getTile(z, x, y);
+            String etag = "\"" + tile.getVersion() + "\"";
+            if (RangeFileSender.etagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(tile);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
     }
 
     @PutMapping("/update/{id}")
@@ -0,0 +1,101 @@
+package com.example.backend.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.backend.DTO.BinLocationDTO;
+import com.example.backend.DTO.CollectionZoneDTO;
+import com.example.backend.DTO.ScheduleDTO;
+import com.example.backend.Service.CollectionZoneService;
+import com.example.backend.Service.RequestService;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("api/v1/zones")
+@CrossOrigin
+public class CollectionZoneController {
+
+    @Autowired
+    private CollectionZoneService collectionZoneService;
+
+    @Autowired
+    private RequestService requestService;
+
+    // GeoJSON FeatureCollection; zones are matched by code, so re-importing a file replaces the boundaries
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/geo+json"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importZones(HttpServletRequest request) throws IOException {
+        return importFrom(request.getInputStream());
+    }
+
+    @PostMapping(path = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importZonesFile(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return importFrom(input);
+        }
+    }
+
+    private ResponseEntity<?> importFrom(InputStream input) throws IOException {
+        try {
+            return ResponseEntity.ok(collectionZoneService.importZones(input));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    @GetMapping(path = "/get-all")
+    public List<CollectionZoneDTO> getAllZones() {
+        return collectionZoneService.getAllZones();
+    }
+
+    @GetMapping(path = "/{id}")
+    public ResponseEntity<CollectionZoneDTO> getZone(@PathVariable Long id) {
+        return ResponseEntity.ok(collectionZoneService.getZone(id));
+    }
+
+    // Which zone a point falls in, 404 when it is outside every zone
+    @GetMapping(path = "/locate")
+    public ResponseEntity<CollectionZoneDTO> locate(@RequestParam double lat, @RequestParam double lon) {
+        CollectionZoneDTO zone = collectionZoneService.locate(lat, lon);
+        return zone != null ? ResponseEntity.ok(zone) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping(path = "/{id}/bins")
+    public List<BinLocationDTO> getZoneBins(@PathVariable Long id) {
+        return collectionZoneService.getZoneBins(id);
+    }
+
+    @GetMapping(path = "/{id}/schedules")
+    public List<ScheduleDTO> getZoneSchedules(@PathVariable Long id) {
+        return collectionZoneService.getZoneSchedules(id);
+    }
+
+    // Same keyset paging as /api/v1/request/page, limited to the zone
+    @GetMapping(path = "/{id}/requests")
+    public ResponseEntity<?> getZoneRequests(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            return ResponseEntity.ok(requestService.getRequestPage(cursor, size, null, null, null, null, id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/delete/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> deleteZone(@PathVariable Long id) {
+        return ResponseEntity.ok(collectionZoneService.deleteZone(id));
+    }
+}
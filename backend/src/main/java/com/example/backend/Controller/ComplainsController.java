@@ -2,10 +2,16 @@ package com.example.backend.Controller;
 
 import com.example.backend.DTO.ComplainsDTO;
 import com.example.backend.Service.ComplainsService;
+import com.example.backend.Service.ImageStoreService;
+import com.example.backend.utill.RangeFileSender;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
 @RestController
@@ -16,6 +22,9 @@ public class ComplainsController {
     @Autowired
     private ComplainsService complainsService;
 
+    @Autowired
+    private ImageStoreService imageStoreService;
+
     @PostMapping(path = "/saved")
     public String save(@RequestBody ComplainsDTO complainDTO) {
         String message = complainsService.saveComplain(complainDTO);
@@ -28,6 +37,20 @@ public class ComplainsController {
         return allComplains;
     }
 
+    // Stored images never change (the name is their hash), so clients may cache them forever
+    @GetMapping(path = "/complain-image/{hash}")
+    public void getComplainImage(@PathVariable String hash,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        Path image = imageStoreService.resolve(hash);
+        if (image == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Image not found");
+            return;
+        }
+        RangeFileSender.send(image, imageStoreService.probeContentType(image), "\"" + hash + "\"",
+                "public, max-age=31536000, immutable", request, response);
+    }
+
     @DeleteMapping(path = "/delete-complain/{id}")
     public String deleteComplain(@PathVariable(value = "id") Integer complainId) {
         String deleted = complainsService.deleteComplain(complainId);
@@ -1,15 +1,36 @@
 package com.example.backend.Controller;
 
 
+import com.example.backend.DTO.AnalysisJobDTO;
+import com.example.backend.DTO.CacheStatsDTO;
 import com.example.backend.DTO.ImageAnalysisResponse;
+import com.example.backend.DTO.PreprocessStatsDTO;
+import com.example.backend.DTO.ProviderStatsDTO;
+import com.example.backend.Service.AnalysisJobService;
+import com.example.backend.Service.BatchAnalysisService;
+import com.example.backend.Service.RecyclingCatalogueService;
 import com.example.backend.Service.ImageAnalysisService;
+import com.example.backend.utill.AnalysisCacheManager;
+import com.example.backend.utill.ImagePreprocessor;
+import com.example.backend.utill.OutboundHttpClients;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/recycling")
@@ -19,10 +40,115 @@ import org.springframework.web.multipart.MultipartFile;
 public class ImageAnalysisController {
 
     private final ImageAnalysisService imageAnalysisService;
+    private final AnalysisCacheManager analysisCacheManager;
+    private final AnalysisJobService analysisJobService;
+    private final BatchAnalysisService batchAnalysisService;
+    private final RecyclingCatalogueService recyclingCatalogueService;
+    private final OutboundHttpClients outboundHttpClients;
+    private final ImagePreprocessor imagePreprocessor;
+
+    @Value("${recycling.batch.max-images:50}")
+    private int maxBatchImages;
 
-    @PostMapping(value = "/analyze", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    @ApiOperation("Analyze image for recycling information")
-    public ResponseEntity<ImageAnalysisResponse> analyzeImage(@RequestParam("image") MultipartFile image) {
+    // Imagga only; /analyze routes between all providers
+    @PostMapping(value = "/analyze/imagga", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ApiOperation("Analyze image for recycling information with Imagga")
+    public ResponseEntity<ImageAnalysisResponse> analyzeImage(@RequestParam(value = "image", required = false) MultipartFile image,
+                                                              @RequestParam(value = "hint", required = false) String hint) {
+        // A confident catalogue match for the item the user named answers without calling Imagga
+        RecyclingResponse local = recyclingCatalogueService.answerLocally(hint);
+        if (local != null) {
+            return ResponseEntity.ok(ImageAnalysisResponse.builder()
+                    .itemName(local.getItemName())
+                    .material(local.getMaterial())
+                    .recyclability(local.getRecyclability())
+                    .recyclingProcess(local.getRecyclingProcess())
+                    .build());
+        }
+        if (image == null || image.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
         return ResponseEntity.ok(imageAnalysisService.analyzeImage(image));
     }
-} 
\ No newline at end of file
+
+    // Results come back as NDJSON in completion order, each line carries the image's index in the batch
+    @PostMapping(value = "/analyze-batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = "application/x-ndjson")
+    @ApiOperation("Analyze several images at once")
+    public ResponseEntity<ResponseBodyEmitter> analyzeBatch(@RequestParam("images") List<MultipartFile> images) throws IOException {
+        if (images.isEmpty() || images.size() > maxBatchImages) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Read the uploads now, the multipart temp files are gone once this request thread returns
+        List<byte[]> contents = new ArrayList<>(images.size());
+        List<String> fileNames = new ArrayList<>(images.size());
+        for (MultipartFile image : images) {
+            contents.add(image.getBytes());
+            fileNames.add(image.getOriginalFilename());
+        }
+
+        try {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .body(batchAnalysisService.analyze(contents, fileNames));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+    }
+
+    // Non-blocking variant of /analyze: returns a job id at once, the result is polled or streamed
+    @PostMapping(value = "/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ApiOperation("Queue an image for analysis")
+    public ResponseEntity<AnalysisJobDTO> submitJob(@RequestParam("image") MultipartFile image) throws IOException {
+        try {
+            // Read the upload now, the multipart temp file is gone once this request returns
+            AnalysisJobDTO job = analysisJobService.submit(image.getBytes(), image.getOriginalFilename());
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.LOCATION, "/api/recycling/jobs/" + job.getJobId())
+                    .body(job);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+    }
+
+    @GetMapping("/jobs/{id}")
+    @ApiOperation("Status and result of an analysis job")
+    public ResponseEntity<AnalysisJobDTO> getJob(@PathVariable String id) {
+        AnalysisJobDTO job = analysisJobService.getJob(id);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping(value = "/jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation("Server-sent events for an analysis job, the stream ends when the job finishes")
+    public ResponseEntity<SseEmitter> jobEvents(@PathVariable String id) {
+        SseEmitter emitter = analysisJobService.subscribe(id);
+        return emitter != null ? ResponseEntity.ok(emitter) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/analysis-cache-stats")
+    @ApiOperation("Hit/miss counters of the image analysis result cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<CacheStatsDTO> analysisCacheStats() {
+        return analysisCacheManager.getStats();
+    }
+
+    @GetMapping("/provider-stats")
+    @ApiOperation("Circuit state, concurrency and latency percentiles per external provider")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<ProviderStatsDTO> providerStats() {
+        return outboundHttpClients.getStats();
+    }
+
+    // Compare with provider-stats: upload latency there drops when images are shrunk here
+    @GetMapping("/preprocess-stats")
+    @ApiOperation("Bytes saved and time spent shrinking images before analysis")
+    @PreAuthorize("hasRole('ADMIN')")
+    public PreprocessStatsDTO preprocessStats() {
+        return imagePreprocessor.getStats();
+    }
+}
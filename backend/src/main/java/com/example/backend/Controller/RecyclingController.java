@@ -1,13 +1,20 @@
 package com.example.backend.Controller;
 
 
+import com.example.backend.DTO.CatalogueMatchDTO;
+import com.example.backend.DTO.ExternalCallStatsDTO;
+import com.example.backend.DTO.RouterStatsDTO;
+import com.example.backend.Service.ProviderRouterService;
 import com.example.backend.Service.IMPL.GeminiService;
+import com.example.backend.Service.RecyclingCatalogueService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/recycling")
@@ -16,14 +23,58 @@ public class RecyclingController {
     @Autowired
     private GeminiService geminiService;
 
+    @Autowired
+    private RecyclingCatalogueService recyclingCatalogueService;
+
+    @Autowired
+    private ProviderRouterService providerRouterService;
+
+    // hint is what the user typed the item is; a confident catalogue match answers without calling a provider.
+    // Otherwise the router picks Gemini or Imagga and hedges to the other one when the first is slow.
     @PostMapping("/analyze")
-    public ResponseEntity<RecyclingResponse> analyzeImage(@RequestParam("image") MultipartFile image) {
+    public ResponseEntity<RecyclingResponse> analyzeImage(@RequestParam(value = "image", required = false) MultipartFile image,
+                                                          @RequestParam(value = "hint", required = false) String hint) {
+        RecyclingResponse local = recyclingCatalogueService.answerLocally(hint);
+        if (local != null) {
+            return ResponseEntity.ok(local);
+        }
+        if (image == null || image.isEmpty()) {
+            return ResponseEntity.badRequest().body(new RecyclingResponse("Send an image, or a hint the catalogue knows"));
+        }
         try {
-            RecyclingResponse response = geminiService.analyzeImage(image);
+            RecyclingResponse response = providerRouterService.analyze(image.getBytes(), image.getOriginalFilename(), image.getContentType());
             return ResponseEntity.ok(response);
         } catch (IOException e) {
             return ResponseEntity.status(500).body(new RecyclingResponse("Error processing image: " + e.getMessage()));
         }
     }
-}
 
+    // Gemini only, bypassing the router
+    @PostMapping("/analyze/gemini")
+    public ResponseEntity<RecyclingResponse> analyzeWithGemini(@RequestParam("image") MultipartFile image) {
+        try {
+            return ResponseEntity.ok(geminiService.analyzeImage(image));
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body(new RecyclingResponse("Error processing image: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/router-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<RouterStatsDTO> routerStats() {
+        return providerRouterService.getStats();
+    }
+
+    // Typo-tolerant lookup in the local recycling catalogue
+    @GetMapping("/catalogue/search")
+    public List<CatalogueMatchDTO> searchCatalogue(@RequestParam("q") String query,
+                                                   @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return recyclingCatalogueService.search(query, Math.min(Math.max(limit, 1), 50));
+    }
+
+    @GetMapping("/external-call-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ExternalCallStatsDTO externalCallStats() {
+        return recyclingCatalogueService.getExternalCallStats();
+    }
+}
@@ -2,14 +2,18 @@
 package com.example.backend.Controller;
 
 import com.example.backend.DTO.RequestServiceDTO;
+import com.example.backend.DTO.RequestServicePageDTO;
 import com.example.backend.DTO.updateController.RequestStatusUpdateDTO;
 import com.example.backend.DTO.updateController.RequestUpdateUserDTO;
 import com.example.backend.Service.RequestService;
+import com.example.backend.entity.enums.RequestStatus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -48,6 +52,26 @@ public class RequestServiceController {
         return allRequest;
     }
 
+    // Cursor-paginated listing, newest first. Follow nextCursor until it comes back null.
+    @GetMapping(path = "/page")
+    public ResponseEntity<?> getRequestPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) RequestStatus status,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate eventDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate eventDateTo,
+            @RequestParam(required = false) Long zoneId
+    ) {
+        try {
+            RequestServicePageDTO page = requestService.getRequestPage(cursor, size, status, eventType, eventDateFrom,
+                    eventDateTo, zoneId);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
 //    @PostAuthorize("hasRole('USER')")
     @DeleteMapping(path = "delete-request/{id}")
     public String deleteRequest(@PathVariable(value = "id") Integer requestId) {
@@ -1,11 +1,18 @@
 package com.example.backend.Controller;
 
+import com.example.backend.DTO.ScheduleChangesDTO;
 import com.example.backend.DTO.ScheduleDTO;
 import com.example.backend.Service.ScheduleService;
+import com.example.backend.Service.SyncService;
+import com.example.backend.utill.RangeFileSender;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -16,6 +23,9 @@ public class Sheduleontroller {
     @Autowired
     private ScheduleService scheduleService;
 
+    @Autowired
+    private SyncService syncService;
+
     @PostMapping(path = "/saved")
     public String save(@RequestBody ScheduleDTO scheduleDTO) {
         // Supports wasteType values: ORGANIC, RECYCLABLE, HAZARDOUS, GENERAL, MIXED, GLASS, ELECTRONIC, PAPER
@@ -23,10 +33,31 @@ public class Sheduleontroller {
         return message;
     }
 
+    // An unchanged poll with If-None-Match gets a 304 without touching the database
     @GetMapping(path = "/get-all-schedule")
-    public List<ScheduleDTO> getAllSchedules() {
+    public ResponseEntity<List<ScheduleDTO>> getAllSchedules(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
+    ) {
+        String etag = syncService.getETag(SyncService.SCHEDULES);
+        if (RangeFileSender.etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<ScheduleDTO> allSchedules = scheduleService.getAllSchedules();
-        return allSchedules;
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(allSchedules);
+    }
+
+    // Delta sync for polling clients: /changes for everything, then /changes?since=<next from the last reply>
+    @GetMapping(path = "/changes")
+    public ResponseEntity<ScheduleChangesDTO> getScheduleChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
+    ) {
+        String etag = syncService.getETag(SyncService.SCHEDULES);
+        if (RangeFileSender.etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        ScheduleChangesDTO changes = scheduleService.getScheduleChanges(since);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(changes);
     }
 
     @DeleteMapping(path = "/delete-schedule/{id}")
@@ -45,4 +76,4 @@ public class Sheduleontroller {
         ScheduleDTO updatedSchedule = scheduleService.updateSchedule(updateDTO);
         return ResponseEntity.ok(updatedSchedule);
     }
-}
\ No newline at end of file
+}
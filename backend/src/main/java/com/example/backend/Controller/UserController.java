@@ -2,8 +2,10 @@ package com.example.backend.Controller;
 
 //import com.example.JWT.entity.User;
 //import com.example.JWT.service.UserService;
+import com.example.backend.DTO.CacheStatsDTO;
 import com.example.backend.Service.UserService;
 import com.example.backend.entity.User;
+import com.example.backend.utill.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -18,6 +20,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
 
 
     @PostMapping("/register-new-user")
@@ -36,6 +41,13 @@ public class UserController {
         return "this url only  For Admin";
     }
 
+    // Hit/miss counters of the per-request user lookup cache
+    @GetMapping("user-cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public CacheStatsDTO userCacheStats() {
+        return userDetailsCache.getStats();
+    }
+
     @GetMapping("for-user")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     public String forUser() {
@@ -0,0 +1,20 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class AnalysisJobDTO {
+
+    private String jobId;
+    private String status; // QUEUED, RUNNING, DONE, FAILED
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+    private ImageAnalysisResponse result;
+    private String error;
+}
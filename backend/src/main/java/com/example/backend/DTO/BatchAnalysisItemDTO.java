@@ -0,0 +1,17 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BatchAnalysisItemDTO {
+
+    private int index; // position of the image in the uploaded batch
+    private String fileName;
+    private Integer duplicateOf; // index of the identical image this result was shared with
+    private ImageAnalysisResponse result;
+    private String error;
+}
@@ -0,0 +1,22 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BinClusterDTO {
+
+    private int cluster;
+    private double latitude; // weighted center, e.g. where a transfer point would go
+    private double longitude;
+    private int bins;
+    private double weight; // sum of the bins' weights
+    private double radiusMeters; // farthest bin from the center
+    private double meanDistanceMeters;
+    private List<Long> binIds; // only with includeBins=true
+}
@@ -0,0 +1,25 @@
+package com.example.backend.DTO;
+
+import com.example.backend.entity.BinLocation.WasteType;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BinClusteringDTO {
+
+    private int k;
+    private Integer capacity; // most bins per cluster, null for no limit
+    private String weighting;
+    private WasteType wasteType;
+    private int binsClustered;
+    private int iterations;
+    private boolean converged;
+    private boolean cached; // served from the cache, bins unchanged since it was computed
+    private long elapsedMillis;
+    private List<BinClusterDTO> clusters;
+}
@@ -0,0 +1,20 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BinHistoryDTO {
+
+    private Long binId; // null for an area query
+    private String resolution; // RAW, HOURLY or DAILY, whichever level answered
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<BinReadingPointDTO> points;
+}
@@ -0,0 +1,14 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BinImportErrorDTO {
+
+    private long row; // line in the uploaded file the row starts on
+    private String message;
+}
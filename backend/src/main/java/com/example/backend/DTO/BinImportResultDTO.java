@@ -0,0 +1,21 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BinImportResultDTO {
+
+    private String format;
+    private long rows; // non-blank rows read, header excluded
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    private List<BinImportErrorDTO> errors; // first failures only, see errorsTruncated
+    private boolean errorsTruncated;
+}
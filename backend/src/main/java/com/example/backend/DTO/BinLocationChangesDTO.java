@@ -0,0 +1,19 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BinLocationChangesDTO {
+
+    private boolean full; // changed holds every bin, replace the local copy instead of merging
+    private LocalDateTime next; // pass as since on the next poll
+    private List<BinLocationDTO> changed; // added or updated since, may repeat bins from the last poll
+    private List<Long> deleted;
+}
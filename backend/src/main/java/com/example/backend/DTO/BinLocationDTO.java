@@ -23,6 +23,9 @@ public class BinLocationDTO {
     private WasteType wasteType;
     private BinStatus status;
     private LocalDateTime lastUpdated;
+    private Integer fillLevel; // from the bin's sensor, read-only
+    private Integer batteryLevel;
+    private Long zoneId; // worked out from the coordinates on save
 
     // Formatted coordinates string for display purposes
     public String getFormattedCoordinates() {
@@ -0,0 +1,17 @@
+package com.example.backend.DTO;
+
+import com.example.backend.entity.BinLocation.BinStatus;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BinPointDTO {
+
+    private Long id;
+    private Double latitude;
+    private Double longitude;
+    private BinStatus status;
+}
@@ -0,0 +1,22 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BinReadingPointDTO {
+
+    private LocalDateTime time; // reading time, or start of the hour/day bucket
+    private long samples; // raw readings behind this point
+    private int bins; // bins merged into this point, 1 unless it is an area query
+    private int fillMin;
+    private int fillMax;
+    private double fillAvg;
+    private Integer fillLast; // null for area queries
+    private int batteryMin;
+}
@@ -0,0 +1,22 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BinTileDTO {
+
+    private int z;
+    private int x;
+    private int y;
+    private int grid; // cells per tile side
+    private int total; // bins in the tile
+    private String version; // changes whenever the tile's counts do, also sent as the ETag
+    private List<String> columns; // names for the values in each cell row
+    private List<int[]> cells; // non-empty cells only, [x, y, total, per waste type..., per status...]
+}
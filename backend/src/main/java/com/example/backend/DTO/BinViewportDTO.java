@@ -0,0 +1,17 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BinViewportDTO {
+
+    private int count;
+    private boolean truncated; // more bins in the box than the limit, zoom in or use the tiles
+    private List<BinPointDTO> bins;
+}
@@ -0,0 +1,22 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class CacheStatsDTO {
+
+    private String name;
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0d : (double) hits / total;
+    }
+}
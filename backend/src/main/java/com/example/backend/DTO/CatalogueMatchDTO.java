@@ -0,0 +1,18 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class CatalogueMatchDTO {
+
+    private String itemName;
+    private String matchedName; // the item name or alias that matched the query
+    private String material;
+    private String recyclability;
+    private String recyclingProcess;
+    private double score; // 0..1, 1 is an exact match
+}
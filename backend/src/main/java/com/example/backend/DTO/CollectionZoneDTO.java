@@ -0,0 +1,26 @@
+package com.example.backend.DTO;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class CollectionZoneDTO {
+
+    private Long id;
+    private String code;
+    private String name;
+    private double minLatitude; // bounding box of the boundary
+    private double minLongitude;
+    private double maxLatitude;
+    private double maxLongitude;
+    private long bins; // bins tagged with this zone
+    private LocalDateTime lastUpdated;
+    @JsonRawValue
+    private String geometry; // GeoJSON, only when a single zone is fetched
+}
@@ -12,5 +12,6 @@ public class ComplainsDTO {
     private Integer complainID;
     private String name;
     private String complain;
-    private String image;
+    private String image; // Base64 / data URL on upload, or an external image URL
+    private String imageUrl; // Where to download the stored image from, set on responses
 }
@@ -0,0 +1,15 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class DepotDTO {
+
+    private String name; // optional, echoed back on the routes
+    private Double latitude;
+    private Double longitude;
+}
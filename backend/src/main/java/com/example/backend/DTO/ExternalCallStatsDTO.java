@@ -0,0 +1,21 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ExternalCallStatsDTO {
+
+    private long catalogueHits; // answered from the local catalogue
+    private long cacheHits; // answered from the analysis result cache
+    private long externalCalls; // had to ask Imagga or Gemini
+
+    // Share of analyses answered without an external AI call
+    public double getAvoidanceRatio() {
+        long total = catalogueHits + cacheHits + externalCalls;
+        return total == 0 ? 0d : (double) (catalogueHits + cacheHits) / total;
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.backend.DTO;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ImageAnalysisResponse {
     private String itemName;
     private String material;
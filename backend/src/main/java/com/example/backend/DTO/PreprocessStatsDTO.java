@@ -0,0 +1,23 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class PreprocessStatsDTO {
+
+    private boolean enabled;
+    private long processed; // images decoded and re-encoded without metadata
+    private long passedThrough; // images not decodable in time, sent with only their metadata cut out
+    private long bytesIn;
+    private long bytesOut;
+    private long preprocessP50Millis;
+    private long preprocessP95Millis;
+
+    public long getBytesSaved() {
+        return bytesIn - bytesOut;
+    }
+}
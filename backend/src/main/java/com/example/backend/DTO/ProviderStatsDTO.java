@@ -0,0 +1,23 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ProviderStatsDTO {
+
+    private String name;
+    private String circuitState;
+    private int inFlight;
+    private int maxConcurrent;
+    private long calls;
+    private long failures;
+    private long rejected;
+    private long windowCalls; // calls in the latency window below
+    private long p50Millis;
+    private long p95Millis;
+    private long p99Millis;
+}
@@ -25,4 +25,7 @@ public class RequestServiceDTO {
     private RequestStatus status = RequestStatus.NEW; // Default to "NEW"
     private Integer numberOfCleaners; // Number of cleaners (frontend input)
     private Double estimatedDuration; // Estimated duration in hours
+    private Double latitude; // optional, places the request in a collection zone
+    private Double longitude;
+    private Long zoneId; // from latitude/longitude when given, otherwise as sent
 }
@@ -0,0 +1,16 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class RequestServicePageDTO {
+
+    private List<RequestServiceDTO> items;
+    private String nextCursor; // Pass back as ?cursor= to get the next page, null when there are no more rows
+}
@@ -0,0 +1,19 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class RoutePlanDTO {
+
+    private int binsSelected;
+    private double totalDistanceMeters;
+    private List<TruckRouteDTO> routes;
+    private List<Long> unservedBinIds; // did not fit in trucks x capacity
+    private long elapsedMillis;
+}
@@ -0,0 +1,21 @@
+package com.example.backend.DTO;
+
+import com.example.backend.entity.BinLocation.BinStatus;
+import com.example.backend.entity.BinLocation.WasteType;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class RoutePlanRequestDTO {
+
+    private List<DepotDTO> depots; // trucks start and end at the depot nearest their bins
+    private Integer trucks;
+    private Integer capacity; // bins one truck can empty per trip
+    private List<BinStatus> statuses; // defaults to FULL and HALF_FULL
+    private WasteType wasteType; // null for every type
+}
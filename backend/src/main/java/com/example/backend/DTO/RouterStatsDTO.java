@@ -0,0 +1,21 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class RouterStatsDTO {
+
+    private String name;
+    private boolean available; // circuit not open and quota left
+    private long p95Millis; // -1 until the provider has been called
+    private double errorRate; // over the last routed calls
+    private long primaryCalls;
+    private long hedgedCalls;
+    private long wins; // calls whose answer was the one returned
+    private long quotaUsedToday;
+    private long dailyQuota; // 0 means unlimited
+}
@@ -0,0 +1,19 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ScheduleChangesDTO {
+
+    private boolean full; // changed holds every schedule, replace the local copy instead of merging
+    private LocalDateTime next; // pass as since on the next poll
+    private List<ScheduleDTO> changed; // added or updated since, may repeat schedules from the last poll
+    private List<Long> deleted;
+}
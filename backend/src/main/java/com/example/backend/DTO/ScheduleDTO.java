@@ -21,5 +21,8 @@ public class ScheduleDTO {
     private LocalTime time;
     private String location;
     private WasteType wasteType;
+    private Double latitude;
+    private Double longitude;
+    private Long zoneId; // from latitude/longitude when given, otherwise as sent
 
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TelemetryStatsDTO {
+
+    private boolean enabled;
+    private int openConnections; // TCP sensors connected to the gateway
+    private long framesAccepted;
+    private long framesRejected; // bad checksum, magic or values
+    private long unknownBins; // frames for bin ids that do not exist
+    private long staleReadings; // older than a reading already held for the bin
+    private int trackedBins;
+    private long transitionsWritten; // status changes written to bin_locations
+    private long snapshotsWritten; // periodic fill level refreshes without a status change
+    private long flushes;
+    private long lastFlushMillis;
+    private long historyDropped; // readings lost because the history write buffer was full
+}
@@ -0,0 +1,18 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TruckRouteDTO {
+
+    private int truck;
+    private DepotDTO depot;
+    private double distanceMeters; // straight-line legs, depot to depot
+    private List<BinLocationDTO> stops; // in driving order
+}
@@ -0,0 +1,22 @@
+package com.example.backend.DTO;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ZoneImportResultDTO {
+
+    private int created;
+    private int updated; // zones whose code already existed get the new boundary
+    private int failed;
+    private List<String> errors; // "feature N: reason"
+    private int binsRetagged; // rows whose zone changed with the new boundaries
+    private int schedulesRetagged;
+    private int requestsRetagged;
+    private long elapsedMillis;
+}
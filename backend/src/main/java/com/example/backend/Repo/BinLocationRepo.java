@@ -1,7 +1,40 @@
 package com.example.backend.Repo;
 
+import com.example.backend.Repo.projection.BinLocationView;
 import com.example.backend.entity.BinLocation;
+import com.example.backend.entity.BinLocation.BinStatus;
+import com.example.backend.entity.BinLocation.WasteType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface BinLocationRepo extends JpaRepository<BinLocation, Long> {
+
+    // Served by idx_bin_zone
+    List<BinLocation> findByZoneId(Long zoneId);
+
+    // Served by idx_bin_changed
+    List<BinLocation> findByChangedAtGreaterThanEqual(LocalDateTime since);
+
+    // Bins inside a lat/lon box, answered from idx_bin_bbox alone: a range scan on latitude with
+    // longitude, status and waste type checked on the index entries. Pass every status for no status
+    // filter; the Pageable is only used as a LIMIT.
+    @Query("SELECT b.id AS id, b.latitude AS latitude, b.longitude AS longitude, b.status AS status " +
+            "FROM BinLocation b " +
+            "WHERE b.latitude BETWEEN :minLat AND :maxLat " +
+            "AND b.longitude BETWEEN :minLon AND :maxLon " +
+            "AND b.status IN :statuses " +
+            "AND (:wasteType IS NULL OR b.wasteType = :wasteType)")
+    List<BinLocationView> findInBox(@Param("minLat") double minLat,
+                                    @Param("minLon") double minLon,
+                                    @Param("maxLat") double maxLat,
+                                    @Param("maxLon") double maxLon,
+                                    @Param("statuses") Collection<BinStatus> statuses,
+                                    @Param("wasteType") WasteType wasteType,
+                                    Pageable pageable);
 }
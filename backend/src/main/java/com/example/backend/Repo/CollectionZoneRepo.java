@@ -0,0 +1,11 @@
+package com.example.backend.Repo;
+
+import com.example.backend.entity.CollectionZone;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface CollectionZoneRepo extends JpaRepository<CollectionZone, Long> {
+
+    Optional<CollectionZone> findByCode(String code);
+}
@@ -2,6 +2,13 @@ package com.example.backend.Repo;
 
 import com.example.backend.entity.Complains;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface ComplainsRepo extends JpaRepository<Complains,Integer> {
+
+    // Rows saved before the image store existed still carry the base64 image inline
+    @Query("SELECT c.complainID FROM Complains c WHERE c.imageHash IS NULL AND c.image IS NOT NULL AND c.image NOT LIKE 'http%'")
+    List<Integer> findIdsWithInlineImage();
 }
@@ -1,11 +1,45 @@
 // RequestServiceRepo.java
 package com.example.backend.Repo;
 
+import com.example.backend.Repo.projection.RequestServiceView;
 import com.example.backend.entity.RequestServiceEntity;
+import com.example.backend.entity.enums.RequestStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface RequestServiceRepo extends JpaRepository<RequestServiceEntity, Integer> {
-    // Add any specific query methods if needed
-}
\ No newline at end of file
+
+    // Keyset page ordered newest first. Pass a null afterDate/afterId for the first page and
+    // the (requestDate, requestId) of the last row seen for the following ones. The Pageable is
+    // only used as a LIMIT, so no count query is issued.
+    @Query("SELECT r.requestId AS requestId, r.requesterName AS requesterName, r.email AS email, " +
+            "r.contactNumbers AS contactNumbers, r.eventType AS eventType, r.location AS location, " +
+            "r.eventDate AS eventDate, r.eventTime AS eventTime, r.requestDate AS requestDate, " +
+            "r.status AS status, r.numberOfCleaners AS numberOfCleaners, r.estimatedDuration AS estimatedDuration, " +
+            "r.latitude AS latitude, r.longitude AS longitude, r.zoneId AS zoneId " +
+            "FROM RequestServiceEntity r " +
+            "WHERE (:status IS NULL OR r.status = :status) " +
+            "AND (:eventType IS NULL OR r.eventType = :eventType) " +
+            "AND (:eventDateFrom IS NULL OR r.eventDate >= :eventDateFrom) " +
+            "AND (:eventDateTo IS NULL OR r.eventDate <= :eventDateTo) " +
+            "AND (:zoneId IS NULL OR r.zoneId = :zoneId) " +
+            "AND (:afterDate IS NULL OR r.requestDate < :afterDate " +
+            "OR (r.requestDate = :afterDate AND r.requestId < :afterId)) " +
+            "ORDER BY r.requestDate DESC, r.requestId DESC")
+    List<RequestServiceView> findPage(@Param("status") RequestStatus status,
+                                      @Param("eventType") String eventType,
+                                      @Param("eventDateFrom") LocalDate eventDateFrom,
+                                      @Param("eventDateTo") LocalDate eventDateTo,
+                                      @Param("zoneId") Long zoneId,
+                                      @Param("afterDate") LocalDateTime afterDate,
+                                      @Param("afterId") Integer afterId,
+                                      Pageable pageable);
+}
@@ -3,5 +3,14 @@ package com.example.backend.Repo;
 import com.example.backend.entity.Schedule;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface ScheduleRepo extends JpaRepository<Schedule, Long> {
+
+    // Served by idx_schedule_zone_date
+    List<Schedule> findByZoneIdOrderByDateAscTimeAsc(Long zoneId);
+
+    // Served by idx_schedule_changed
+    List<Schedule> findByChangedAtGreaterThanEqual(LocalDateTime since);
 }
@@ -0,0 +1,13 @@
+package com.example.backend.Repo;
+
+import com.example.backend.entity.SyncTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SyncTombstoneRepo extends JpaRepository<SyncTombstone, Long> {
+
+    // Served by idx_tombstone_collection_deleted
+    List<SyncTombstone> findByCollectionAndDeletedAtGreaterThanEqual(String collection, LocalDateTime since);
+}
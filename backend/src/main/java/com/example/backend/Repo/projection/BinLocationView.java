@@ -0,0 +1,15 @@
+package com.example.backend.Repo.projection;
+
+import com.example.backend.entity.BinLocation.BinStatus;
+
+// Just what a map marker needs; every column is in idx_bin_bbox, so the viewport query never reads table rows
+public interface BinLocationView {
+
+    Long getId();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    BinStatus getStatus();
+}
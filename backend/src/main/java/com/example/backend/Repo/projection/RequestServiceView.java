@@ -0,0 +1,42 @@
+package com.example.backend.Repo.projection;
+
+import com.example.backend.entity.enums.RequestStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+// Read-only projection used by the paged request listing, so rows are never attached to the persistence context
+public interface RequestServiceView {
+
+    Integer getRequestId();
+
+    String getRequesterName();
+
+    String getEmail();
+
+    List<String> getContactNumbers();
+
+    String getEventType();
+
+    String getLocation();
+
+    LocalDate getEventDate();
+
+    LocalTime getEventTime();
+
+    LocalDateTime getRequestDate();
+
+    RequestStatus getStatus();
+
+    Integer getNumberOfCleaners();
+
+    Double getEstimatedDuration();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    Long getZoneId();
+}
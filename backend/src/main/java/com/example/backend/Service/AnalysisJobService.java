@@ -0,0 +1,15 @@
+package com.example.backend.Service;
+
+import com.example.backend.DTO.AnalysisJobDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface AnalysisJobService {
+
+    // Throws RejectedExecutionException when the job queue is full or too many jobs are in progress
+    AnalysisJobDTO submit(byte[] image, String fileName);
+
+    AnalysisJobDTO getJob(String jobId);
+
+    // Emits the job state now and once more when it finishes, or null if the job is unknown
+    SseEmitter subscribe(String jobId);
+}
@@ -0,0 +1,28 @@
+package com.example.backend.Service;
+
+import com.example.backend.Controller.RecyclingResponse;
+
+import java.io.IOException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * An external image analysis backend the provider router can send an image to.
+ */
+public interface AnalysisProvider {
+
+    // Must match the provider's name in OutboundHttpClients, the router reads its latency from there
+    String getName();
+
+    // A response with an error set counts as a failed call
+    default RecyclingResponse analyze(byte[] image, String fileName, String contentType) throws IOException {
+        return analyze(image, fileName, contentType, () -> true);
+    }
+
+    /**
+     * Same as {@link #analyze(byte[], String, String)}, but {@code outboundPermit} is asked right before
+     * a real (paid) call to the provider, after its result cache missed. When it answers false the
+     * provider must not call out and fails instead.
+     */
+    RecyclingResponse analyze(byte[] image, String fileName, String contentType, BooleanSupplier outboundPermit)
+            throws IOException;
+}
@@ -0,0 +1,12 @@
+package com.example.backend.Service;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.List;
+
+public interface BatchAnalysisService {
+
+    // Writes one NDJSON line per image as soon as its analysis finishes.
+    // Throws RejectedExecutionException when no analysis thread is available.
+    ResponseBodyEmitter analyze(List<byte[]> images, List<String> fileNames);
+}
@@ -0,0 +1,13 @@
+package com.example.backend.Service;
+
+import com.example.backend.DTO.BinClusteringDTO;
+import com.example.backend.DTO.CacheStatsDTO;
+import com.example.backend.entity.BinLocation.WasteType;
+
+public interface BinClusteringService {
+
+    // weighting is "uniform" or "fill-frequency" (bins that are often full pull the centers harder)
+    BinClusteringDTO clusterBins(int k, Integer capacity, WasteType wasteType, String weighting, boolean includeBins);
+
+    CacheStatsDTO getCacheStats();
+}
@@ -0,0 +1,25 @@
+package com.example.backend.Service;
+
+import com.example.backend.DTO.BinHistoryDTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface BinHistoryService {
+
+    // Never blocks: called on the telemetry gateway thread, readings are dropped when the buffer is full
+    void append(long binId, int fillPercent, int batteryPercent, long epochSeconds);
+
+    // Readings lost to a full buffer or to a failed write
+    long getDroppedReadings();
+
+    // resolution is raw, hourly, daily or null for the finest level that still covers the range in few points
+    BinHistoryDTO getBinHistory(long binId, LocalDateTime from, LocalDateTime to, String resolution);
+
+    BinHistoryDTO getAreaHistory(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                 LocalDateTime from, LocalDateTime to, String resolution);
+
+    // Days since the given date on which each bin that reported was full (telemetry.full-percent)
+    Map<Long, Integer> getFullDayCounts(LocalDate since);
+}
@@ -1,8 +1,18 @@
 package com.example.backend.Service;
 
+import com.example.backend.DTO.BinImportResultDTO;
+import com.example.backend.DTO.BinLocationChangesDTO;
 import com.example.backend.DTO.BinLocationDTO;
+import com.example.backend.DTO.BinViewportDTO;
+import com.example.backend.entity.BinLocation.BinStatus;
+import com.example.backend.entity.BinLocation.WasteType;
+import com.example.backend.utill.BinImportReader;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 public interface BinLocationService {
     String saveBinLocation(BinLocationDTO binLocationDTO);
@@ -12,4 +22,13 @@ public interface BinLocationService {
     BinLocationDTO updateBinLocation(BinLocationDTO binLocationDTO);
 
     String deleteBinLocation(Long id);
+
+    // Bins added, updated or deleted since the given stamp; everything when since is null or too old
+    BinLocationChangesDTO getBinLocationChanges(LocalDateTime since);
+
+    List<BinLocationDTO> findNearestBins(double latitude, double longitude, int k, WasteType wasteType, Set<BinStatus> statuses);
+
+    BinViewportDTO findBinsInBox(double minLat, double minLon, double maxLat, double maxLon, WasteType wasteType, Set<BinStatus> statuses);
+
+    BinImportResultDTO importBinLocations(InputStream input, BinImportReader.Format format) throws IOException;
 }
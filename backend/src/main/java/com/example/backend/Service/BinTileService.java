@@ -0,0 +1,8 @@
+package com.example.backend.Service;
+
+import com.example.backend.DTO.BinTileDTO;
+
+public interface BinTileService {
+
+    BinTileDTO getTile(int z, int x, int y);
+}
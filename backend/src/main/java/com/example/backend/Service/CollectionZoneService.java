@@ -0,0 +1,29 @@
+package com.example.backend.Service;
+
+import com.example.backend.DTO.BinLocationDTO;
+import com.example.backend.DTO.CollectionZoneDTO;
+import com.example.backend.DTO.ScheduleDTO;
+import com.example.backend.DTO.ZoneImportResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface CollectionZoneService {
+
+    // Creates or replaces zones by code, then re-tags every bin, schedule and request with coordinates
+    ZoneImportResultDTO importZones(InputStream geoJson) throws IOException;
+
+    List<CollectionZoneDTO> getAllZones();
+
+    CollectionZoneDTO getZone(Long id);
+
+    // null when the point is in no zone
+    CollectionZoneDTO locate(double latitude, double longitude);
+
+    List<BinLocationDTO> getZoneBins(Long id);
+
+    List<ScheduleDTO> getZoneSchedules(Long id);
+
+    String deleteZone(Long id);
+}
@@ -0,0 +1,166 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.DTO.AnalysisJobDTO;
+import com.example.backend.DTO.ImageAnalysisResponse;
+import com.example.backend.Service.AnalysisJobService;
+import com.example.backend.Service.ImageAnalysisService;
+import com.example.backend.utill.ExpiringCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Service
+public class AnalysisJobServiceIMPL implements AnalysisJobService {
+
+    @Autowired
+    private ImageAnalysisService imageAnalysisService;
+
+    @Autowired
+    private ThreadPoolExecutor analysisExecutor;
+
+    @Value("${recycling.jobs.sse-timeout-seconds:120}")
+    private long sseTimeoutSeconds;
+
+    // Queued and running jobs are never evicted, so their number is capped instead
+    @Value("${recycling.jobs.max-active:1000}")
+    private int maxActive;
+
+    private final Map<String, Job> activeJobs = new ConcurrentHashMap<>();
+
+    // Finished jobs are kept for an hour after they finish so clients can still poll the result
+    private final ExpiringCache<String, Job> finishedJobs;
+
+    public AnalysisJobServiceIMPL(@Value("${recycling.jobs.max-retained:10000}") int maxRetained) {
+        this.finishedJobs = new ExpiringCache<>(maxRetained, 60 * 60 * 1000L);
+    }
+
+    @Override
+    public AnalysisJobDTO submit(byte[] image, String fileName) {
+        if (activeJobs.size() >= maxActive) {
+            throw new RejectedExecutionException("Too many analysis jobs in progress");
+        }
+        Job job = new Job(UUID.randomUUID().toString());
+        activeJobs.put(job.id, job);
+        try {
+            analysisExecutor.execute(() -> run(job, image, fileName));
+        } catch (RuntimeException e) {
+            activeJobs.remove(job.id);
+            throw e;
+        }
+        return job.toDTO();
+    }
+
+    @Override
+    public AnalysisJobDTO getJob(String jobId) {
+        Job job = findJob(jobId);
+        return job != null ? job.toDTO() : null;
+    }
+
+    @Override
+    public SseEmitter subscribe(String jobId) {
+        Job job = findJob(jobId);
+        if (job == null) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeoutSeconds * 1000);
+        boolean finished;
+        synchronized (job) {
+            finished = job.isFinished();
+            if (!finished) {
+                job.emitters.add(emitter);
+                emitter.onCompletion(() -> job.removeEmitter(emitter));
+                emitter.onTimeout(() -> job.removeEmitter(emitter));
+            }
+        }
+        send(emitter, job.toDTO(), finished);
+        return emitter;
+    }
+
+    private void run(Job job, byte[] image, String fileName) {
+        job.markRunning();
+        try {
+            ImageAnalysisResponse result = imageAnalysisService.analyzeImage(image, fileName);
+            job.finish(result, null);
+        } catch (RuntimeException e) {
+            job.finish(null, e.getMessage());
+        }
+        // Into the finished jobs before leaving the active ones, so a poll in between still finds it
+        finishedJobs.put(job.id, job);
+        activeJobs.remove(job.id);
+
+        List<SseEmitter> emitters;
+        synchronized (job) {
+            emitters = new ArrayList<>(job.emitters);
+            job.emitters.clear();
+        }
+        AnalysisJobDTO dto = job.toDTO();
+        for (SseEmitter emitter : emitters) {
+            send(emitter, dto, true);
+        }
+    }
+
+    private Job findJob(String jobId) {
+        Job job = activeJobs.get(jobId);
+        return job != null ? job : finishedJobs.get(jobId);
+    }
+
+    private void send(SseEmitter emitter, AnalysisJobDTO dto, boolean complete) {
+        try {
+            emitter.send(SseEmitter.event().name("job").id(dto.getStatus()).data(dto));
+            if (complete) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away, nothing to tell it
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static final class Job {
+        private final String id;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final List<SseEmitter> emitters = new ArrayList<>();
+        private volatile String status = "QUEUED";
+        private volatile LocalDateTime finishedAt;
+        private volatile ImageAnalysisResponse result;
+        private volatile String error;
+
+        private Job(String id) {
+            this.id = id;
+        }
+
+        private void markRunning() {
+            status = "RUNNING";
+        }
+
+        private synchronized void finish(ImageAnalysisResponse result, String error) {
+            this.result = result;
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+            this.status = error == null ? "DONE" : "FAILED";
+        }
+
+        private synchronized void removeEmitter(SseEmitter emitter) {
+            emitters.remove(emitter);
+        }
+
+        private boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        private synchronized AnalysisJobDTO toDTO() {
+            return new AnalysisJobDTO(id, status, submittedAt, finishedAt, result, error);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.DTO.BatchAnalysisItemDTO;
+import com.example.backend.DTO.ImageAnalysisResponse;
+import com.example.backend.Service.BatchAnalysisService;
+import com.example.backend.Service.ImageAnalysisService;
+import com.example.backend.utill.ImageHashes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class BatchAnalysisServiceIMPL implements BatchAnalysisService {
+
+    @Autowired
+    private ImageAnalysisService imageAnalysisService;
+
+    @Autowired
+    private ThreadPoolExecutor analysisExecutor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${recycling.batch.parallelism:4}")
+    private int parallelism;
+
+    @Value("${recycling.batch.timeout-seconds:300}")
+    private long timeoutSeconds;
+
+    @Override
+    public ResponseBodyEmitter analyze(List<byte[]> images, List<String> fileNames) {
+        // Identical photos in one batch are analyzed once, the first index carries the work
+        Map<String, List<Integer>> indexesByHash = new LinkedHashMap<>();
+        for (int i = 0; i < images.size(); i++) {
+            indexesByHash.computeIfAbsent(ImageHashes.sha256Hex(images.get(i)), hash -> new ArrayList<>()).add(i);
+        }
+        Queue<List<Integer>> pending = new ConcurrentLinkedQueue<>(indexesByHash.values());
+        AtomicInteger remaining = new AtomicInteger(pending.size());
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutSeconds * 1000);
+        if (pending.isEmpty()) {
+            emitter.complete();
+            return emitter;
+        }
+
+        // A few workers per batch pull images off the queue, so one big batch cannot take every analysis thread
+        int workers = Math.min(parallelism, pending.size());
+        int started = 0;
+        for (int i = 0; i < workers; i++) {
+            try {
+                analysisExecutor.execute(() -> drain(pending, remaining, images, fileNames, emitter));
+                started++;
+            } catch (RejectedExecutionException e) {
+                if (started == 0) {
+                    throw e;
+                }
+                // Fewer workers than asked for, the ones already running will get through the queue
+                break;
+            }
+        }
+        return emitter;
+    }
+
+    private void drain(Queue<List<Integer>> pending, AtomicInteger remaining,
+                       List<byte[]> images, List<String> fileNames, ResponseBodyEmitter emitter) {
+        List<Integer> indexes;
+        while ((indexes = pending.poll()) != null) {
+            int first = indexes.get(0);
+            ImageAnalysisResponse result = null;
+            String error = null;
+            try {
+                result = imageAnalysisService.analyzeImage(images.get(first), fileNames.get(first));
+            } catch (RuntimeException e) {
+                error = e.getMessage();
+            }
+
+            for (int index : indexes) {
+                send(emitter, new BatchAnalysisItemDTO(index, fileNames.get(index),
+                        index == first ? null : first, result, error));
+            }
+            if (remaining.decrementAndGet() == 0) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private void send(ResponseBodyEmitter emitter, BatchAnalysisItemDTO item) {
+        try {
+            // One write per line so lines from different workers never interleave
+            emitter.send(objectMapper.writeValueAsString(item) + "\n", MediaType.TEXT_PLAIN);
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected, the remaining results are still cached for a retry
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.DTO.BinClusterDTO;
+import com.example.backend.DTO.BinClusteringDTO;
+import com.example.backend.DTO.CacheStatsDTO;
+import com.example.backend.Service.BinClusteringService;
+import com.example.backend.Service.BinHistoryService;
+import com.example.backend.entity.BinLocation.WasteType;
+import com.example.backend.utill.BinSpatialIndex;
+import com.example.backend.utill.ExpiringCache;
+import com.example.backend.utill.KMeansClusterer;
+import com.example.backend.utill.PlanarProjection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class BinClusteringServiceIMPL implements BinClusteringService {
+
+    private static final String UNIFORM = "uniform";
+    private static final String FILL_FREQUENCY = "fill-frequency";
+    // Fixed so the same request gives the same clusters, cached or not
+    private static final long SEED = 42;
+
+    @Autowired
+    private BinSpatialIndex binSpatialIndex;
+
+    @Autowired
+    private BinHistoryService binHistoryService;
+
+    @Autowired
+    @Qualifier("planningPool")
+    private ForkJoinPool planningPool;
+
+    @Value("${clustering.max-k:500}")
+    private int maxK;
+
+    @Value("${clustering.max-iterations:100}")
+    private int maxIterations;
+
+    // Fill-frequency weight of a bin is 1 + the days it was full within this window
+    @Value("${clustering.fill-frequency-days:30}")
+    private int fillFrequencyDays;
+
+    @Value("${clustering.cache.max-size:32}")
+    private int cacheMaxSize;
+
+    // Results also expire so fill-frequency weights catch up with new history
+    @Value("${clustering.cache.ttl-minutes:60}")
+    private long cacheTtlMinutes;
+
+    private ExpiringCache<String, CachedClustering> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new ExpiringCache<>(cacheMaxSize, TimeUnit.MINUTES.toMillis(cacheTtlMinutes));
+    }
+
+    @Override
+    public BinClusteringDTO clusterBins(int k, Integer capacity, WasteType wasteType, String weighting, boolean includeBins) {
+        long start = System.currentTimeMillis();
+        if (k < 1 || k > maxK) {
+            throw new IllegalArgumentException("k must be between 1 and " + maxK);
+        }
+        if (capacity != null && capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least one bin");
+        }
+        String weightingName = weighting == null ? FILL_FREQUENCY : weighting.trim().toLowerCase();
+        if (!UNIFORM.equals(weightingName) && !FILL_FREQUENCY.equals(weightingName)) {
+            throw new IllegalArgumentException("Weighting must be " + UNIFORM + " or " + FILL_FREQUENCY);
+        }
+
+        // Sensor readings do not move bins, so only adding, moving or removing one invalidates a result
+        long layoutVersion = binSpatialIndex.getLayoutVersion();
+        String key = wasteType + "|" + k + "|" + capacity + "|" + weightingName;
+        CachedClustering cached = cache.get(key);
+        if (cached != null && cached.layoutVersion == layoutVersion) {
+            return view(cached.result, true, includeBins, System.currentTimeMillis() - start);
+        }
+
+        List<BinSpatialIndex.Entry> bins = binSpatialIndex.select(wasteType, null);
+        if (bins.size() < k) {
+            throw new IllegalArgumentException("Only " + bins.size() + " bins match, cannot form " + k + " clusters");
+        }
+        double latitudeSum = 0;
+        for (BinSpatialIndex.Entry bin : bins) {
+            latitudeSum += bin.getLatitude();
+        }
+        PlanarProjection projection = new PlanarProjection(latitudeSum / bins.size());
+        int n = bins.size();
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = projection.x(bins.get(i).getLongitude());
+            y[i] = projection.y(bins.get(i).getLatitude());
+        }
+        double[] weights = null;
+        if (FILL_FREQUENCY.equals(weightingName)) {
+            Map<Long, Integer> fullDays = binHistoryService.getFullDayCounts(LocalDate.now().minusDays(fillFrequencyDays));
+            weights = new double[n];
+            for (int i = 0; i < n; i++) {
+                weights[i] = 1 + fullDays.getOrDefault(bins.get(i).getId(), 0);
+            }
+        }
+
+        KMeansClusterer.Result result = new KMeansClusterer(planningPool, maxIterations)
+                .cluster(x, y, weights, k, capacity != null ? capacity : 0, SEED);
+
+        List<List<Long>> members = new ArrayList<>(k);
+        double[] radius = new double[k];
+        double[] distanceSum = new double[k];
+        for (int c = 0; c < k; c++) {
+            members.add(new ArrayList<>(result.getSizes()[c]));
+        }
+        for (int i = 0; i < n; i++) {
+            int c = result.getAssignment()[i];
+            double distance = Math.hypot(x[i] - result.getCenterX()[c], y[i] - result.getCenterY()[c]);
+            radius[c] = Math.max(radius[c], distance);
+            distanceSum[c] += distance;
+            members.get(c).add(bins.get(i).getId());
+        }
+        List<BinClusterDTO> clusters = new ArrayList<>(k);
+        for (int c = 0; c < k; c++) {
+            int size = result.getSizes()[c];
+            clusters.add(new BinClusterDTO(c, projection.latitude(result.getCenterY()[c]),
+                    projection.longitude(result.getCenterX()[c]), size, result.getWeights()[c], radius[c],
+                    size > 0 ? distanceSum[c] / size : 0, members.get(c)));
+        }
+
+        BinClusteringDTO computed = new BinClusteringDTO(k, capacity, weightingName, wasteType, n,
+                result.getIterations(), result.isConverged(), false, 0, clusters);
+        cache.put(key, new CachedClustering(layoutVersion, computed));
+        return view(computed, false, includeBins, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public CacheStatsDTO getCacheStats() {
+        return new CacheStatsDTO("binClustering", cache.size(), cache.getHits(), cache.getMisses(), cache.getEvictions());
+    }
+
+    // The cached copy keeps the bin ids; each response gets its own DTOs with or without them
+    private static BinClusteringDTO view(BinClusteringDTO result, boolean cached, boolean includeBins, long elapsedMillis) {
+        List<BinClusterDTO> clusters = new ArrayList<>(result.getClusters().size());
+        for (BinClusterDTO cluster : result.getClusters()) {
+            clusters.add(new BinClusterDTO(cluster.getCluster(), cluster.getLatitude(), cluster.getLongitude(),
+                    cluster.getBins(), cluster.getWeight(), cluster.getRadiusMeters(), cluster.getMeanDistanceMeters(),
+                    includeBins ? cluster.getBinIds() : null));
+        }
+        return new BinClusteringDTO(result.getK(), result.getCapacity(), result.getWeighting(), result.getWasteType(),
+                result.getBinsClustered(), result.getIterations(), result.isConverged(), cached, elapsedMillis, clusters);
+    }
+
+    private static final class CachedClustering {
+        private final long layoutVersion;
+        private final BinClusteringDTO result;
+
+        private CachedClustering(long layoutVersion, BinClusteringDTO result) {
+            this.layoutVersion = layoutVersion;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.DTO.BinHistoryDTO;
+import com.example.backend.DTO.BinReadingPointDTO;
+import com.example.backend.Service.BinHistoryService;
+import com.example.backend.utill.BinHistoryStore;
+import com.example.backend.utill.BinHistoryStore.Level;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class BinHistoryServiceIMPL implements BinHistoryService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${telemetry.enabled:false}")
+    private boolean enabled;
+
+    @Value("${telemetry.history.buffer-size:50000}")
+    private int bufferSize;
+
+    @Value("${telemetry.history.flush-interval-ms:1000}")
+    private long flushIntervalMillis;
+
+    @Value("${telemetry.history.rollup-interval-minutes:10}")
+    private long rollupIntervalMinutes;
+
+    // Readings may arrive this late (sensor buffering, retries) and still make it into the rollups
+    @Value("${telemetry.history.late-arrival-hours:2}")
+    private long lateArrivalHours;
+
+    @Value("${telemetry.history.raw-retention-days:7}")
+    private long rawRetentionDays;
+
+    @Value("${telemetry.history.hourly-retention-days:120}")
+    private long hourlyRetentionDays;
+
+    @Value("${telemetry.history.daily-retention-days:1825}")
+    private long dailyRetentionDays;
+
+    // Automatic resolution picks the finest level that answers with at most this many points per bin
+    @Value("${telemetry.history.max-points:1000}")
+    private int maxPoints;
+
+    @Value("${telemetry.history.raw-max-span-hours:48}")
+    private long rawMaxSpanHours;
+
+    @Value("${telemetry.full-percent:80}")
+    private int fullPercent;
+
+    private BinHistoryStore store;
+    private ScheduledExecutorService scheduler;
+
+    // Readings waiting to be written, swapped with the spare set on every flush
+    private ReadingBuffer pending;
+    private ReadingBuffer spare;
+    private final LongAdder dropped = new LongAdder();
+
+    // Exclusive end of the hours already rolled up; the hours just before it are redone for late readings
+    private LocalDateTime rolledUpTo;
+
+    @PostConstruct
+    public void init() {
+        store = new BinHistoryStore(jdbcTemplate);
+        store.createTables();
+        pending = new ReadingBuffer(bufferSize);
+        spare = new ReadingBuffer(bufferSize);
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bin-history");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> runQuietly("flush", this::flush),
+                flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> runQuietly("rollup", this::rollupAndExpire),
+                1, rollupIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        runQuietly("flush", this::flush);
+    }
+
+    @Override
+    public void append(long binId, int fillPercent, int batteryPercent, long epochSeconds) {
+        synchronized (this) {
+            if (pending.add(binId, fillPercent, batteryPercent, epochSeconds)) {
+                return;
+            }
+        }
+        dropped.increment();
+    }
+
+    @Override
+    public long getDroppedReadings() {
+        return dropped.sum();
+    }
+
+    @Override
+    public BinHistoryDTO getBinHistory(long binId, LocalDateTime from, LocalDateTime to, String resolution) {
+        Level level = chooseLevel(from, to, resolution);
+        List<BinReadingPointDTO> points = store.query(binId, level, alignStart(from, level), to);
+        return new BinHistoryDTO(binId, level.name(), from, to, points);
+    }
+
+    @Override
+    public BinHistoryDTO getAreaHistory(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                        LocalDateTime from, LocalDateTime to, String resolution) {
+        Level level = chooseLevel(from, to, resolution);
+        if (level == Level.RAW) {
+            level = Level.HOURLY;
+        }
+        List<BinReadingPointDTO> points = store.queryArea(minLatitude, minLongitude, maxLatitude, maxLongitude,
+                level, alignStart(from, level), to);
+        return new BinHistoryDTO(null, level.name(), from, to, points);
+    }
+
+    @Override
+    public Map<Long, Integer> getFullDayCounts(LocalDate since) {
+        return store.countFullDays(fullPercent, since);
+    }
+
+    private Level chooseLevel(LocalDateTime from, LocalDateTime to, String resolution) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (resolution != null && !resolution.isEmpty() && !"auto".equalsIgnoreCase(resolution)) {
+            try {
+                return Level.valueOf(resolution.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("resolution must be raw, hourly, daily or auto");
+            }
+        }
+
+        // The finest level that still holds data back to from, without returning too many points
+        LocalDateTime now = LocalDateTime.now();
+        Duration span = Duration.between(from, to);
+        if (span.toHours() <= rawMaxSpanHours && !from.isBefore(now.minusDays(rawRetentionDays))) {
+            return Level.RAW;
+        }
+        if (span.toHours() <= maxPoints && !from.isBefore(now.minusDays(hourlyRetentionDays))) {
+            return Level.HOURLY;
+        }
+        return Level.DAILY;
+    }
+
+    // A bucket that started before from still holds readings inside the range
+    private static LocalDateTime alignStart(LocalDateTime from, Level level) {
+        switch (level) {
+            case HOURLY:
+                return from.truncatedTo(ChronoUnit.HOURS);
+            case DAILY:
+                return from.truncatedTo(ChronoUnit.DAYS);
+            default:
+                return from;
+        }
+    }
+
+    private void flush() {
+        ReadingBuffer batch;
+        synchronized (this) {
+            if (pending.size == 0) {
+                return;
+            }
+            batch = pending;
+            pending = spare;
+        }
+        try {
+            store.insertRaw(batch.binIds, batch.epochSeconds, batch.fillLevels, batch.batteryLevels, batch.size);
+        } catch (RuntimeException e) {
+            // Not retried: part of the batch may already be written, a second insert would double it
+            dropped.add(batch.size);
+            throw e;
+        } finally {
+            batch.size = 0;
+            synchronized (this) {
+                spare = batch;
+            }
+        }
+    }
+
+    private void rollupAndExpire() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime currentHour = now.truncatedTo(ChronoUnit.HOURS);
+
+        LocalDateTime from = rolledUpTo;
+        if (from == null) {
+            // First run since startup: catch up on whatever raw data is still kept
+            LocalDateTime earliest = store.earliest(Level.RAW);
+            from = earliest != null ? earliest.truncatedTo(ChronoUnit.HOURS) : currentHour;
+        }
+        LocalDateTime lateWindow = currentHour.minusHours(lateArrivalHours);
+        if (from.isAfter(lateWindow)) {
+            from = lateWindow;
+        }
+
+        // The current hour is rolled up too, so hourly and daily queries include it; it is redone next run
+        LocalDateTime to = currentHour.plusHours(1);
+        for (LocalDateTime day = from; day.isBefore(to); day = day.plusDays(1)) {
+            LocalDateTime end = day.plusDays(1).isBefore(to) ? day.plusDays(1) : to;
+            store.rollupHours(day, end);
+        }
+        store.rollupDays(from.toLocalDate(), now.toLocalDate().plusDays(1));
+        rolledUpTo = currentHour;
+
+        store.deleteOlderThan(Level.RAW, now.minusDays(rawRetentionDays), 10_000);
+        store.deleteOlderThan(Level.HOURLY, now.minusDays(hourlyRetentionDays), 10_000);
+        store.deleteOlderThan(Level.DAILY, LocalDate.now().minusDays(dailyRetentionDays).atStartOfDay(), 10_000);
+    }
+
+    private static void runQuietly(String task, Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (RuntimeException e) {
+            System.err.println("Bin history " + task + " failed: " + e.getMessage());
+        }
+    }
+
+    private static final class ReadingBuffer {
+        private final long[] binIds;
+        private final long[] epochSeconds;
+        private final byte[] fillLevels;
+        private final byte[] batteryLevels;
+        private int size;
+
+        private ReadingBuffer(int capacity) {
+            binIds = new long[capacity];
+            epochSeconds = new long[capacity];
+            fillLevels = new byte[capacity];
+            batteryLevels = new byte[capacity];
+        }
+
+        private boolean add(long binId, int fillPercent, int batteryPercent, long seconds) {
+            if (size == binIds.length) {
+                return false;
+            }
+            binIds[size] = binId;
+            epochSeconds[size] = seconds;
+            fillLevels[size] = (byte) fillPercent;
+            batteryLevels[size] = (byte) batteryPercent;
+            size++;
+            return true;
+        }
+    }
+}
@@ -1,17 +1,41 @@
 package com.example.backend.Service.IMPL;
 
+import com.example.backend.DTO.BinImportErrorDTO;
+import com.example.backend.DTO.BinImportResultDTO;
+import com.example.backend.DTO.BinLocationChangesDTO;
 import com.example.backend.DTO.BinLocationDTO;
+import com.example.backend.DTO.BinPointDTO;
+import com.example.backend.DTO.BinViewportDTO;
 import com.example.backend.Repo.BinLocationRepo;
+import com.example.backend.Repo.projection.BinLocationView;
 import com.example.backend.Service.BinLocationService;
+import com.example.backend.Service.SyncService;
 import com.example.backend.entity.BinLocation;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
-import org.springframework.beans.BeanUtils;
+import com.example.backend.entity.BinLocation.BinStatus;
+import com.example.backend.entity.BinLocation.WasteType;
+import com.example.backend.entity.SyncTombstone;
+import com.example.backend.mapper.BinLocationMapper;
+import com.example.backend.utill.BinImportReader;
+import com.example.backend.utill.BinSpatialIndex;
+import com.example.backend.utill.ZoneIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,7 +45,51 @@ public class BinLocationServiceIMPL implements BinLocationService {
     private BinLocationRepo binLocationRepo;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private BinLocationMapper binLocationMapper;
+
+    @Autowired
+    private BinSpatialIndex binSpatialIndex;
+
+    @Autowired
+    private ZoneIndex zoneIndex;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Rows per transaction; hibernate.jdbc.batch_size decides how many go in one JDBC batch
+    @Value("${bins.import.chunk-size:1000}")
+    private int importChunkSize;
+
+    @Value("${bins.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${bins.viewport.max-results:5000}")
+    private int viewportMaxResults;
+
+    @PostConstruct
+    public void loadSpatialIndex() {
+        seedIdSequence();
+        binSpatialIndex.rebuild(binLocationRepo.findAll());
+    }
+
+    // Ids used to come from AUTO_INCREMENT. Move the pooled id table past them so new ids never collide.
+    private void seedIdSequence() {
+        try {
+            jdbcTemplate.update("UPDATE " + BinLocation.ID_SEQUENCE + " SET next_val = GREATEST(next_val, "
+                    + "(SELECT COALESCE(MAX(id), 0) FROM bin_locations) + ?)", BinLocation.ID_ALLOCATION_SIZE + 1);
+        } catch (DataAccessException e) {
+            System.err.println("Could not seed " + BinLocation.ID_SEQUENCE + ": " + e.getMessage());
+        }
+    }
 
     @Override
     public String saveBinLocation(BinLocationDTO binLocationDTO) {
@@ -38,11 +106,16 @@ public class BinLocationServiceIMPL implements BinLocationService {
                 binLocationDTO.getLongitude(),
                 binLocationDTO.getWasteType(),
                 binLocationDTO.getStatus(),
-                binLocationDTO.getLastUpdated()
+                binLocationDTO.getLastUpdated(),
+                null,
+                null,
+                zoneIndex.locateId(binLocationDTO.getLatitude(), binLocationDTO.getLongitude()),
+                null
         );
 
-        // Save the entity
-        binLocationRepo.save(binLocation);
+        // Save the entity and keep the nearest-bin index in step with it
+        BinLocation savedBinLocation = binLocationRepo.save(binLocation);
+        binSpatialIndex.put(savedBinLocation);
 
         return "Saved bin location at " + binLocationDTO.getAddress();
     }
@@ -51,20 +124,7 @@ public class BinLocationServiceIMPL implements BinLocationService {
     public List<BinLocationDTO> getAllBinLocations() {
         List<BinLocation> binLocations = binLocationRepo.findAll();
 
-        // Manual mapping instead of using TypeToken
-        return binLocations.stream()
-                .map(entity -> {
-                    BinLocationDTO dto = new BinLocationDTO();
-                    dto.setId(entity.getId());
-                    dto.setAddress(entity.getAddress());
-                    dto.setLatitude(entity.getLatitude());
-                    dto.setLongitude(entity.getLongitude());
-                    dto.setWasteType(entity.getWasteType());
-                    dto.setStatus(entity.getStatus());
-                    dto.setLastUpdated(entity.getLastUpdated());
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        return binLocationMapper.toDTOList(binLocations);
     }
 
     @Override
@@ -78,21 +138,164 @@ public class BinLocationServiceIMPL implements BinLocationService {
         binLocationDTO.setLastUpdated(LocalDateTime.now());
 
         // Map DTO to entity, save it, and map it back to DTO
-        BinLocation binLocation = modelMapper.map(binLocationDTO, BinLocation.class);
+        BinLocation binLocation = binLocationMapper.toEntity(binLocationDTO);
+        binLocation.setZoneId(zoneIndex.locateId(binLocation.getLatitude(), binLocation.getLongitude()));
         BinLocation savedBinLocation = binLocationRepo.save(binLocation);
+        binSpatialIndex.put(savedBinLocation);
 
         // Return the updated bin location as DTO
-        return modelMapper.map(savedBinLocation, BinLocationDTO.class);
+        return binLocationMapper.toDTO(savedBinLocation);
     }
 
     @Override
     public String deleteBinLocation(Long id) {
         if (binLocationRepo.existsById(id)) {
             binLocationRepo.deleteById(id);
+            // Tombstone first: the index bump changes the ETag that sends clients looking for it
+            syncService.recordDeletion(SyncService.BINS, id);
+            binSpatialIndex.remove(id);
             return id + " Deleted Successfully";
         } else {
             throw new RuntimeException("Bin location with ID " + id + " not found");
         }
     }
 
+    @Override
+    public BinLocationChangesDTO getBinLocationChanges(LocalDateTime since) {
+        boolean full = syncService.needsFullSync(since);
+        List<BinLocation> changed = full ? binLocationRepo.findAll() : binLocationRepo.findByChangedAtGreaterThanEqual(since);
+        List<Long> deleted = new ArrayList<>();
+        LocalDateTime newest = null;
+        for (BinLocation binLocation : changed) {
+            newest = later(newest, binLocation.getChangedAt());
+        }
+        if (!full) {
+            for (SyncTombstone tombstone : syncService.getTombstones(SyncService.BINS, since)) {
+                deleted.add(tombstone.getEntityId());
+                newest = later(newest, tombstone.getDeletedAt());
+            }
+        }
+        return new BinLocationChangesDTO(full, syncService.nextSince(full ? null : since, newest),
+                binLocationMapper.toDTOList(changed), deleted);
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        return a == null || (b != null && b.isAfter(a)) ? b : a;
+    }
+
+    @Override
+    public List<BinLocationDTO> findNearestBins(double latitude, double longitude, int k, WasteType wasteType, Set<BinStatus> statuses) {
+        return binSpatialIndex.nearest(latitude, longitude, k, wasteType, statuses).stream()
+                .map(entry -> new BinLocationDTO(
+                        entry.getId(),
+                        entry.getAddress(),
+                        entry.getLatitude(),
+                        entry.getLongitude(),
+                        entry.getWasteType(),
+                        entry.getStatus(),
+                        entry.getLastUpdated(),
+                        entry.getFillLevel(),
+                        entry.getBatteryLevel(),
+                        entry.getZoneId()
+                ))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public BinViewportDTO findBinsInBox(double minLat, double minLon, double maxLat, double maxLon, WasteType wasteType, Set<BinStatus> statuses) {
+        if (minLat > maxLat || minLon > maxLon) {
+            throw new IllegalArgumentException("min must not be greater than max");
+        }
+        Set<BinStatus> wanted = statuses == null || statuses.isEmpty() ? EnumSet.allOf(BinStatus.class) : statuses;
+        // One row past the limit tells us whether the box held more
+        List<BinLocationView> rows = binLocationRepo.findInBox(minLat, minLon, maxLat, maxLon, wanted, wasteType,
+                PageRequest.of(0, viewportMaxResults + 1));
+        boolean truncated = rows.size() > viewportMaxResults;
+        List<BinPointDTO> bins = new ArrayList<>(Math.min(rows.size(), viewportMaxResults));
+        for (BinLocationView row : truncated ? rows.subList(0, viewportMaxResults) : rows) {
+            bins.add(new BinPointDTO(row.getId(), row.getLatitude(), row.getLongitude(), row.getStatus()));
+        }
+        return new BinViewportDTO(bins.size(), truncated, bins);
+    }
+
+    @Override
+    public BinImportResultDTO importBinLocations(InputStream input, BinImportReader.Format format) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportRun run = new ImportRun();
+        BinImportReader.read(input, format, new BinImportReader.RowListener() {
+            @Override
+            public void onRow(long row, BinLocation binLocation) {
+                if (binLocation.getLastUpdated() == null) {
+                    binLocation.setLastUpdated(LocalDateTime.now());
+                }
+                binLocation.setZoneId(zoneIndex.locateId(binLocation.getLatitude(), binLocation.getLongitude()));
+                run.rows.add(row);
+                run.pending.add(binLocation);
+                if (run.pending.size() >= importChunkSize) {
+                    flushImportChunk(run);
+                }
+            }
+
+            @Override
+            public void onError(long row, String message) {
+                run.fail(row, message, maxReportedErrors);
+            }
+        });
+        flushImportChunk(run);
+
+        return new BinImportResultDTO(format.name(), run.imported + run.failed, run.imported, run.failed,
+                System.currentTimeMillis() - start, run.errors, run.failed > run.errors.size());
+    }
+
+    private void flushImportChunk(ImportRun run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+        List<BinLocation> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                List<BinLocation> chunk = binLocationRepo.saveAll(run.pending);
+                // Open-in-view keeps one persistence context for the whole request: without this every
+                // imported bin would stay managed and each flush would dirty-check all earlier chunks
+                entityManager.flush();
+                entityManager.clear();
+                return chunk;
+            });
+        } catch (DataAccessException e) {
+            // One bad row rolls back the chunk; retry row by row to find it and keep the others
+            saved = new ArrayList<>();
+            for (int i = 0; i < run.pending.size(); i++) {
+                BinLocation binLocation = run.pending.get(i);
+                binLocation.setId(null);
+                try {
+                    saved.add(binLocationRepo.save(binLocation));
+                } catch (DataAccessException rowError) {
+                    run.fail(run.rows.get(i), "Could not save: " + rowError.getMostSpecificCause().getMessage(), maxReportedErrors);
+                }
+            }
+            entityManager.clear();
+        }
+        for (BinLocation binLocation : saved) {
+            binSpatialIndex.put(binLocation);
+        }
+        run.imported += saved.size();
+        run.pending.clear();
+        run.rows.clear();
+    }
+
+    private static final class ImportRun {
+        private final List<BinLocation> pending = new ArrayList<>();
+        private final List<Long> rows = new ArrayList<>();
+        private final List<BinImportErrorDTO> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        private void fail(long row, String message, int maxReportedErrors) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BinImportErrorDTO(row, message));
+            }
+        }
+    }
+
 }
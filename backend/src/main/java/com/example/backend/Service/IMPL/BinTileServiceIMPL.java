@@ -0,0 +1,46 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.DTO.BinTileDTO;
+import com.example.backend.Service.BinTileService;
+import com.example.backend.utill.BinSpatialIndex;
+import com.example.backend.utill.TilePyramid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+@Service
+public class BinTileServiceIMPL implements BinTileService {
+
+    private static final List<String> COLUMNS = TilePyramid.columns();
+
+    @Autowired
+    private BinSpatialIndex binSpatialIndex;
+
+    @Value("${tiles.max-zoom:16}")
+    private int maxZoom;
+
+    @Value("${tiles.grid:32}")
+    private int grid;
+
+    // Tile revisions restart with the process, so versions carry a per-boot prefix
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    private TilePyramid tilePyramid;
+
+    // The pyramid follows the spatial index change by change, it is never rebuilt per request
+    @PostConstruct
+    public void init() {
+        tilePyramid = new TilePyramid(maxZoom, grid);
+        binSpatialIndex.addListener(tilePyramid);
+    }
+
+    @Override
+    public BinTileDTO getTile(int z, int x, int y) {
+        TilePyramid.TileCounts counts = tilePyramid.tile(z, x, y);
+        return new BinTileDTO(z, x, y, tilePyramid.getGrid(), counts.getTotal(), bootId + "-" + counts.getRevision(),
+                COLUMNS, counts.getCells());
+    }
+}
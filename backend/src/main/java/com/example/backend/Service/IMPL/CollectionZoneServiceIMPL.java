@@ -0,0 +1,297 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.DTO.BinLocationDTO;
+import com.example.backend.DTO.CollectionZoneDTO;
+import com.example.backend.DTO.ScheduleDTO;
+import com.example.backend.DTO.ZoneImportResultDTO;
+import com.example.backend.Repo.BinLocationRepo;
+import com.example.backend.Repo.CollectionZoneRepo;
+import com.example.backend.Repo.ScheduleRepo;
+import com.example.backend.Service.CollectionZoneService;
+import com.example.backend.Service.SyncService;
+import com.example.backend.entity.CollectionZone;
+import com.example.backend.mapper.BinLocationMapper;
+import com.example.backend.mapper.ScheduleMapper;
+import com.example.backend.utill.BinSpatialIndex;
+import com.example.backend.utill.GeoJsonZoneReader;
+import com.example.backend.utill.ZoneIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class CollectionZoneServiceIMPL implements CollectionZoneService {
+
+    @Autowired
+    private CollectionZoneRepo collectionZoneRepo;
+
+    @Autowired
+    private BinLocationRepo binLocationRepo;
+
+    @Autowired
+    private ScheduleRepo scheduleRepo;
+
+    @Autowired
+    private BinLocationMapper binLocationMapper;
+
+    @Autowired
+    private ScheduleMapper scheduleMapper;
+
+    @Autowired
+    private ZoneIndex zoneIndex;
+
+    @Autowired
+    private BinSpatialIndex binSpatialIndex;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${zones.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    private final ZoneBinCounter zoneBinCounter = new ZoneBinCounter();
+
+    @PostConstruct
+    public void init() {
+        loadZoneIndex();
+        binSpatialIndex.addListener(zoneBinCounter);
+    }
+
+    // Boundaries are parsed once here; lookups after that never touch the database
+    private void loadZoneIndex() {
+        List<ZoneIndex.Zone> zones = new ArrayList<>();
+        for (CollectionZone zone : collectionZoneRepo.findAll()) {
+            try {
+                zones.add(new ZoneIndex.Zone(zone.getId(), zone.getCode(), GeoJsonZoneReader.rings(zone.getGeometry())));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipping zone " + zone.getCode() + ": " + e.getMessage());
+            }
+        }
+        zoneIndex.rebuild(zones);
+    }
+
+    @Override
+    public ZoneImportResultDTO importZones(InputStream geoJson) throws IOException {
+        long start = System.currentTimeMillis();
+        Map<String, CollectionZone> parsed = new HashMap<>();
+        List<String> errors = new ArrayList<>();
+        int[] failed = new int[1];
+        GeoJsonZoneReader.read(geoJson, new GeoJsonZoneReader.FeatureListener() {
+            @Override
+            public void onZone(int feature, String code, String name, String geometry) {
+                // A code repeated in the file keeps its last boundary
+                parsed.put(code, new CollectionZone(null, code, name, geometry, LocalDateTime.now()));
+            }
+
+            @Override
+            public void onError(int feature, String message) {
+                failed[0]++;
+                if (errors.size() < maxReportedErrors) {
+                    errors.add("feature " + feature + ": " + message);
+                }
+            }
+        });
+
+        int[] counts = new int[2];
+        transactionTemplate.executeWithoutResult(status -> {
+            for (CollectionZone zone : parsed.values()) {
+                CollectionZone existing = collectionZoneRepo.findByCode(zone.getCode()).orElse(null);
+                if (existing != null) {
+                    existing.setName(zone.getName());
+                    existing.setGeometry(zone.getGeometry());
+                    existing.setLastUpdated(zone.getLastUpdated());
+                    collectionZoneRepo.save(existing);
+                    counts[1]++;
+                } else {
+                    collectionZoneRepo.save(zone);
+                    counts[0]++;
+                }
+            }
+        });
+
+        loadZoneIndex();
+        int[] retagged = retagAll();
+        return new ZoneImportResultDTO(counts[0], counts[1], failed[0], errors, retagged[0], retagged[1], retagged[2],
+                System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public List<CollectionZoneDTO> getAllZones() {
+        List<CollectionZoneDTO> zones = new ArrayList<>();
+        for (CollectionZone zone : collectionZoneRepo.findAll()) {
+            zones.add(toDTO(zone, zoneBinCounter.count(zone.getId()), false));
+        }
+        return zones;
+    }
+
+    @Override
+    public CollectionZoneDTO getZone(Long id) {
+        CollectionZone zone = collectionZoneRepo.findById(id)
+                .orElseThrow(() -> new RuntimeException("Zone with ID " + id + " not found"));
+        return toDTO(zone, zoneBinCounter.count(id), true);
+    }
+
+    @Override
+    public CollectionZoneDTO locate(double latitude, double longitude) {
+        ZoneIndex.Zone zone = zoneIndex.locate(latitude, longitude);
+        if (zone == null) {
+            return null;
+        }
+        return collectionZoneRepo.findById(zone.getId())
+                .map(entity -> toDTO(entity, zoneBinCounter.count(entity.getId()), false))
+                .orElse(null);
+    }
+
+    @Override
+    public List<BinLocationDTO> getZoneBins(Long id) {
+        requireZone(id);
+        return binLocationMapper.toDTOList(binLocationRepo.findByZoneId(id));
+    }
+
+    @Override
+    public List<ScheduleDTO> getZoneSchedules(Long id) {
+        requireZone(id);
+        return scheduleMapper.toDTOList(scheduleRepo.findByZoneIdOrderByDateAscTimeAsc(id));
+    }
+
+    @Override
+    public String deleteZone(Long id) {
+        requireZone(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            collectionZoneRepo.deleteById(id);
+            // Rows tagged by hand (no coordinates) lose the zone; the rest are re-tagged below
+            jdbcTemplate.update("UPDATE schedules SET zone_id = NULL WHERE zone_id = ?", id);
+            jdbcTemplate.update("UPDATE request_service SET zone_id = NULL WHERE zone_id = ?", id);
+        });
+        loadZoneIndex();
+        retagAll();
+        syncService.schedulesChanged();
+        return id + " Deleted Successfully";
+    }
+
+    private void requireZone(Long id) {
+        if (!collectionZoneRepo.existsById(id)) {
+            throw new RuntimeException("Zone with ID " + id + " not found");
+        }
+    }
+
+    // Recomputes the zone of every row with coordinates and writes only the ones that changed
+    private int[] retagAll() {
+        List<Object[]> binRows = new ArrayList<>();
+        for (BinSpatialIndex.Entry bin : binSpatialIndex.select(null, null)) {
+            Long zoneId = zoneIndex.locateId(bin.getLatitude(), bin.getLongitude());
+            if (!Objects.equals(zoneId, bin.getZoneId())) {
+                binRows.add(new Object[]{zoneId, bin.getId()});
+            }
+        }
+        if (!binRows.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE bin_locations SET zone_id = ? WHERE id = ?", binRows);
+            binSpatialIndex.rebuild(binLocationRepo.findAll());
+        }
+        int schedules = retag("schedules", "id");
+        if (schedules > 0) {
+            syncService.schedulesChanged();
+        }
+        int requests = retag("request_service", "request_id");
+        return new int[]{binRows.size(), schedules, requests};
+    }
+
+    private int retag(String table, String idColumn) {
+        List<Object[]> rows = new ArrayList<>();
+        jdbcTemplate.query("SELECT " + idColumn + ", latitude, longitude, zone_id FROM " + table
+                        + " WHERE latitude IS NOT NULL AND longitude IS NOT NULL",
+                (RowCallbackHandler) rs -> {
+                    Long current = rs.getObject("zone_id") != null ? rs.getLong("zone_id") : null;
+                    Long zoneId = zoneIndex.locateId(rs.getDouble("latitude"), rs.getDouble("longitude"));
+                    if (!Objects.equals(zoneId, current)) {
+                        rows.add(new Object[]{zoneId, rs.getLong(idColumn)});
+                    }
+                });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE " + table + " SET zone_id = ? WHERE " + idColumn + " = ?", rows);
+        }
+        return rows.size();
+    }
+
+
+    private CollectionZoneDTO toDTO(CollectionZone zone, long bins, boolean withGeometry) {
+        double[] box = boundingBox(zone);
+        return new CollectionZoneDTO(zone.getId(), zone.getCode(), zone.getName(), box[0], box[1], box[2], box[3],
+                bins, zone.getLastUpdated(), withGeometry ? zone.getGeometry() : null);
+    }
+
+    // Bins per zone, kept in step with the spatial index so reading a count never scans the fleet
+    private static final class ZoneBinCounter implements BinSpatialIndex.Listener {
+        private volatile Map<Long, Long> counts = new ConcurrentHashMap<>();
+
+        long count(Long zoneId) {
+            return counts.getOrDefault(zoneId, 0L);
+        }
+
+        @Override
+        public void changed(BinSpatialIndex.Entry previous, BinSpatialIndex.Entry current) {
+            Long before = previous != null ? previous.getZoneId() : null;
+            Long after = current != null ? current.getZoneId() : null;
+            if (Objects.equals(before, after)) {
+                return;
+            }
+            if (before != null) {
+                counts.computeIfPresent(before, (zone, count) -> count > 1 ? count - 1 : null);
+            }
+            if (after != null) {
+                counts.merge(after, 1L, Long::sum);
+            }
+        }
+
+        @Override
+        public void reset(Collection<BinSpatialIndex.Entry> entries) {
+            // Counted aside and swapped in, so readers never see a half-filled map
+            Map<Long, Long> fresh = new ConcurrentHashMap<>();
+            for (BinSpatialIndex.Entry entry : entries) {
+                if (entry.getZoneId() != null) {
+                    fresh.merge(entry.getZoneId(), 1L, Long::sum);
+                }
+            }
+            counts = fresh;
+        }
+    }
+
+    // minLatitude, minLongitude, maxLatitude, maxLongitude
+    private static double[] boundingBox(CollectionZone zone) {
+        double[] box = {90, 180, -90, -180};
+        try {
+            for (double[] ring : GeoJsonZoneReader.rings(zone.getGeometry())) {
+                for (int i = 0; i < ring.length; i += 2) {
+                    box[0] = Math.min(box[0], ring[i + 1]);
+                    box[1] = Math.min(box[1], ring[i]);
+                    box[2] = Math.max(box[2], ring[i + 1]);
+                    box[3] = Math.max(box[3], ring[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return new double[4];
+        }
+        return box;
+    }
+}
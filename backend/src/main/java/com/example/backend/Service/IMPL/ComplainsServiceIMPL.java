@@ -3,13 +3,17 @@ package com.example.backend.Service.IMPL;
 import com.example.backend.DTO.ComplainsDTO;
 import com.example.backend.Repo.ComplainsRepo;
 import com.example.backend.Service.ComplainsService;
+import com.example.backend.Service.ImageStoreService;
 import com.example.backend.entity.Complains;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
-import org.springframework.beans.BeanUtils;
+import com.example.backend.mapper.ComplainsMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
 import java.util.List;
 
 @Service
@@ -19,15 +23,21 @@ public class ComplainsServiceIMPL implements ComplainsService {
     private ComplainsRepo complainsRepo;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ComplainsMapper complainsMapper;
+
+    @Autowired
+    private ImageStoreService imageStoreService;
+
     @Override
     public String saveComplain(ComplainsDTO complainDTO) {
         Complains complain = new Complains(
                 complainDTO.getComplainID(),
                 complainDTO.getName(),
                 complainDTO.getComplain(),
-                complainDTO.getImage()
+                null,
+                null
         );
+        attachImage(complain, complainDTO.getImage());
 
         complainsRepo.save(complain);
         return "Saved complain from " + complainDTO.getName();
@@ -35,11 +45,10 @@ public class ComplainsServiceIMPL implements ComplainsService {
 
     @Override
     public List<ComplainsDTO> getAllComplains() {
+        // Image bytes live in the image store, rows only carry the hash
         List<Complains> complains = complainsRepo.findAll();
 
-        List<ComplainsDTO> complainsDTOS = modelMapper.map(complains, new TypeToken<List<ComplainsDTO>>() {}.getType());
-
-        return complainsDTOS;
+        return complainsMapper.toDTOList(complains);
     }
 
     @Override
@@ -58,16 +67,56 @@ public class ComplainsServiceIMPL implements ComplainsService {
         Complains existingComplain = complainsRepo.findById(updateDTO.getComplainID())
                 .orElseThrow(() -> new RuntimeException("Complain not found"));
 
-        // Copy properties from DTO to entity (excluding any you want to preserve)
-        BeanUtils.copyProperties(updateDTO, existingComplain);
+        // Copy properties from DTO to entity, the image is only replaced when a new one is sent
+        complainsMapper.updateEntity(updateDTO, existingComplain);
+        if (updateDTO.getImage() != null) {
+            attachImage(existingComplain, updateDTO.getImage());
+        }
 
         // Save updated entity
         Complains updatedComplain = complainsRepo.save(existingComplain);
 
         // Convert entity to DTO
-        ComplainsDTO responseDTO = new ComplainsDTO();
-        BeanUtils.copyProperties(updatedComplain, responseDTO);
+        return complainsMapper.toDTO(updatedComplain);
+    }
 
-        return responseDTO;
+    // Moves images of complaints saved before the image store existed out of the table, one row at a time
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateInlineImages() {
+        for (Integer complainId : complainsRepo.findIdsWithInlineImage()) {
+            complainsRepo.findById(complainId).ifPresent(complain -> {
+                attachImage(complain, complain.getImage());
+                complainsRepo.save(complain);
+            });
+        }
+    }
+
+    private void attachImage(Complains complain, String image) {
+        if (image == null || image.isBlank()) {
+            complain.setImage(null);
+            complain.setImageHash(null);
+            return;
+        }
+        if (image.startsWith("http://") || image.startsWith("https://")) {
+            complain.setImage(image);
+            complain.setImageHash(null);
+            return;
+        }
+
+        // data:image/png;base64,.... from the frontend, or plain base64
+        String base64 = image.startsWith("data:") ? image.substring(image.indexOf(',') + 1) : image;
+        byte[] bytes;
+        try {
+            bytes = Base64.getMimeDecoder().decode(base64);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Complain image is not valid base64");
+        }
+
+        try {
+            complain.setImageHash(imageStoreService.store(bytes));
+            complain.setImage(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store complain image", e);
+        }
     }
 }
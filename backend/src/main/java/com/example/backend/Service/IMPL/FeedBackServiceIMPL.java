@@ -1,14 +1,10 @@
 package com.example.backend.Service.IMPL;
 
 import com.example.backend.DTO.FeedBackDTO;
-import com.example.backend.DTO.RequestServiceDTO;
 import com.example.backend.Repo.FeedBackRepo;
 import com.example.backend.Service.FeedBackService;
 import com.example.backend.entity.FeedBack;
-import com.example.backend.entity.RequestServiceEntity;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
-import org.springframework.beans.BeanUtils;
+import com.example.backend.mapper.FeedBackMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -21,7 +17,7 @@ public class FeedBackServiceIMPL implements FeedBackService {
     private FeedBackRepo feedBackRepo;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private FeedBackMapper feedBackMapper;
 
     @Override
     public String saveFeedBack(FeedBackDTO feedDTO) {
@@ -40,9 +36,7 @@ public class FeedBackServiceIMPL implements FeedBackService {
     public List<FeedBackDTO> getAllFeedBack() {
         List<FeedBack> feedBacks = feedBackRepo.findAll();
 
-        List<FeedBackDTO> feedBackDTOS = modelMapper.map(feedBacks, new TypeToken<List<FeedBackDTO>>() {
-        }.getType());
-        return feedBackDTOS;
+        return feedBackMapper.toDTOList(feedBacks);
 
     }
 
@@ -81,17 +75,14 @@ public class FeedBackServiceIMPL implements FeedBackService {
         FeedBack existingRequest = feedBackRepo.findById(updateDTO.getFeedbackId())
                 .orElseThrow(() -> new RuntimeException("Feedback not found"));
 
-        // Copy properties from DTO to entity (excluding any you want to preserve like ID/status)
-        BeanUtils.copyProperties(updateDTO, existingRequest, "status"); // "status" if exists
+        // Copy properties from DTO to entity (the ID is preserved)
+        feedBackMapper.updateEntity(updateDTO, existingRequest);
 
         // Save updated entity
         FeedBack updatedFeedBack = feedBackRepo.save(existingRequest);
 
         // Convert entity to DTO
-        FeedBackDTO responseDTO = new FeedBackDTO();
-        BeanUtils.copyProperties(updatedFeedBack, responseDTO);
-
-        return responseDTO;
+        return feedBackMapper.toDTO(updatedFeedBack);
     }
 
 
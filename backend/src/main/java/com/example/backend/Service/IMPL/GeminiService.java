@@ -2,75 +2,178 @@ package com.example.backend.Service.IMPL;
 
 
 import com.example.backend.Controller.RecyclingResponse;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.example.backend.Service.AnalysisProvider;
+import com.example.backend.utill.AnalysisCacheManager;
+import com.example.backend.utill.AnalysisResultCache;
+import com.example.backend.utill.GeminiImageRequestBody;
+import com.example.backend.utill.ImagePreprocessor;
+import com.example.backend.utill.OutboundHttpClients;
+import com.example.backend.utill.ProviderClient;
+import com.example.backend.utill.ProviderUnavailableException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import okhttp3.*;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.annotation.PostConstruct;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.Base64;
+import java.io.InputStream;
+import java.util.function.BooleanSupplier;
 
 @Service
-public class GeminiService {
+public class GeminiService implements AnalysisProvider {
 
     @Value("${google.gemini.api.key}")
     private String apiKey;
 
-    private final OkHttpClient client = new OkHttpClient();
+    @Value("${google.gemini.api.url:https://generativelanguage.googleapis.com/v1beta/models/gemini-1.5-flash:generateContent}")
+    private String apiUrl;
+
+    @Autowired
+    private AnalysisCacheManager analysisCacheManager;
+
+    @Autowired
+    private OutboundHttpClients outboundHttpClients;
+
+    @Autowired
+    private ImagePreprocessor imagePreprocessor;
+
+    static final String PROMPT = "Identify this item and provide a detailed recycling process for it. Return the response in JSON format with fields: itemName, material, recyclability, and recyclingProcess.";
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private AnalysisResultCache<RecyclingResponse> cache;
+    private ProviderClient geminiClient;
+
+    @PostConstruct
+    public void init() {
+        cache = analysisCacheManager.create("gemini", RecyclingResponse.class);
+        geminiClient = outboundHttpClients.get("gemini");
+    }
+
     public RecyclingResponse analyzeImage(MultipartFile image) throws IOException {
-        // Convert image to base64
-        String base64Image = Base64.getEncoder().encodeToString(image.getBytes());
-
-        // Prepare request body for Gemini API
-        String requestBody = """
-            {
-                "contents": [
-                    {
-                        "parts": [
-                            {
-                                "inlineData": {
-                                    "mimeType": "%s",
-                                    "data": "%s"
-                                }
-                            },
-                            {
-                                "text": "Identify this item and provide a detailed recycling process for it. Return the response in JSON format with fields: itemName, material, recyclability, and recyclingProcess."
-                            }
-                        ]
-                    }
-                ]
+        return analyze(image.getBytes(), image.getOriginalFilename(), image.getContentType());
+    }
+
+    @Override
+    public String getName() {
+        return "gemini";
+    }
+
+    @Override
+    public RecyclingResponse analyze(byte[] content, String fileName, String contentType,
+                                     BooleanSupplier outboundPermit) throws IOException {
+        // Error responses are not cached so a failed call is retried next time
+        return cache.get(content, () -> {
+            if (!outboundPermit.getAsBoolean()) {
+                throw new ProviderUnavailableException("gemini daily quota is used up");
             }
-            """.formatted(image.getContentType(), base64Image);
+            ImagePreprocessor.Prepared prepared = imagePreprocessor.prepare(content, contentType);
+            return callGemini(prepared.getContent(), prepared.getContentType());
+        }, response -> response.getError() == null);
+    }
+
+    private RecyclingResponse callGemini(byte[] image, String contentType) {
+        // The body base64-encodes the image while it is written to the socket
+        RequestBody requestBody = new GeminiImageRequestBody(objectMapper.getFactory(),
+                () -> new ByteArrayInputStream(image), image.length, contentType, PROMPT);
 
         // Make request to Gemini API
         Request request = new Request.Builder()
-                .url("https://generativelanguage.googleapis.com/v1beta/models/gemini-1.5-flash:generateContent?key=" + apiKey)
-                .post(RequestBody.create(requestBody, MediaType.parse("application/json")))
+                .url(apiUrl + "?key=" + apiKey)
+                .post(requestBody)
                 .build();
 
-        try (Response response = client.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                throw new IOException("Unexpected code " + response);
-            }
-
-            String responseBody = response.body().string();
-            JsonNode jsonNode = objectMapper.readTree(responseBody);
-            String content = jsonNode.path("candidates").get(0).path("content").path("parts").get(0).path("text").asText();
-
-            // Parse the JSON response from Gemini
-            JsonNode contentNode = objectMapper.readTree(content);
-            return new RecyclingResponse(
-                    contentNode.path("itemName").asText("Unknown Item"),
-                    contentNode.path("material").asText("Unknown Material"),
-                    contentNode.path("recyclability").asText("Unknown"),
-                    contentNode.path("recyclingProcess").asText("No recycling process available.")
-            );
+        try {
+            return geminiClient.call(request, response -> parseResponse(response));
         } catch (Exception e) {
             return new RecyclingResponse("Error analyzing image: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private RecyclingResponse parseResponse(Response response) throws IOException {
+        if (!response.isSuccessful()) {
+            throw new IOException("Unexpected code " + response);
+        }
+        return readResponse(objectMapper.getFactory(), response.body().byteStream());
+    }
+
+    // Streams candidates[0].content.parts[0].text out of the response, then reads the model's JSON
+    // answer from that text, without building a tree of either document
+    static RecyclingResponse readResponse(JsonFactory jsonFactory, InputStream body) throws IOException {
+        String text = null;
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT
+                    && moveToField(parser, "candidates") && parser.currentToken() == JsonToken.START_ARRAY
+                    && parser.nextToken() == JsonToken.START_OBJECT
+                    && moveToField(parser, "content") && parser.currentToken() == JsonToken.START_OBJECT
+                    && moveToField(parser, "parts") && parser.currentToken() == JsonToken.START_ARRAY
+                    && parser.nextToken() == JsonToken.START_OBJECT
+                    && moveToField(parser, "text")) {
+                text = parser.getValueAsString();
+            }
+        }
+        if (text == null) {
+            throw new IOException("No candidate text in Gemini response");
+        }
+
+        String itemName = "Unknown Item";
+        String material = "Unknown Material";
+        String recyclability = "Unknown";
+        String recyclingProcess = "No recycling process available.";
+
+        // Parse the JSON response from Gemini
+        try (JsonParser parser = jsonFactory.createParser(text)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Gemini answer is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (value.isStructStart()) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "itemName":
+                        itemName = parser.getValueAsString();
+                        break;
+                    case "material":
+                        material = parser.getValueAsString();
+                        break;
+                    case "recyclability":
+                        recyclability = parser.getValueAsString();
+                        break;
+                    case "recyclingProcess":
+                        recyclingProcess = parser.getValueAsString();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return new RecyclingResponse(itemName, material, recyclability, recyclingProcess);
+    }
+
+    // Advances inside the current object to the value of the given field, skipping the others
+    private static boolean moveToField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (name.equals(field)) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.Service.ImageStoreService;
+import com.example.backend.utill.ImageHashes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed image store on the local filesystem. Files are named by the SHA-256 of their
+ * bytes and spread over 256 sub-directories, so the same photo uploaded twice is stored once.
+ */
+@Service
+public class ImageStoreServiceIMPL implements ImageStoreService {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public ImageStoreServiceIMPL(@Value("${complains.image-store.dir:uploads/complain-images}") String directory) {
+        this.root = Paths.get(directory).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String store(byte[] content) throws IOException {
+        String hash = ImageHashes.sha256Hex(content);
+        Path target = pathFor(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+
+        // Write to a temp file next to the target and move it in place, so readers never see half a file
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Same content stored concurrently by another request
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return hash;
+    }
+
+    @Override
+    public Path resolve(String hash) {
+        if (hash == null || !SHA256_HEX.matcher(hash).matches()) {
+            return null;
+        }
+        Path path = pathFor(hash);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    @Override
+    public String probeContentType(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            String contentType = URLConnection.guessContentTypeFromStream(in);
+            return contentType != null ? contentType : "application/octet-stream";
+        }
+    }
+
+    private Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+}
@@ -6,6 +6,7 @@ import com.example.backend.DTO.LoginResponse;
 import com.example.backend.Repo.UserRepo;
 import com.example.backend.entity.User;
 import com.example.backend.utill.JwtUtil;
+import com.example.backend.utill.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -31,16 +32,26 @@ public class JwtService implements UserDetailsService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cachedUser = userDetailsCache.get(username);
+        if (cachedUser != null) {
+            return cachedUser;
+        }
+
         User user = userRepo.findById(username).orElse(null);
 
         if (user != null) {
-            return new org.springframework.security.core.userdetails.User(
+            UserDetails userDetails = new org.springframework.security.core.userdetails.User(
                     user.getUserName(),
                     user.getUserPassword(),
                     getAuthority(user)
             );
+            userDetailsCache.put(userDetails);
+            return userDetails;
         } else {
             throw new UsernameNotFoundException("User not found with username: " + username);
         }
@@ -0,0 +1,316 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.Controller.RecyclingResponse;
+import com.example.backend.DTO.RouterStatsDTO;
+import com.example.backend.Service.AnalysisProvider;
+import com.example.backend.Service.ProviderRouterService;
+import com.example.backend.utill.CircuitBreaker;
+import com.example.backend.utill.OutboundHttpClients;
+import com.example.backend.utill.ProviderClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Sends an image to the provider that currently looks best (lowest p95, weighed by recent errors) and,
+// if it has not answered after hedge-delay-ms, to the next best too. The first usable answer wins; the
+// slower call finishes in the background and still fills that provider's result cache. If every call
+// started so far failed, the remaining providers are tried one after another. Quota is only charged
+// when a provider's cache missed and it is about to make a real call.
+@Service
+public class ProviderRouterServiceIMPL implements ProviderRouterService {
+
+    private static final int ERROR_WINDOW = 50;
+
+    @Autowired
+    private List<AnalysisProvider> providers;
+
+    @Autowired
+    private OutboundHttpClients outboundHttpClients;
+
+    @Autowired
+    private ThreadPoolExecutor providerCallExecutor;
+
+    @Autowired
+    private Environment environment;
+
+    // Negative disables hedging
+    @Value("${recycling.router.hedge-delay-ms:1500}")
+    private long hedgeDelayMillis;
+
+    @Value("${recycling.router.timeout-ms:45000}")
+    private long timeoutMillis;
+
+    // Added to the p95 (in ms) per 1% of errors, so a fast but failing provider ranks low
+    @Value("${recycling.router.error-penalty-ms:100}")
+    private double errorPenaltyMillis;
+
+    private final Map<String, ProviderState> states = new ConcurrentHashMap<>();
+
+    @Override
+    public RecyclingResponse analyze(byte[] image, String fileName, String contentType) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<AnalysisProvider> ranked = rank();
+        List<CompletableFuture<Outcome>> calls = new ArrayList<>();
+
+        if (ranked.isEmpty()) {
+            return new RecyclingResponse("No analysis provider available right now, try again later");
+        }
+        CompletableFuture<Outcome> primary = start(ranked.get(0), image, fileName, contentType, false);
+        int next = 1;
+        calls.add(primary);
+
+        if (hedgeDelayMillis >= 0 && next < ranked.size()) {
+            Outcome early = await(primary, hedgeDelayMillis);
+            if (early != null && early.isSuccess()) {
+                return win(early);
+            }
+            // Primary is slow or already failed: bring in the next provider
+            CompletableFuture<Outcome> hedge = null;
+            while (hedge == null && next < ranked.size()) {
+                hedge = start(ranked.get(next++), image, fileName, contentType, true);
+            }
+            if (hedge != null) {
+                calls.add(hedge);
+            }
+        }
+
+        Outcome outcome = await(firstSuccessful(calls), remainingMillis(deadline));
+        while (outcome != null && !outcome.isSuccess() && next < ranked.size()) {
+            CompletableFuture<Outcome> fallback = start(ranked.get(next++), image, fileName, contentType, false);
+            if (fallback != null) {
+                outcome = await(fallback, remainingMillis(deadline));
+            }
+        }
+        if (outcome == null) {
+            return new RecyclingResponse("Error analyzing image: no provider answered in time");
+        }
+        return outcome.isSuccess() ? win(outcome) : outcome.response;
+    }
+
+    @Override
+    public List<RouterStatsDTO> getStats() {
+        List<RouterStatsDTO> stats = new ArrayList<>();
+        for (AnalysisProvider provider : providers) {
+            ProviderState state = state(provider);
+            stats.add(new RouterStatsDTO(
+                    provider.getName(),
+                    isAvailable(provider),
+                    client(provider).getLatency().percentile(95),
+                    state.errorRate(),
+                    state.primaryCalls.sum(),
+                    state.hedgedCalls.sum(),
+                    state.wins.sum(),
+                    state.quotaUsedToday(),
+                    state.dailyQuota
+            ));
+        }
+        return stats;
+    }
+
+    // A provider out of quota stays in the ranking: it can still answer from its cache for free, and on
+    // a miss it refuses the call and the next provider takes over
+    private List<AnalysisProvider> rank() {
+        List<AnalysisProvider> available = new ArrayList<>();
+        for (AnalysisProvider provider : providers) {
+            if (client(provider).getCircuitBreaker().getState() != CircuitBreaker.State.OPEN) {
+                available.add(provider);
+            }
+        }
+        available.sort(Comparator.comparingDouble(this::score));
+        return available;
+    }
+
+    private double score(AnalysisProvider provider) {
+        // A provider without latency data yet scores 0 so it gets tried
+        long p95 = Math.max(0, client(provider).getLatency().percentile(95));
+        return p95 + state(provider).errorRate() * 100 * errorPenaltyMillis;
+    }
+
+    private boolean isAvailable(AnalysisProvider provider) {
+        return client(provider).getCircuitBreaker().getState() != CircuitBreaker.State.OPEN
+                && state(provider).hasQuota();
+    }
+
+    private CompletableFuture<Outcome> start(AnalysisProvider provider, byte[] image, String fileName,
+                                             String contentType, boolean hedge) {
+        ProviderState state = state(provider);
+        try {
+            CompletableFuture<Outcome> call = CompletableFuture.supplyAsync(
+                    () -> call(provider, state, image, fileName, contentType), providerCallExecutor);
+            (hedge ? state.hedgedCalls : state.primaryCalls).increment();
+            return call;
+        } catch (RejectedExecutionException e) {
+            if (!hedge) {
+                // Pool saturated: the request thread makes the primary call itself, without a hedge
+                state.primaryCalls.increment();
+                return CompletableFuture.completedFuture(call(provider, state, image, fileName, contentType));
+            }
+            return null;
+        }
+    }
+
+    private Outcome call(AnalysisProvider provider, ProviderState state, byte[] image, String fileName, String contentType) {
+        RecyclingResponse response;
+        boolean[] refused = new boolean[1];
+        try {
+            // Asked by the provider only after its cache missed, so cached answers cost no quota
+            response = provider.analyze(image, fileName, contentType, () -> {
+                refused[0] = !state.tryConsumeQuota();
+                return !refused[0];
+            });
+        } catch (IOException | RuntimeException e) {
+            response = new RecyclingResponse("Error analyzing image: " + e.getMessage());
+        }
+        Outcome outcome = new Outcome(state, response);
+        // Running out of quota says nothing about the provider's health
+        if (!refused[0]) {
+            state.record(outcome.isSuccess());
+        }
+        return outcome;
+    }
+
+    private static CompletableFuture<Outcome> firstSuccessful(List<CompletableFuture<Outcome>> calls) {
+        CompletableFuture<Outcome> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(calls.size());
+        for (CompletableFuture<Outcome> call : calls) {
+            call.whenComplete((outcome, error) -> {
+                if (outcome != null && outcome.isSuccess()) {
+                    winner.complete(outcome);
+                } else if (pending.decrementAndGet() == 0) {
+                    // Everyone failed, report the last failure
+                    winner.complete(outcome != null ? outcome
+                            : new Outcome(null, new RecyclingResponse("Error analyzing image: " + error.getMessage())));
+                }
+            });
+        }
+        return winner;
+    }
+
+    private static long remainingMillis(long deadline) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    private static Outcome await(CompletableFuture<Outcome> future, long millis) {
+        try {
+            return future.get(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (TimeoutException e) {
+            return null;
+        } catch (ExecutionException | CompletionException e) {
+            return new Outcome(null, new RecyclingResponse("Error analyzing image: " + e.getCause().getMessage()));
+        }
+    }
+
+    private static RecyclingResponse win(Outcome outcome) {
+        if (outcome.state != null) {
+            outcome.state.wins.increment();
+        }
+        return outcome.response;
+    }
+
+    private ProviderClient client(AnalysisProvider provider) {
+        return outboundHttpClients.get(provider.getName());
+    }
+
+    private ProviderState state(AnalysisProvider provider) {
+        return states.computeIfAbsent(provider.getName(), name -> new ProviderState(
+                environment.getProperty("recycling.router." + name + ".daily-quota", Long.class, 0L)));
+    }
+
+    private static final class Outcome {
+        private final ProviderState state;
+        private final RecyclingResponse response;
+
+        private Outcome(ProviderState state, RecyclingResponse response) {
+            this.state = state;
+            this.response = response;
+        }
+
+        private boolean isSuccess() {
+            return response != null && response.getError() == null;
+        }
+    }
+
+    private static final class ProviderState {
+        private final long dailyQuota;
+        private final boolean[] failures = new boolean[ERROR_WINDOW];
+        private int recorded;
+        private int next;
+        private int failureCount;
+        private LocalDate quotaDay = LocalDate.now();
+        private long quotaUsed;
+
+        private final LongAdder primaryCalls = new LongAdder();
+        private final LongAdder hedgedCalls = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+
+        private ProviderState(long dailyQuota) {
+            this.dailyQuota = dailyQuota;
+        }
+
+        private synchronized boolean hasQuota() {
+            rollQuotaDay();
+            return dailyQuota <= 0 || quotaUsed < dailyQuota;
+        }
+
+        private synchronized boolean tryConsumeQuota() {
+            if (!hasQuota()) {
+                return false;
+            }
+            quotaUsed++;
+            return true;
+        }
+
+        private synchronized long quotaUsedToday() {
+            rollQuotaDay();
+            return quotaUsed;
+        }
+
+        private void rollQuotaDay() {
+            LocalDate today = LocalDate.now();
+            if (!today.equals(quotaDay)) {
+                quotaDay = today;
+                quotaUsed = 0;
+            }
+        }
+
+        private synchronized void record(boolean success) {
+            if (recorded == failures.length) {
+                if (failures[next]) {
+                    failureCount--;
+                }
+            } else {
+                recorded++;
+            }
+            failures[next] = !success;
+            if (!success) {
+                failureCount++;
+            }
+            next = (next + 1) % failures.length;
+        }
+
+        private synchronized double errorRate() {
+            return recorded == 0 ? 0d : (double) failureCount / recorded;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.Controller.RecyclingResponse;
+import com.example.backend.DTO.CatalogueMatchDTO;
+import com.example.backend.DTO.ExternalCallStatsDTO;
+import com.example.backend.Service.RecyclingCatalogueService;
+import com.example.backend.utill.AnalysisCacheManager;
+import com.example.backend.utill.RecyclingCatalogue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class RecyclingCatalogueServiceIMPL implements RecyclingCatalogueService {
+
+    @Autowired
+    private RecyclingCatalogue recyclingCatalogue;
+
+    @Autowired
+    private AnalysisCacheManager analysisCacheManager;
+
+    @Value("${recycling.catalogue.search-min-score:0.3}")
+    private double searchMinScore;
+
+    // Higher bar when the answer replaces an AI call instead of being a suggestion
+    @Value("${recycling.catalogue.answer-min-score:0.55}")
+    private double answerMinScore;
+
+    private final LongAdder catalogueHits = new LongAdder();
+
+    @Override
+    public List<CatalogueMatchDTO> search(String query, int limit) {
+        List<CatalogueMatchDTO> results = new ArrayList<>();
+        for (RecyclingCatalogue.Match match : recyclingCatalogue.search(query, limit, searchMinScore)) {
+            RecyclingResponse response = match.toResponse();
+            results.add(new CatalogueMatchDTO(
+                    response.getItemName(),
+                    match.getMatchedName(),
+                    response.getMaterial(),
+                    response.getRecyclability(),
+                    response.getRecyclingProcess(),
+                    match.getScore()
+            ));
+        }
+        return results;
+    }
+
+    @Override
+    public RecyclingResponse answerLocally(String hint) {
+        if (hint == null || hint.isBlank()) {
+            return null;
+        }
+        List<RecyclingCatalogue.Match> matches = recyclingCatalogue.search(hint, 1, answerMinScore);
+        if (matches.isEmpty()) {
+            return null;
+        }
+        catalogueHits.increment();
+        return matches.get(0).toResponse();
+    }
+
+    @Override
+    public ExternalCallStatsDTO getExternalCallStats() {
+        // Every analysis that reached a provider service went through the result cache,
+        // and each loader call there is one external call
+        long cacheRequests = analysisCacheManager.getRequests();
+        long externalCalls = analysisCacheManager.getLoads();
+        return new ExternalCallStatsDTO(catalogueHits.sum(), cacheRequests - externalCalls, externalCalls);
+    }
+}
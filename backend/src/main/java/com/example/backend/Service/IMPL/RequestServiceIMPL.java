@@ -2,33 +2,44 @@
 package com.example.backend.Service.IMPL;
 
 import com.example.backend.DTO.RequestServiceDTO;
+import com.example.backend.DTO.RequestServicePageDTO;
 import com.example.backend.DTO.updateController.RequestStatusUpdateDTO;
 import com.example.backend.DTO.updateController.RequestUpdateUserDTO;
 import com.example.backend.Repo.RequestServiceRepo;
+import com.example.backend.Repo.projection.RequestServiceView;
 import com.example.backend.Service.RequestService;
 import com.example.backend.entity.RequestServiceEntity;
 import com.example.backend.entity.enums.RequestStatus;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
-import org.springframework.beans.BeanUtils;
+import com.example.backend.mapper.RequestServiceMapper;
+import com.example.backend.utill.ZoneIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class RequestServiceIMPL implements RequestService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private RequestServiceRepo repo;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private RequestServiceMapper requestServiceMapper;
+
+    @Autowired
+    private ZoneIndex zoneIndex;
 
     public String saveRequest(RequestServiceDTO dto) {
         RequestServiceEntity entity = new RequestServiceEntity();
@@ -56,6 +67,13 @@ public class RequestServiceIMPL implements RequestService {
         // Ensure numberOfCleaners is set correctly
         entity.setNumberOfCleaners(dto.getNumberOfCleaners());
 
+        // Coordinates decide the zone; without them a zone picked by the user is kept
+        entity.setLatitude(dto.getLatitude());
+        entity.setLongitude(dto.getLongitude());
+        entity.setZoneId(dto.getLatitude() != null && dto.getLongitude() != null
+                ? zoneIndex.locateId(dto.getLatitude(), dto.getLongitude())
+                : dto.getZoneId());
+
         // Save entity
         repo.save(entity);
 
@@ -89,10 +107,77 @@ public class RequestServiceIMPL implements RequestService {
     public List<RequestServiceDTO> getAllRequest() {
         List<RequestServiceEntity> requests = repo.findAll();
 
-        List<RequestServiceDTO> requestDTOS = modelMapper.map(requests,new TypeToken<List<RequestServiceDTO>>(){}.getType());
-        return requestDTOS;
+        return requestServiceMapper.toDTOList(requests);
     }
 
+    @Override
+    public RequestServicePageDTO getRequestPage(String cursor, int size, RequestStatus status, String eventType,
+                                                LocalDate eventDateFrom, LocalDate eventDateTo, Long zoneId) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        LocalDateTime afterDate = null;
+        Integer afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            afterDate = LocalDateTime.parse(parts[0]);
+            afterId = Integer.valueOf(parts[1]);
+        }
+
+        // Fetch one extra row to find out whether another page exists
+        List<RequestServiceView> rows = repo.findPage(status, eventType, eventDateFrom, eventDateTo, zoneId,
+                afterDate, afterId, PageRequest.of(0, pageSize + 1));
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            RequestServiceView last = rows.get(pageSize - 1);
+            nextCursor = encodeCursor(last.getRequestDate(), last.getRequestId());
+        }
+
+        List<RequestServiceDTO> items = rows.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+        return new RequestServicePageDTO(items, nextCursor);
+    }
+
+    private RequestServiceDTO toDTO(RequestServiceView view) {
+        RequestServiceDTO dto = new RequestServiceDTO();
+        dto.setRequestId(view.getRequestId());
+        dto.setRequesterName(view.getRequesterName());
+        dto.setEmail(view.getEmail());
+        dto.setContactNumbers(requestServiceMapper.joinContactNumbers(view.getContactNumbers()));
+        dto.setEventType(view.getEventType());
+        dto.setLocation(view.getLocation());
+        dto.setEventDate(view.getEventDate());
+        dto.setEventTime(view.getEventTime());
+        dto.setStatus(view.getStatus());
+        dto.setNumberOfCleaners(view.getNumberOfCleaners());
+        dto.setEstimatedDuration(view.getEstimatedDuration());
+        dto.setLatitude(view.getLatitude());
+        dto.setLongitude(view.getLongitude());
+        dto.setZoneId(view.getZoneId());
+        return dto;
+    }
+
+    private String encodeCursor(LocalDateTime requestDate, Integer requestId) {
+        String raw = requestDate + "|" + requestId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime.parse(parts[0]);
+            Integer.parseInt(parts[1]);
+            return parts;
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
 
     @Transactional
     public RequestServiceDTO updateRequestStatus(Integer requestId, RequestStatusUpdateDTO updateDTO) {
@@ -102,10 +187,7 @@ public class RequestServiceIMPL implements RequestService {
         existingRequest.setStatus(updateDTO.getStatus());
         RequestServiceEntity updatedRequest = repo.save(existingRequest);
 
-        // Ensure the ID is included in the returned DTO
-        RequestServiceDTO dto = modelMapper.map(updatedRequest, RequestServiceDTO.class);
-        dto.setRequestId(updatedRequest.getRequestId()); // Explicitly set the ID
-        return dto;
+        return requestServiceMapper.toDTO(updatedRequest);
     }
 
 
@@ -125,16 +207,13 @@ public class RequestServiceIMPL implements RequestService {
                 .orElseThrow(() -> new RuntimeException("Request not found"));
 
         // Copy non-null properties from DTO to existing request
-        BeanUtils.copyProperties(updateDTO, existingRequest, "status");
+        requestServiceMapper.updateEntity(updateDTO, existingRequest);
 
         // Save updated request
         RequestServiceEntity updatedRequest = repo.save(existingRequest);
 
         // Convert to DTO
-        RequestServiceDTO responseDTO = new RequestServiceDTO();
-        BeanUtils.copyProperties(updatedRequest, responseDTO);
-
-        return responseDTO;
+        return requestServiceMapper.toDTO(updatedRequest);
     }
 
 }
\ No newline at end of file
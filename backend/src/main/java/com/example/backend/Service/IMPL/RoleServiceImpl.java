@@ -4,6 +4,7 @@ package com.example.backend.Service.IMPL;
 import com.example.backend.Repo.RoleRepo;
 import com.example.backend.Service.RoleService;
 import com.example.backend.entity.Role;
+import com.example.backend.utill.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,11 +14,17 @@ public class RoleServiceImpl implements RoleService {
     @Autowired
     private RoleRepo repo;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     @Override
     public Role createNewRole(Role role) {
         if (repo.existsById(role.getRoleName())) {
             throw new RuntimeException("Role already exists: " + role.getRoleName());
         }
-        return repo.save(role);
+        Role savedRole = repo.save(role);
+        // Cached authorities may refer to roles as they were before
+        userDetailsCache.evictAll();
+        return savedRole;
     }
 }
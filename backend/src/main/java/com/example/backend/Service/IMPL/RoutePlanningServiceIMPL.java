@@ -0,0 +1,172 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.DTO.BinLocationDTO;
+import com.example.backend.DTO.DepotDTO;
+import com.example.backend.DTO.RoutePlanDTO;
+import com.example.backend.DTO.RoutePlanRequestDTO;
+import com.example.backend.DTO.TruckRouteDTO;
+import com.example.backend.Service.RoutePlanningService;
+import com.example.backend.entity.BinLocation.BinStatus;
+import com.example.backend.entity.BinLocation.WasteType;
+import com.example.backend.utill.BinSpatialIndex;
+import com.example.backend.utill.PlanarProjection;
+import com.example.backend.utill.RoutePlanner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+@Service
+public class RoutePlanningServiceIMPL implements RoutePlanningService {
+
+    private static final Set<BinStatus> DEFAULT_STATUSES = EnumSet.of(BinStatus.FULL, BinStatus.HALF_FULL);
+
+    @Autowired
+    private BinSpatialIndex binSpatialIndex;
+
+    @Autowired
+    @Qualifier("planningPool")
+    private ForkJoinPool planningPool;
+
+    // Nearest stops each stop tries 2-opt and Or-opt moves against
+    @Value("${routing.neighbours:10}")
+    private int neighbours;
+
+    // Sweeps started at different angles, run in parallel; the shortest plan wins
+    @Value("${routing.restarts:4}")
+    private int restarts;
+
+    @Value("${routing.max-stops:20000}")
+    private int maxStops;
+
+    @Value("${routing.max-trucks:500}")
+    private int maxTrucks;
+
+    @Value("${routing.max-depots:50}")
+    private int maxDepots;
+
+    // Bins and their planar coordinates for the last filter asked for, reused until the index changes
+    private volatile StopSet lastStops;
+
+    @Override
+    public RoutePlanDTO planRoutes(RoutePlanRequestDTO request) {
+        long start = System.currentTimeMillis();
+        List<DepotDTO> depots = request.getDepots();
+        if (depots == null || depots.isEmpty() || depots.size() > maxDepots) {
+            throw new IllegalArgumentException("Between 1 and " + maxDepots + " depots are required");
+        }
+        for (DepotDTO depot : depots) {
+            if (depot.getLatitude() == null || depot.getLongitude() == null
+                    || Math.abs(depot.getLatitude()) > 90 || Math.abs(depot.getLongitude()) > 180) {
+                throw new IllegalArgumentException("Every depot needs a valid latitude and longitude");
+            }
+        }
+        int trucks = request.getTrucks() != null ? request.getTrucks() : 1;
+        if (trucks < 1 || trucks > maxTrucks) {
+            throw new IllegalArgumentException("Trucks must be between 1 and " + maxTrucks);
+        }
+        if (request.getCapacity() == null || request.getCapacity() < 1) {
+            throw new IllegalArgumentException("Capacity must be at least one bin");
+        }
+        Set<BinStatus> statuses = request.getStatuses() == null || request.getStatuses().isEmpty()
+                ? DEFAULT_STATUSES : EnumSet.copyOf(request.getStatuses());
+
+        StopSet stops = stopsFor(request.getWasteType(), statuses);
+        if (stops.entries.size() > maxStops) {
+            throw new IllegalArgumentException(stops.entries.size() + " bins match, at most " + maxStops
+                    + " can be planned at once; narrow the filter");
+        }
+        if (stops.entries.isEmpty()) {
+            return new RoutePlanDTO(0, 0, new ArrayList<>(), new ArrayList<>(), System.currentTimeMillis() - start);
+        }
+
+        double[] depotX = new double[depots.size()];
+        double[] depotY = new double[depots.size()];
+        for (int i = 0; i < depots.size(); i++) {
+            depotX[i] = stops.projection.x(depots.get(i).getLongitude());
+            depotY[i] = stops.projection.y(depots.get(i).getLatitude());
+        }
+
+        RoutePlanner planner = new RoutePlanner(neighbours, restarts, planningPool);
+        RoutePlanner.Plan plan = planner.plan(depotX, depotY, stops.x, stops.y, trucks, request.getCapacity());
+
+        List<TruckRouteDTO> routes = new ArrayList<>(plan.getRoutes().size());
+        for (RoutePlanner.Route route : plan.getRoutes()) {
+            List<BinLocationDTO> routeStops = new ArrayList<>(route.getStops().length);
+            for (int stop : route.getStops()) {
+                routeStops.add(toDto(stops.entries.get(stop)));
+            }
+            routes.add(new TruckRouteDTO(routes.size() + 1, depots.get(route.getDepot()), route.getLength(), routeStops));
+        }
+        List<Long> unserved = new ArrayList<>(plan.getUnserved().length);
+        for (int stop : plan.getUnserved()) {
+            unserved.add(stops.entries.get(stop).getId());
+        }
+        return new RoutePlanDTO(stops.entries.size(), plan.getTotalLength(), routes, unserved,
+                System.currentTimeMillis() - start);
+    }
+
+    private StopSet stopsFor(WasteType wasteType, Set<BinStatus> statuses) {
+        // Read the version first: a change that lands while selecting only makes the cache look older
+        long version = binSpatialIndex.getVersion();
+        StopSet cached = lastStops;
+        if (cached != null && cached.version == version && cached.wasteType == wasteType
+                && cached.statuses.equals(statuses)) {
+            return cached;
+        }
+        StopSet stops = new StopSet(version, wasteType, statuses, binSpatialIndex.select(wasteType, statuses));
+        lastStops = stops;
+        return stops;
+    }
+
+    private BinLocationDTO toDto(BinSpatialIndex.Entry entry) {
+        return new BinLocationDTO(
+                entry.getId(),
+                entry.getAddress(),
+                entry.getLatitude(),
+                entry.getLongitude(),
+                entry.getWasteType(),
+                entry.getStatus(),
+                entry.getLastUpdated(),
+                entry.getFillLevel(),
+                entry.getBatteryLevel(),
+                entry.getZoneId()
+        );
+    }
+
+    // Stops projected onto a plane around their mean latitude, so every distance in the planner is a single sqrt
+    private static final class StopSet {
+        private final long version;
+        private final WasteType wasteType;
+        private final Set<BinStatus> statuses;
+        private final List<BinSpatialIndex.Entry> entries;
+        private final PlanarProjection projection;
+        private final double[] x;
+        private final double[] y;
+
+        private StopSet(long version, WasteType wasteType, Set<BinStatus> statuses, List<BinSpatialIndex.Entry> entries) {
+            this.version = version;
+            this.wasteType = wasteType;
+            this.statuses = Objects.requireNonNull(statuses);
+            this.entries = entries;
+            double latitudeSum = 0;
+            for (BinSpatialIndex.Entry entry : entries) {
+                latitudeSum += entry.getLatitude();
+            }
+            this.projection = new PlanarProjection(entries.isEmpty() ? 0 : latitudeSum / entries.size());
+            this.x = new double[entries.size()];
+            this.y = new double[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                x[i] = projection.x(entries.get(i).getLongitude());
+                y[i] = projection.y(entries.get(i).getLatitude());
+            }
+        }
+    }
+}
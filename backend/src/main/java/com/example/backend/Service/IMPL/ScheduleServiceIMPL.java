@@ -1,14 +1,19 @@
 package com.example.backend.Service.IMPL;
 
+import com.example.backend.DTO.ScheduleChangesDTO;
 import com.example.backend.DTO.ScheduleDTO;
 import com.example.backend.Repo.ScheduleRepo;
 import com.example.backend.Service.ScheduleService;
+import com.example.backend.Service.SyncService;
 import com.example.backend.entity.Schedule;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import com.example.backend.entity.SyncTombstone;
+import com.example.backend.mapper.ScheduleMapper;
+import com.example.backend.utill.ZoneIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -18,7 +23,13 @@ public class ScheduleServiceIMPL implements ScheduleService {
     private ScheduleRepo scheduleRepo;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ScheduleMapper scheduleMapper;
+
+    @Autowired
+    private ZoneIndex zoneIndex;
+
+    @Autowired
+    private SyncService syncService;
 
     @Override
     public String saveSchedule(ScheduleDTO scheduleDTO) {
@@ -32,10 +43,15 @@ public class ScheduleServiceIMPL implements ScheduleService {
                 scheduleDTO.getDate(),
                 scheduleDTO.getTime(),
                 scheduleDTO.getLocation(),
-                scheduleDTO.getWasteType()
+                scheduleDTO.getWasteType(),
+                scheduleDTO.getLatitude(),
+                scheduleDTO.getLongitude(),
+                zoneFor(scheduleDTO),
+                null
         );
 
         scheduleRepo.save(schedule);
+        syncService.schedulesChanged();
         return "Schedule saved successfully";
     }
 
@@ -43,15 +59,15 @@ public class ScheduleServiceIMPL implements ScheduleService {
     public List<ScheduleDTO> getAllSchedules() {
         List<Schedule> schedules = scheduleRepo.findAll();
 
-        List<ScheduleDTO> scheduleDTOS = modelMapper.map(schedules, new TypeToken<List<ScheduleDTO>>() {
-        }.getType());
-        return scheduleDTOS;
+        return scheduleMapper.toDTOList(schedules);
     }
 
     @Override
     public String deleteSchedule(Long scheduleId) {
         if (scheduleRepo.existsById(scheduleId)) {
             scheduleRepo.deleteById(scheduleId);
+            syncService.recordDeletion(SyncService.SCHEDULES, scheduleId);
+            syncService.schedulesChanged();
             return scheduleId + " Deleted Successfully";
         } else {
             throw new RuntimeException("Schedule not found");
@@ -71,10 +87,43 @@ public class ScheduleServiceIMPL implements ScheduleService {
         }
 
         // Save the updated schedule
-        Schedule schedule = modelMapper.map(scheduleDTO, Schedule.class);
+        Schedule schedule = scheduleMapper.toEntity(scheduleDTO);
+        schedule.setZoneId(zoneFor(scheduleDTO));
         Schedule savedSchedule = scheduleRepo.save(schedule);
+        syncService.schedulesChanged();
 
         // Return the updated schedule as DTO
-        return modelMapper.map(savedSchedule, ScheduleDTO.class);
+        return scheduleMapper.toDTO(savedSchedule);
+    }
+
+    @Override
+    public ScheduleChangesDTO getScheduleChanges(LocalDateTime since) {
+        boolean full = syncService.needsFullSync(since);
+        List<Schedule> changed = full ? scheduleRepo.findAll() : scheduleRepo.findByChangedAtGreaterThanEqual(since);
+        List<Long> deleted = new ArrayList<>();
+        LocalDateTime newest = null;
+        for (Schedule schedule : changed) {
+            newest = later(newest, schedule.getChangedAt());
+        }
+        if (!full) {
+            for (SyncTombstone tombstone : syncService.getTombstones(SyncService.SCHEDULES, since)) {
+                deleted.add(tombstone.getEntityId());
+                newest = later(newest, tombstone.getDeletedAt());
+            }
+        }
+        return new ScheduleChangesDTO(full, syncService.nextSince(full ? null : since, newest),
+                scheduleMapper.toDTOList(changed), deleted);
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        return a == null || (b != null && b.isAfter(a)) ? b : a;
+    }
+
+    // Coordinates decide the zone; without them a zone picked by the user is kept
+    private Long zoneFor(ScheduleDTO scheduleDTO) {
+        if (scheduleDTO.getLatitude() != null && scheduleDTO.getLongitude() != null) {
+            return zoneIndex.locateId(scheduleDTO.getLatitude(), scheduleDTO.getLongitude());
+        }
+        return scheduleDTO.getZoneId();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.Repo.SyncTombstoneRepo;
+import com.example.backend.Service.SyncService;
+import com.example.backend.entity.SyncTombstone;
+import com.example.backend.utill.BinSpatialIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class SyncServiceIMPL implements SyncService {
+
+    @Autowired
+    private SyncTombstoneRepo syncTombstoneRepo;
+
+    @Autowired
+    private BinSpatialIndex binSpatialIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    // A row stamped just before the newest one seen may commit just after the poll that saw it
+    @Value("${sync.overlap-seconds:10}")
+    private int overlapSeconds;
+
+    // Versions restart with the process, so ETags carry a per-boot prefix
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong scheduleVersion = new AtomicLong();
+    private ScheduledExecutorService purgeScheduler;
+
+    @PostConstruct
+    public void startPurging() {
+        purgeScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sync-tombstone-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purgeScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                jdbcTemplate.update("DELETE FROM sync_tombstones WHERE deleted_at < ?",
+                        LocalDateTime.now().minusDays(tombstoneRetentionDays));
+            } catch (RuntimeException e) {
+                System.err.println("Tombstone purge failed: " + e.getMessage());
+            }
+        }, 1, 60, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stopPurging() {
+        purgeScheduler.shutdownNow();
+    }
+
+    @Override
+    public String getETag(String collection) {
+        long version = BINS.equals(collection) ? binSpatialIndex.getVersion() : scheduleVersion.get();
+        return "\"" + collection + "-" + bootId + "-" + version + "\"";
+    }
+
+    @Override
+    public void schedulesChanged() {
+        scheduleVersion.incrementAndGet();
+    }
+
+    @Override
+    public void recordDeletion(String collection, Long id) {
+        syncTombstoneRepo.save(new SyncTombstone(null, collection, id, null));
+    }
+
+    @Override
+    public List<SyncTombstone> getTombstones(String collection, LocalDateTime since) {
+        return syncTombstoneRepo.findByCollectionAndDeletedAtGreaterThanEqual(collection, since);
+    }
+
+    @Override
+    public boolean needsFullSync(LocalDateTime since) {
+        // A day short of the purge cutoff, so app and database clocks need not agree on the time zone
+        return since == null || since.isBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays - 1L));
+    }
+
+    @Override
+    public LocalDateTime nextSince(LocalDateTime since, LocalDateTime newest) {
+        if (newest == null) {
+            return since;
+        }
+        LocalDateTime next = newest.minusSeconds(overlapSeconds);
+        return since != null && next.isBefore(since) ? since : next;
+    }
+}
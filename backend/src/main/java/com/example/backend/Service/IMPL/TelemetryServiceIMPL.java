@@ -0,0 +1,292 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.DTO.TelemetryStatsDTO;
+import com.example.backend.Service.BinHistoryService;
+import com.example.backend.Service.TelemetryService;
+import com.example.backend.entity.BinLocation.BinStatus;
+import com.example.backend.utill.BinSpatialIndex;
+import com.example.backend.utill.TelemetryGateway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class TelemetryServiceIMPL implements TelemetryService {
+
+    private static final String UPDATE_SQL =
+            "UPDATE bin_locations SET status = ?, fill_level = ?, battery_level = ?, last_updated = ? WHERE id = ?";
+
+    @Autowired
+    private BinSpatialIndex binSpatialIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BinHistoryService binHistoryService;
+
+    @Autowired
+    private ObjectProvider<TelemetryGateway> telemetryGateway;
+
+    @Value("${telemetry.enabled:false}")
+    private boolean enabled;
+
+    @Value("${telemetry.flush-interval-ms:1000}")
+    private long flushIntervalMillis;
+
+    // A bin whose status did not change is still written this often while it keeps reporting
+    @Value("${telemetry.snapshot-interval-minutes:15}")
+    private long snapshotIntervalMinutes;
+
+    @Value("${telemetry.half-full-percent:40}")
+    private int halfFullPercent;
+
+    @Value("${telemetry.full-percent:80}")
+    private int fullPercent;
+
+    // A reading must clear a threshold by this much before the status changes, so noise does not flap it
+    @Value("${telemetry.hysteresis-percent:3}")
+    private int hysteresisPercent;
+
+    // Readings stamped further in the future than this are rejected
+    @Value("${telemetry.max-clock-skew-seconds:300}")
+    private long maxClockSkewSeconds;
+
+    // Latest reading per bin, overwritten in place until it is flushed
+    private final Map<Long, BinTelemetry> bins = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private ScheduledExecutorService flushScheduler;
+
+    private final LongAdder framesAccepted = new LongAdder();
+    private final LongAdder framesRejected = new LongAdder();
+    private final LongAdder unknownBins = new LongAdder();
+    private final LongAdder staleReadings = new LongAdder();
+    private final LongAdder transitionsWritten = new LongAdder();
+    private final LongAdder snapshotsWritten = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private volatile long lastFlushMillis;
+
+    @PostConstruct
+    public void startFlushing() {
+        if (!enabled) {
+            return;
+        }
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "telemetry-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                System.err.println("Telemetry flush failed: " + e.getMessage());
+            }
+        }, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopFlushing() {
+        if (flushScheduler == null) {
+            return;
+        }
+        flushScheduler.shutdown();
+        try {
+            flushScheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Status changes still held in memory would otherwise be lost
+        flush();
+    }
+
+    @Override
+    public void onReading(long binId, int fillPercent, int batteryPercent, long epochSeconds) {
+        if (epochSeconds > Instant.now().getEpochSecond() + maxClockSkewSeconds) {
+            framesRejected.increment();
+            return;
+        }
+        BinTelemetry telemetry = bins.get(binId);
+        if (telemetry == null) {
+            if (binSpatialIndex.get(binId) == null) {
+                unknownBins.increment();
+                return;
+            }
+            telemetry = bins.computeIfAbsent(binId, id -> new BinTelemetry());
+        }
+        // Every reading goes to the history, even one that arrived after a newer one
+        binHistoryService.append(binId, fillPercent, batteryPercent, epochSeconds);
+        synchronized (telemetry) {
+            if (epochSeconds < telemetry.epochSeconds) {
+                staleReadings.increment();
+                return;
+            }
+            telemetry.fillPercent = fillPercent;
+            telemetry.batteryPercent = batteryPercent;
+            telemetry.epochSeconds = epochSeconds;
+            telemetry.dirty = true;
+        }
+        framesAccepted.increment();
+    }
+
+    @Override
+    public void onRejected() {
+        framesRejected.increment();
+    }
+
+    @Override
+    public int flush() {
+        if (!flushLock.tryLock()) {
+            return 0;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            long snapshotIntervalMillis = TimeUnit.MINUTES.toMillis(snapshotIntervalMinutes);
+            List<Object[]> rows = new ArrayList<>();
+            List<PendingWrite> writes = new ArrayList<>();
+
+            for (Map.Entry<Long, BinTelemetry> entry : bins.entrySet()) {
+                Long binId = entry.getKey();
+                BinTelemetry telemetry = entry.getValue();
+                BinSpatialIndex.Entry current = binSpatialIndex.get(binId);
+                if (current == null) {
+                    // Bin was deleted since it last reported
+                    bins.remove(binId);
+                    continue;
+                }
+                synchronized (telemetry) {
+                    if (!telemetry.dirty) {
+                        continue;
+                    }
+                    BinStatus status = statusFor(telemetry.fillPercent, current.getStatus());
+                    boolean transition = status != current.getStatus();
+                    if (!transition && now - telemetry.lastWrittenMillis < snapshotIntervalMillis) {
+                        continue;
+                    }
+                    LocalDateTime readAt = LocalDateTime.ofInstant(Instant.ofEpochSecond(telemetry.epochSeconds), ZoneId.systemDefault());
+                    PendingWrite write = new PendingWrite(binId, telemetry, status, telemetry.fillPercent,
+                            telemetry.batteryPercent, readAt, transition, telemetry.lastWrittenMillis);
+                    writes.add(write);
+                    rows.add(new Object[]{status.name(), write.fillPercent, write.batteryPercent, Timestamp.valueOf(readAt), binId});
+                    telemetry.dirty = false;
+                    telemetry.lastWrittenMillis = now;
+                }
+            }
+
+            if (!rows.isEmpty()) {
+                try {
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+                } catch (DataAccessException e) {
+                    // Keep the readings for the next flush unless newer ones replaced them meanwhile
+                    for (PendingWrite write : writes) {
+                        synchronized (write.telemetry) {
+                            write.telemetry.dirty = true;
+                            write.telemetry.lastWrittenMillis = write.previousWrittenMillis;
+                        }
+                    }
+                    throw e;
+                }
+                for (PendingWrite write : writes) {
+                    binSpatialIndex.updateTelemetry(write.binId, write.status, write.fillPercent, write.batteryPercent, write.readAt);
+                    (write.transition ? transitionsWritten : snapshotsWritten).increment();
+                }
+            }
+
+            flushes.increment();
+            lastFlushMillis = System.currentTimeMillis() - now;
+            return writes.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public TelemetryStatsDTO getStats() {
+        TelemetryGateway gateway = telemetryGateway.getIfAvailable();
+        return new TelemetryStatsDTO(
+                enabled,
+                gateway != null ? gateway.getOpenConnections() : 0,
+                framesAccepted.sum(),
+                framesRejected.sum(),
+                unknownBins.sum(),
+                staleReadings.sum(),
+                bins.size(),
+                transitionsWritten.sum(),
+                snapshotsWritten.sum(),
+                flushes.sum(),
+                lastFlushMillis,
+                binHistoryService.getDroppedReadings()
+        );
+    }
+
+    private BinStatus statusFor(int fillPercent, BinStatus current) {
+        BinStatus measured = classify(fillPercent, 0);
+        if (current == null || measured == current) {
+            return measured;
+        }
+        // Shift the thresholds against the move, so a reading just across a boundary keeps the current status
+        if (measured.ordinal() > current.ordinal()) {
+            BinStatus confirmed = classify(fillPercent, hysteresisPercent);
+            return confirmed.ordinal() > current.ordinal() ? confirmed : current;
+        }
+        BinStatus confirmed = classify(fillPercent, -hysteresisPercent);
+        return confirmed.ordinal() < current.ordinal() ? confirmed : current;
+    }
+
+    private BinStatus classify(int fillPercent, int shift) {
+        if (fillPercent >= fullPercent + shift) {
+            return BinStatus.FULL;
+        }
+        return fillPercent >= halfFullPercent + shift ? BinStatus.HALF_FULL : BinStatus.EMPTY;
+    }
+
+    private static final class BinTelemetry {
+        private int fillPercent;
+        private int batteryPercent;
+        private long epochSeconds = Long.MIN_VALUE;
+        private boolean dirty;
+        private long lastWrittenMillis;
+    }
+
+    private static final class PendingWrite {
+        private final Long binId;
+        private final BinTelemetry telemetry;
+        private final BinStatus status;
+        private final int fillPercent;
+        private final int batteryPercent;
+        private final LocalDateTime readAt;
+        private final boolean transition;
+        private final long previousWrittenMillis;
+
+        private PendingWrite(Long binId, BinTelemetry telemetry, BinStatus status, int fillPercent, int batteryPercent,
+                             LocalDateTime readAt, boolean transition, long previousWrittenMillis) {
+            this.binId = binId;
+            this.telemetry = telemetry;
+            this.status = status;
+            this.fillPercent = fillPercent;
+            this.batteryPercent = batteryPercent;
+            this.readAt = readAt;
+            this.transition = transition;
+            this.previousWrittenMillis = previousWrittenMillis;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.example.backend.Repo.UserRepo;
 import com.example.backend.Service.UserService;
 import com.example.backend.entity.Role;
 import com.example.backend.entity.User;
+import com.example.backend.utill.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -25,11 +26,16 @@ public class UserServiceIMPL implements UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
 
     @Override
     public User registerNewUser(User user) {
         user.setUserPassword(getEncodedPassword(user.getUserPassword())); // Encode password before saving
-        return userRepo.save(user);
+        User savedUser = userRepo.save(user);
+        userDetailsCache.evict(savedUser.getUserName());
+        return savedUser;
     }
 
 
@@ -84,6 +90,8 @@ public class UserServiceIMPL implements UserService {
             user.setRole(userRoles);
             userRepo.save(user);
         }
+
+        userDetailsCache.evictAll();
     }
 
     public String getEncodedPassword(String password) {
@@ -1,7 +1,15 @@
 package com.example.backend.Service;
 
 
+import com.example.backend.Controller.RecyclingResponse;
 import com.example.backend.DTO.ImageAnalysisResponse;
+import com.example.backend.utill.AnalysisCacheManager;
+import com.example.backend.utill.AnalysisResultCache;
+import com.example.backend.utill.ImagePreprocessor;
+import com.example.backend.utill.MaterialTaxonomy;
+import com.example.backend.utill.OutboundHttpClients;
+import com.example.backend.utill.ProviderClient;
+import com.example.backend.utill.ProviderUnavailableException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -10,15 +18,16 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.annotation.PostConstruct;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.function.BooleanSupplier;
 
 @Service
 @RequiredArgsConstructor
-public class ImageAnalysisService {
+public class ImageAnalysisService implements AnalysisProvider {
 
     @Value("${imagga.api.key}")
     private String imaggaApiKey;
@@ -26,89 +35,110 @@ public class ImageAnalysisService {
     @Value("${imagga.api.secret}")
     private String imaggaApiSecret;
 
-    private final OkHttpClient httpClient = new OkHttpClient();
+    @Value("${imagga.api.url:https://api.imagga.com/v2/tags}")
+    private String imaggaApiUrl;
+
+    private final AnalysisCacheManager analysisCacheManager;
+    private final OutboundHttpClients outboundHttpClients;
+    private final ImagePreprocessor imagePreprocessor;
+    private final MaterialTaxonomy materialTaxonomy;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private AnalysisResultCache<ImageAnalysisResponse> cache;
+    private ProviderClient imaggaClient;
+
+    @PostConstruct
+    public void init() {
+        cache = analysisCacheManager.create("imagga", ImageAnalysisResponse.class);
+        imaggaClient = outboundHttpClients.get("imagga");
+    }
+
     public ImageAnalysisResponse analyzeImage(MultipartFile image) {
+        try {
+            return analyzeImage(image.getBytes(), image.getOriginalFilename());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to analyze image", e);
+        }
+    }
+
+    public ImageAnalysisResponse analyzeImage(byte[] content, String fileName) {
+        return analyzeImage(content, fileName, () -> true);
+    }
+
+    private ImageAnalysisResponse analyzeImage(byte[] content, String fileName, BooleanSupplier outboundPermit) {
+        try {
+            // Same photo uploaded again: answer from the cache instead of paying for another Imagga call.
+            // Only a miss pays for shrinking the photo before it is uploaded.
+            return cache.get(content, () -> {
+                if (!outboundPermit.getAsBoolean()) {
+                    throw new ProviderUnavailableException("imagga daily quota is used up");
+                }
+                return callImagga(imagePreprocessor.prepare(content, "image/*").getContent(), fileName);
+            }, response -> true);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to analyze image", e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "imagga";
+    }
+
+    @Override
+    public RecyclingResponse analyze(byte[] image, String fileName, String contentType, BooleanSupplier outboundPermit) {
+        ImageAnalysisResponse response = analyzeImage(image, fileName, outboundPermit);
+        return new RecyclingResponse(response.getItemName(), response.getMaterial(),
+                response.getRecyclability(), response.getRecyclingProcess());
+    }
+
+    private ImageAnalysisResponse callImagga(byte[] content, String fileName) {
         try {
             // Upload image to Imagga
             String auth = Base64.getEncoder().encodeToString((imaggaApiKey + ":" + imaggaApiSecret).getBytes());
             
             RequestBody requestBody = new MultipartBody.Builder()
                 .setType(MultipartBody.FORM)
-                .addFormDataPart("image", image.getOriginalFilename(),
-                    RequestBody.create(MediaType.parse("image/*"), image.getBytes()))
+                .addFormDataPart("image", fileName,
+                    RequestBody.create(MediaType.parse("image/*"), content))
                 .build();
 
             Request request = new Request.Builder()
-                .url("https://api.imagga.com/v2/tags")
+                .url(imaggaApiUrl)
                 .addHeader("Authorization", "Basic " + auth)
                 .post(requestBody)
                 .build();
 
-            try (Response response = httpClient.newCall(request).execute()) {
+            return imaggaClient.call(request, response -> {
                 if (!response.isSuccessful()) {
                     throw new RuntimeException("Failed to analyze image: " + response.code());
                 }
 
                 JsonNode jsonResponse = objectMapper.readTree(response.body().string());
-                List<String> tags = StreamSupport.stream(jsonResponse.path("result").path("tags").spliterator(), false)
-                    .filter(tag -> tag.path("confidence").asDouble() > 30)
-                    .limit(5)
-                    .map(tag -> tag.path("tag").path("en").asText())
-                    .collect(Collectors.toList());
+                List<String> tags = new ArrayList<>();
+                List<Double> confidences = new ArrayList<>();
+                for (JsonNode tag : jsonResponse.path("result").path("tags")) {
+                    double confidence = tag.path("confidence").asDouble();
+                    if (confidence > 30) {
+                        tags.add(tag.path("tag").path("en").asText());
+                        confidences.add(confidence);
+                    }
+                }
 
-                // For now, return a simple response based on the first tag
+                // Imagga sorts tags by confidence, the first one names the item
                 String mainItem = tags.isEmpty() ? "unknown item" : tags.get(0);
-                
+                MaterialTaxonomy.Material material = materialTaxonomy.classify(tags, confidences);
+
                 return ImageAnalysisResponse.builder()
                     .itemName(mainItem)
-                    .material(determineMaterial(tags))
-                    .recyclability(determineRecyclability(tags))
-                    .recyclingProcess(generateRecyclingProcess(tags))
+                    .material(material.getName())
+                    .recyclability(material.getRecyclability())
+                    .recyclingProcess(material.getRecyclingProcess())
                     .build();
-            }
+            });
         } catch (IOException e) {
             throw new RuntimeException("Failed to analyze image", e);
         }
     }
-
-    private String determineMaterial(List<String> tags) {
-        // Simple logic to determine material - this can be enhanced
-        if (tags.stream().anyMatch(tag -> tag.contains("plastic"))) return "Plastic";
-        if (tags.stream().anyMatch(tag -> tag.contains("metal"))) return "Metal";
-        if (tags.stream().anyMatch(tag -> tag.contains("paper"))) return "Paper";
-        if (tags.stream().anyMatch(tag -> tag.contains("glass"))) return "Glass";
-        return "Unknown material";
-    }
-
-    private String determineRecyclability(List<String> tags) {
-        // Simple logic to determine recyclability - this can be enhanced
-        String material = determineMaterial(tags);
-        switch (material) {
-            case "Plastic":
-            case "Metal":
-            case "Paper":
-            case "Glass":
-                return "Recyclable";
-            default:
-                return "Please check with local recycling guidelines";
-        }
-    }
-
-    private String generateRecyclingProcess(List<String> tags) {
-        String material = determineMaterial(tags);
-        switch (material) {
-            case "Plastic":
-                return "1. Clean the item\n2. Check for recycling symbol\n3. Place in plastic recycling bin";
-            case "Metal":
-                return "1. Clean the item\n2. Remove any non-metal parts\n3. Place in metal recycling bin";
-            case "Paper":
-                return "1. Remove any non-paper materials\n2. Flatten if possible\n3. Place in paper recycling bin";
-            case "Glass":
-                return "1. Clean the item\n2. Remove any non-glass parts\n3. Place in glass recycling bin";
-            default:
-                return "Please consult your local recycling guidelines for proper disposal methods";
-        }
-    }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.example.backend.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface ImageStoreService {
+
+    // Stores the bytes once per distinct content and returns their SHA-256 hex digest
+    String store(byte[] content) throws IOException;
+
+    // Path of a stored image, or null when the hash is malformed or unknown
+    Path resolve(String hash);
+
+    String probeContentType(Path path) throws IOException;
+}
@@ -0,0 +1,14 @@
+package com.example.backend.Service;
+
+import com.example.backend.Controller.RecyclingResponse;
+import com.example.backend.DTO.RouterStatsDTO;
+
+import java.util.List;
+
+public interface ProviderRouterService {
+
+    // Never throws, failures come back as a response with the error set
+    RecyclingResponse analyze(byte[] image, String fileName, String contentType);
+
+    List<RouterStatsDTO> getStats();
+}
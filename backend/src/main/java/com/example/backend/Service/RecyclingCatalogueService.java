@@ -0,0 +1,17 @@
+package com.example.backend.Service;
+
+import com.example.backend.Controller.RecyclingResponse;
+import com.example.backend.DTO.CatalogueMatchDTO;
+import com.example.backend.DTO.ExternalCallStatsDTO;
+
+import java.util.List;
+
+public interface RecyclingCatalogueService {
+
+    List<CatalogueMatchDTO> search(String query, int limit);
+
+    // Answer for an item the user named, or null if the catalogue has no confident match
+    RecyclingResponse answerLocally(String hint);
+
+    ExternalCallStatsDTO getExternalCallStats();
+}
@@ -1,9 +1,12 @@
 package com.example.backend.Service;
 
 import com.example.backend.DTO.RequestServiceDTO;
+import com.example.backend.DTO.RequestServicePageDTO;
 import com.example.backend.DTO.updateController.RequestStatusUpdateDTO;
 import com.example.backend.DTO.updateController.RequestUpdateUserDTO;
+import com.example.backend.entity.enums.RequestStatus;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface RequestService {
@@ -13,6 +16,9 @@ public interface RequestService {
 
     List<RequestServiceDTO> getAllRequest();
 
+    RequestServicePageDTO getRequestPage(String cursor, int size, RequestStatus status, String eventType,
+                                         LocalDate eventDateFrom, LocalDate eventDateTo, Long zoneId);
+
     RequestServiceDTO updateRequestStatus(Integer requestId, RequestStatusUpdateDTO updateDTO);
 
     String deleteRequest(Integer requestId);
@@ -0,0 +1,9 @@
+package com.example.backend.Service;
+
+import com.example.backend.DTO.RoutePlanDTO;
+import com.example.backend.DTO.RoutePlanRequestDTO;
+
+public interface RoutePlanningService {
+
+    RoutePlanDTO planRoutes(RoutePlanRequestDTO request);
+}
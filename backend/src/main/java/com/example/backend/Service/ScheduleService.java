@@ -1,7 +1,10 @@
 package com.example.backend.Service;
 
+import com.example.backend.DTO.ScheduleChangesDTO;
 import com.example.backend.DTO.ScheduleDTO;
 
+import java.time.LocalDateTime;
+
 import java.util.List;
 
 public interface ScheduleService {
@@ -12,4 +15,7 @@ public interface ScheduleService {
     String deleteSchedule(Long scheduleId);
 
     ScheduleDTO updateSchedule(ScheduleDTO updateDTO);
+
+    // Schedules added, updated or deleted since the given stamp; everything when since is null or too old
+    ScheduleChangesDTO getScheduleChanges(LocalDateTime since);
 }
\ No newline at end of file
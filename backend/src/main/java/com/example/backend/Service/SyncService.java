@@ -0,0 +1,28 @@
+package com.example.backend.Service;
+
+import com.example.backend.entity.SyncTombstone;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SyncService {
+
+    String BINS = "bins";
+    String SCHEDULES = "schedules";
+
+    // Changes whenever the collection does; answering an unchanged poll needs no query
+    String getETag(String collection);
+
+    // Called after every committed schedule write; bins are versioned by the spatial index
+    void schedulesChanged();
+
+    void recordDeletion(String collection, Long id);
+
+    List<SyncTombstone> getTombstones(String collection, LocalDateTime since);
+
+    // True when tombstones older than since may already be purged, so only a full list is safe
+    boolean needsFullSync(LocalDateTime since);
+
+    // The since for the next poll, from the newest change stamp handed out in this one
+    LocalDateTime nextSince(LocalDateTime since, LocalDateTime newest);
+}
@@ -0,0 +1,13 @@
+package com.example.backend.Service;
+
+import com.example.backend.DTO.TelemetryStatsDTO;
+import com.example.backend.utill.TelemetryFrameCodec;
+
+// Readings arrive on the gateway thread and are only coalesced in memory there; flush writes them out
+public interface TelemetryService extends TelemetryFrameCodec.FrameListener {
+
+    // Writes pending status transitions and due snapshots, returns the number of bins written
+    int flush();
+
+    TelemetryStatsDTO getStats();
+}
@@ -0,0 +1,61 @@
+package com.example.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class AnalysisExecutorConfig {
+
+    // Runs image analysis jobs off the Tomcat threads. The queue is bounded and a full queue
+    // rejects the job (AbortPolicy) so callers get a 503 instead of piling up work.
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor analysisExecutor(@Value("${recycling.jobs.threads:8}") int threads,
+                                               @Value("${recycling.jobs.queue-capacity:200}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "analysis-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Decoding and re-encoding photos is CPU bound, so it gets its own pool sized to the cores.
+    // When the queue is full the caller does the work itself, which slows uploads down instead of failing them.
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor imagePreprocessExecutor(@Value("${recycling.preprocess.threads:0}") int threads,
+                                                      @Value("${recycling.preprocess.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "image-preprocess-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Runs calls to the AI providers for the router, so a slow primary can be hedged with a
+    // second provider. No queue: when every thread is busy the hedge is skipped.
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor providerCallExecutor(@Value("${recycling.router.threads:32}") int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "provider-call-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(0, threads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.backend.config;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class HttpClientConfig {
+
+    // One connection pool and dispatcher for every external provider. Providers derive their own
+    // client with newBuilder() to set timeouts, which keeps sharing the pool.
+    @Bean
+    public OkHttpClient sharedHttpClient(@Value("${outbound.pool.max-idle-connections:20}") int maxIdleConnections,
+                                         @Value("${outbound.pool.keep-alive-seconds:300}") long keepAliveSeconds,
+                                         @Value("${outbound.dispatcher.max-requests:128}") int maxRequests,
+                                         @Value("${outbound.dispatcher.max-requests-per-host:32}") int maxRequestsPerHost) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(5, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .writeTimeout(30, TimeUnit.SECONDS)
+                .build();
+    }
+}
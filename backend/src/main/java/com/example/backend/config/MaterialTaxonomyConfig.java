@@ -0,0 +1,22 @@
+package com.example.backend.config;
+
+import com.example.backend.utill.MaterialTaxonomy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Configuration
+public class MaterialTaxonomyConfig {
+
+    // Compiled once at startup, point recycling.taxonomy.location at a file to use a custom table
+    @Bean
+    public MaterialTaxonomy materialTaxonomy(@Value("${recycling.taxonomy.location:classpath:recycling/material-taxonomy.json}") Resource location) throws IOException {
+        try (InputStream json = location.getInputStream()) {
+            return MaterialTaxonomy.load(json);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.backend.config;
+
+import com.example.backend.utill.RecyclingCatalogue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Configuration
+public class RecyclingCatalogueConfig {
+
+    @Bean
+    public RecyclingCatalogue recyclingCatalogue(@Value("${recycling.catalogue.location:classpath:recycling/catalogue.json}") Resource location) throws IOException {
+        try (InputStream json = location.getInputStream()) {
+            return RecyclingCatalogue.load(json);
+        }
+    }
+}
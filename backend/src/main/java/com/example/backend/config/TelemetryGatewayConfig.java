@@ -0,0 +1,33 @@
+package com.example.backend.config;
+
+import com.example.backend.Service.TelemetryService;
+import com.example.backend.utill.TelemetryGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+// Sensor gateway, only started when telemetry.enabled=true. A port of 0 turns that protocol off.
+@Configuration
+@ConditionalOnProperty(name = "telemetry.enabled", havingValue = "true")
+public class TelemetryGatewayConfig {
+
+    @Bean(destroyMethod = "close")
+    public TelemetryGateway telemetryGateway(TelemetryService telemetryService,
+                                             @Value("${telemetry.gateway.bind-address:127.0.0.1}") String bindAddress,
+                                             @Value("${telemetry.gateway.tcp-port:9500}") int tcpPort,
+                                             @Value("${telemetry.gateway.udp-port:9501}") int udpPort,
+                                             @Value("${telemetry.gateway.max-connections:10000}") int maxConnections,
+                                             @Value("${telemetry.gateway.buffer-size:4096}") int bufferSize,
+                                             @Value("${telemetry.gateway.idle-timeout-seconds:900}") long idleTimeoutSeconds) throws IOException {
+        TelemetryGateway gateway = new TelemetryGateway(
+                tcpPort > 0 ? new InetSocketAddress(bindAddress, tcpPort) : null,
+                udpPort > 0 ? new InetSocketAddress(bindAddress, udpPort) : null,
+                maxConnections, bufferSize, idleTimeoutSeconds * 1000, telemetryService);
+        gateway.start();
+        return gateway;
+    }
+}
@@ -3,6 +3,8 @@ package com.example.backend.configuration;
 
 import com.example.backend.Service.IMPL.JwtService;
 import com.example.backend.utill.JwtUtil;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -31,27 +33,29 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwtToken = null;
+        JwtUtil.VerifiedToken verifiedToken = null;
 
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
+            String jwtToken = requestTokenHeader.substring(7);
             try {
-                username = jwtUtil.getUsernameFromToken(jwtToken);
-            }catch (IllegalArgumentException e){
-
+                // Signature is checked once here (or skipped for a token already verified), the
+                // username and expiry checks below reuse the result
+                verifiedToken = jwtUtil.verifyToken(jwtToken);
+            } catch (IllegalArgumentException e) {
                 System.out.println("Unable to get JWT Token");
-            } catch (Exception e){
+            } catch (ExpiredJwtException e) {
                 System.out.println("Jwt Token is Expired");
+            } catch (JwtException e) {
+                System.out.println("Jwt Token is invalid");
             }
-        }else {
-            System.out.println("Jwt Token is not start with Bearer");
         }
 
+        String username = verifiedToken != null ? verifiedToken.getUsername() : null;
+
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             UserDetails userDetails = jwtService.loadUserByUsername(username);
 
-            if (jwtUtil.validateToken(jwtToken, userDetails)) {
+            if (jwtUtil.validateToken(verifiedToken, userDetails)) {
 
                 UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
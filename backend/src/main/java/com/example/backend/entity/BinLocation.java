@@ -14,14 +14,25 @@ import javax.persistence.*;
  * Entity representing a waste bin location in the system.
  */
 @Entity
-@Table(name = "bin_locations")
+@Table(name = "bin_locations", indexes = {
+        @Index(name = "idx_bin_zone", columnList = "zone_id"),
+        // Covers the viewport query: the primary key rides along in every InnoDB secondary index
+        @Index(name = "idx_bin_bbox", columnList = "latitude, longitude, status, waste_type"),
+        @Index(name = "idx_bin_changed", columnList = "changed_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class BinLocation {
 
+    // Pooled ids let Hibernate batch inserts (IDENTITY needs a round trip per row). MySQL has no
+    // sequences, so Hibernate keeps the counter in a one-row table of this name.
+    public static final String ID_SEQUENCE = "bin_location_seq";
+    public static final int ID_ALLOCATION_SIZE = 500;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -44,6 +55,23 @@ public class BinLocation {
     @Column(name = "last_updated")
     private LocalDateTime lastUpdated;
 
+    // Latest sensor readings in percent, written only by the telemetry flush (plain JDBC), never by JPA saves
+    @Column(name = "fill_level", insertable = false, updatable = false)
+    private Integer fillLevel;
+
+    @Column(name = "battery_level", insertable = false, updatable = false)
+    private Integer batteryLevel;
+
+    // Collection zone holding the bin's coordinates, set on every save
+    @Column(name = "zone_id")
+    private Long zoneId;
+
+    // Stamped by MySQL whenever the row actually changes, including plain JDBC updates; drives delta sync.
+    // lastUpdated cannot: it carries sensor and import times that may lie in the past.
+    @Column(name = "changed_at", insertable = false, updatable = false,
+            columnDefinition = "DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+    private LocalDateTime changedAt;
+
     /**
      * Enum representing different types of waste bins.
      */
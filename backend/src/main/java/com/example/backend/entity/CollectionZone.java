@@ -0,0 +1,38 @@
+package com.example.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Collection zone (ward) with its boundary, imported from GeoJSON. Bins, schedules and requests
+ * carry the id of the zone they fall in, worked out from their coordinates when they are saved.
+ */
+@Entity
+@Table(name = "collection_zones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionZone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String code;
+
+    @Column(nullable = false)
+    private String name;
+
+    // GeoJSON Polygon or MultiPolygon, [longitude, latitude] order
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGTEXT")
+    private String geometry;
+
+    @Column(name = "last_updated")
+    private LocalDateTime lastUpdated;
+}
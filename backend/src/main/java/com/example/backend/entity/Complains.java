@@ -24,5 +24,8 @@ public class Complains {
     private String complain;
 
     @Column(name = "image", columnDefinition = "TEXT")
-    private String image; // Store image URL or base64 string
+    private String image; // External image URL only, uploaded images go to the image store
+
+    @Column(name = "image_hash", length = 64)
+    private String imageHash; // SHA-256 of the uploaded image in the image store
 }
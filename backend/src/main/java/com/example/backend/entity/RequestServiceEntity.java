@@ -15,7 +15,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "request_service")
+@Table(name = "request_service", indexes = {
+        // Keyset pagination walks (request_date, request_id); each filter gets its own prefix
+        @Index(name = "idx_request_date_id", columnList = "request_date, request_id"),
+        @Index(name = "idx_request_status_date_id", columnList = "status, request_date, request_id"),
+        @Index(name = "idx_request_type_date_id", columnList = "event_type, request_date, request_id"),
+        @Index(name = "idx_request_event_date", columnList = "event_date, request_date, request_id"),
+        @Index(name = "idx_request_zone_date_id", columnList = "zone_id, request_date, request_id")
+})
 @TypeDefs({
         @TypeDef(name = "json", typeClass = JsonType.class)
 })
@@ -69,4 +76,14 @@ public class RequestServiceEntity {
 
     @Column(name = "estimated_duration")
     private Double estimatedDuration;
+
+    // Optional point for the free-text location; when given, the zone is worked out from it
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Column(name = "zone_id")
+    private Long zoneId;
 }
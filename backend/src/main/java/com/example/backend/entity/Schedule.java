@@ -1,6 +1,7 @@
 package com.example.backend.entity;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 import javax.persistence.Column;
@@ -10,6 +11,7 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 
 import com.example.backend.entity.enums.WasteType;
@@ -19,7 +21,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "schedules")
+@Table(name = "schedules", indexes = {
+        @Index(name = "idx_schedule_zone_date", columnList = "zone_id, date, time"),
+        @Index(name = "idx_schedule_changed", columnList = "changed_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -43,4 +48,17 @@ public class Schedule {
     @Column(nullable = false)
     private WasteType wasteType;
 
+    // Optional point for the free-text location; when given, the zone is worked out from it
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(name = "zone_id")
+    private Long zoneId;
+
+    // Stamped by MySQL whenever the row actually changes; drives delta sync
+    @Column(name = "changed_at", insertable = false, updatable = false,
+            columnDefinition = "DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+    private LocalDateTime changedAt;
+
 }
\ No newline at end of file
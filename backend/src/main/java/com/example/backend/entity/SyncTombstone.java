@@ -0,0 +1,38 @@
+package com.example.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Marks a deleted bin or schedule so delta-sync clients can drop it too. Kept for
+ * sync.tombstone-retention-days; clients that have not synced for longer get a full list instead.
+ */
+@Entity
+@Table(name = "sync_tombstones", indexes = {
+        @Index(name = "idx_tombstone_collection_deleted", columnList = "collection, deleted_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // "bins" or "schedules"
+    @Column(nullable = false, length = 32)
+    private String collection;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    // Stamped by MySQL, on the same clock as the changed_at columns it is compared with
+    @Column(name = "deleted_at", insertable = false, updatable = false,
+            columnDefinition = "DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,20 @@
+package com.example.backend.mapper;
+
+import com.example.backend.DTO.BinLocationDTO;
+import com.example.backend.entity.BinLocation;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface BinLocationMapper {
+
+    BinLocationDTO toDTO(BinLocation binLocation);
+
+    List<BinLocationDTO> toDTOList(List<BinLocation> binLocations);
+
+    // changed_at is stamped by the database
+    @Mapping(target = "changedAt", ignore = true)
+    BinLocation toEntity(BinLocationDTO binLocationDTO);
+}
@@ -0,0 +1,32 @@
+package com.example.backend.mapper;
+
+import com.example.backend.DTO.ComplainsDTO;
+import com.example.backend.entity.Complains;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Mappings;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface ComplainsMapper {
+
+    @Mapping(target = "imageUrl", source = "imageHash", qualifiedByName = "imageUrl")
+    ComplainsDTO toDTO(Complains complains);
+
+    List<ComplainsDTO> toDTOList(List<Complains> complains);
+
+    // Images are stored by the service, never copied straight from the request
+    @Mappings({
+            @Mapping(target = "image", ignore = true),
+            @Mapping(target = "imageHash", ignore = true)
+    })
+    void updateEntity(ComplainsDTO complainsDTO, @MappingTarget Complains complains);
+
+    @Named("imageUrl")
+    default String imageUrl(String imageHash) {
+        return imageHash != null ? "/complain-image/" + imageHash : null;
+    }
+}
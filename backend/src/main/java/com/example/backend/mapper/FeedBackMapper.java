@@ -0,0 +1,22 @@
+package com.example.backend.mapper;
+
+import com.example.backend.DTO.FeedBackDTO;
+import com.example.backend.entity.FeedBack;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface FeedBackMapper {
+
+    // Entity id is feedbackID, DTO id is feedbackId
+    @Mapping(target = "feedbackId", source = "feedbackID")
+    FeedBackDTO toDTO(FeedBack feedBack);
+
+    List<FeedBackDTO> toDTOList(List<FeedBack> feedBacks);
+
+    @Mapping(target = "feedbackID", ignore = true)
+    void updateEntity(FeedBackDTO feedBackDTO, @MappingTarget FeedBack feedBack);
+}
@@ -0,0 +1,60 @@
+package com.example.backend.mapper;
+
+import com.example.backend.DTO.RequestServiceDTO;
+import com.example.backend.DTO.updateController.RequestUpdateUserDTO;
+import com.example.backend.entity.RequestServiceEntity;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Mappings;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Mapper(componentModel = "spring")
+public interface RequestServiceMapper {
+
+    @Mapping(target = "contactNumbers", source = "contactNumbers", qualifiedByName = "joinContactNumbers")
+    RequestServiceDTO toDTO(RequestServiceEntity entity);
+
+    List<RequestServiceDTO> toDTOList(List<RequestServiceEntity> entities);
+
+    // Only non-null fields from the user form are copied; status is changed through its own endpoint and
+    // the location and zone are set when the request is created
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mappings({
+            @Mapping(target = "requestId", ignore = true),
+            @Mapping(target = "requestDate", ignore = true),
+            @Mapping(target = "status", ignore = true),
+            @Mapping(target = "latitude", ignore = true),
+            @Mapping(target = "longitude", ignore = true),
+            @Mapping(target = "zoneId", ignore = true),
+            @Mapping(target = "contactNumbers", source = "contactNumbers", qualifiedByName = "splitContactNumbers")
+    })
+    void updateEntity(RequestUpdateUserDTO updateDTO, @MappingTarget RequestServiceEntity entity);
+
+    // The entity keeps a JSON list of numbers while the frontend sends and shows a single comma separated string
+    @Named("joinContactNumbers")
+    default String joinContactNumbers(List<String> contactNumbers) {
+        if (contactNumbers == null) {
+            return null;
+        }
+        return String.join(", ", contactNumbers);
+    }
+
+    @Named("splitContactNumbers")
+    default List<String> splitContactNumbers(String contactNumbers) {
+        if (contactNumbers == null) {
+            return null;
+        }
+        return Arrays.stream(contactNumbers.split(","))
+                .map(String::trim)
+                .filter(number -> !number.isEmpty())
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
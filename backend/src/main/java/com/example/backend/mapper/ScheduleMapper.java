@@ -0,0 +1,20 @@
+package com.example.backend.mapper;
+
+import com.example.backend.DTO.ScheduleDTO;
+import com.example.backend.entity.Schedule;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface ScheduleMapper {
+
+    ScheduleDTO toDTO(Schedule schedule);
+
+    List<ScheduleDTO> toDTOList(List<Schedule> schedules);
+
+    // changed_at is stamped by the database
+    @Mapping(target = "changedAt", ignore = true)
+    Schedule toEntity(ScheduleDTO scheduleDTO);
+}
@@ -0,0 +1,133 @@
+package com.example.backend.utill;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton: finds every occurrence of any of a fixed set of keywords in one pass
+ * over the text, however many keywords there are. Immutable once built and safe to share.
+ */
+public final class AhoCorasick {
+
+    /**
+     * Receives each match: the keyword's index in the build list and its position in the text.
+     */
+    @FunctionalInterface
+    public interface MatchListener {
+        void onMatch(int keyword, int start, int end);
+    }
+
+    // Per state: sorted transition characters and their target states
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    // Per state: keywords ending here, including those reached through failure links
+    private final int[][] outputs;
+    private final int[] keywordLengths;
+
+    public AhoCorasick(List<String> keywords) {
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        children.add(new HashMap<>());
+        ends.add(new ArrayList<>());
+
+        keywordLengths = new int[keywords.size()];
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            keywordLengths[k] = keyword.length();
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                Integer next = children.get(state).get(keyword.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.get(state).put(keyword.charAt(i), next);
+                    children.add(new HashMap<>());
+                    ends.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            if (!keyword.isEmpty()) {
+                ends.get(state).add(k);
+            }
+        }
+
+        int states = children.size();
+        failure = new int[states];
+        outputs = new int[states][];
+        transitionChars = new char[states][];
+        transitionTargets = new int[states][];
+        for (int state = 0; state < states; state++) {
+            TreeMap<Character, Integer> sorted = new TreeMap<>(children.get(state));
+            transitionChars[state] = new char[sorted.size()];
+            transitionTargets[state] = new int[sorted.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> entry : sorted.entrySet()) {
+                transitionChars[state][i] = entry.getKey();
+                transitionTargets[state][i] = entry.getValue();
+                i++;
+            }
+        }
+
+        // Breadth-first so a state's failure target is finished before the state itself
+        Queue<Integer> queue = new ArrayDeque<>();
+        outputs[0] = toArray(ends.get(0));
+        for (int child : transitionTargets[0]) {
+            failure[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> stateOutputs = new ArrayList<>(ends.get(state));
+            for (int keyword : outputs[failure[state]]) {
+                stateOutputs.add(keyword);
+            }
+            outputs[state] = toArray(stateOutputs);
+
+            for (int i = 0; i < transitionChars[state].length; i++) {
+                char c = transitionChars[state][i];
+                int child = transitionTargets[state][i];
+                int fallback = failure[state];
+                while (fallback != 0 && next(fallback, c) < 0) {
+                    fallback = failure[fallback];
+                }
+                int target = next(fallback, c);
+                failure[child] = target >= 0 && target != child ? target : 0;
+                queue.add(child);
+            }
+        }
+    }
+
+    public void match(CharSequence text, MatchListener listener) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int target;
+            while ((target = next(state, c)) < 0 && state != 0) {
+                state = failure[state];
+            }
+            state = Math.max(target, 0);
+            for (int keyword : outputs[state]) {
+                listener.onMatch(keyword, i + 1 - keywordLengths[keyword], i + 1);
+            }
+        }
+    }
+
+    private int next(int state, char c) {
+        int i = Arrays.binarySearch(transitionChars[state], c);
+        return i >= 0 ? transitionTargets[state][i] : -1;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.backend.utill;
+
+import com.example.backend.DTO.CacheStatsDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates one {@link AnalysisResultCache} per analysis provider, all with the same limits, and
+ * collects their statistics for the stats endpoint.
+ */
+@Component
+public class AnalysisCacheManager {
+
+    private final Map<String, AnalysisResultCache<?>> caches = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Path directory;
+    private final int maxMemoryEntries;
+    private final int maxDiskEntries;
+    private final long ttlMillis;
+    private final int perceptualMaxDistance;
+    private final long maxPixels;
+
+    public AnalysisCacheManager(@Value("${recycling.analysis-cache.dir:cache/image-analysis}") String directory,
+                                @Value("${recycling.analysis-cache.memory-max-size:2000}") int maxMemoryEntries,
+                                @Value("${recycling.analysis-cache.disk-max-size:50000}") int maxDiskEntries,
+                                @Value("${recycling.analysis-cache.ttl-hours:720}") long ttlHours,
+                                @Value("${recycling.analysis-cache.perceptual-max-distance:4}") int perceptualMaxDistance,
+                                @Value("${recycling.preprocess.max-pixels:60000000}") long maxPixels) {
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.maxMemoryEntries = maxMemoryEntries;
+        this.maxDiskEntries = maxDiskEntries;
+        this.ttlMillis = ttlHours * 60 * 60 * 1000;
+        this.perceptualMaxDistance = perceptualMaxDistance;
+        this.maxPixels = maxPixels;
+    }
+
+    public <V> AnalysisResultCache<V> create(String provider, Class<V> type) {
+        AnalysisResultCache<V> cache = new AnalysisResultCache<>(provider, type, objectMapper, directory.resolve(provider),
+                maxMemoryEntries, maxDiskEntries, ttlMillis, perceptualMaxDistance, maxPixels);
+        caches.put(provider, cache);
+        return cache;
+    }
+
+    public void invalidateAll() {
+        caches.values().forEach(AnalysisResultCache::invalidateAll);
+    }
+
+    public long getRequests() {
+        return caches.values().stream().mapToLong(AnalysisResultCache::getRequests).sum();
+    }
+
+    public long getLoads() {
+        return caches.values().stream().mapToLong(AnalysisResultCache::getLoads).sum();
+    }
+
+    public List<CacheStatsDTO> getStats() {
+        List<CacheStatsDTO> stats = new ArrayList<>();
+        caches.values().forEach(cache -> stats.addAll(cache.getStats()));
+        return stats;
+    }
+}
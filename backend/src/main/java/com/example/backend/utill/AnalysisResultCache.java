@@ -0,0 +1,291 @@
+package com.example.backend.utill;
+
+import com.example.backend.DTO.CacheStatsDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Two-tier cache of image analysis results keyed by the SHA-256 of the image bytes.
+ * <p>
+ * Hot results live in an {@link ExpiringCache}; every result is also written as a small JSON file
+ * so it survives restarts. On an exact miss the perceptual hash of the image is compared with the
+ * known entries, so the same photo re-encoded or resized by the client still hits.
+ */
+public class AnalysisResultCache<V> {
+
+    /**
+     * The expensive call the cache sits in front of.
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws IOException;
+    }
+
+    private final String name;
+    private final Class<V> type;
+    private final ObjectMapper objectMapper;
+    private final ExpiringCache<String, V> memory;
+    private final long ttlMillis;
+    private final Path directory;
+    private final int maxDiskEntries;
+    private final int perceptualMaxDistance;
+    private final long maxPixels;
+
+    // Everything currently on disk, with what the perceptual lookup and disk eviction need
+    private final Map<String, DiskEntry> diskIndex = new ConcurrentHashMap<>();
+    private final ReentrantLock diskEvictionLock = new ReentrantLock();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder diskMisses = new LongAdder();
+    private final LongAdder diskEvictions = new LongAdder();
+    private final LongAdder perceptualHits = new LongAdder();
+    private final LongAdder perceptualMisses = new LongAdder();
+
+    /**
+     * @param perceptualMaxDistance largest Hamming distance between perceptual hashes that still
+     *                              counts as the same image, or a negative value to match exact bytes only
+     * @param maxPixels             images declaring more pixels are not decoded for the perceptual hash
+     */
+    public AnalysisResultCache(String name, Class<V> type, ObjectMapper objectMapper, Path directory,
+                               int maxMemoryEntries, int maxDiskEntries, long ttlMillis, int perceptualMaxDistance,
+                               long maxPixels) {
+        this.name = name;
+        this.type = type;
+        this.objectMapper = objectMapper;
+        this.memory = new ExpiringCache<>(maxMemoryEntries, ttlMillis);
+        this.ttlMillis = ttlMillis;
+        this.directory = directory;
+        this.maxDiskEntries = maxDiskEntries;
+        this.perceptualMaxDistance = perceptualMaxDistance;
+        this.maxPixels = maxPixels;
+        loadDiskIndex();
+    }
+
+    /**
+     * Returns the cached result for these image bytes, or calls {@code loader} and caches what it
+     * returns when {@code cacheable} accepts it (error responses should not be cached).
+     */
+    public V get(byte[] image, Loader<V> loader, Predicate<V> cacheable) throws IOException {
+        requests.increment();
+        String hash = ImageHashes.sha256Hex(image);
+
+        V value = lookup(hash);
+        if (value != null) {
+            return value;
+        }
+
+        Long perceptualHash = null;
+        if (perceptualMaxDistance >= 0) {
+            perceptualHash = ImageHashes.differenceHash(image, maxPixels);
+            String similar = perceptualHash != null ? findSimilar(perceptualHash) : null;
+            value = similar != null ? lookup(similar) : null;
+            if (value != null) {
+                perceptualHits.increment();
+                // Remember the new bytes too, so the next identical upload is an exact hit
+                memory.put(hash, value);
+                return value;
+            }
+            perceptualMisses.increment();
+        }
+
+        loads.increment();
+        value = loader.load();
+        if (value != null && cacheable.test(value)) {
+            memory.put(hash, value);
+            writeToDisk(hash, perceptualHash, value);
+        }
+        return value;
+    }
+
+    public void invalidateAll() {
+        memory.invalidateAll();
+        for (String hash : new ArrayList<>(diskIndex.keySet())) {
+            deleteFromDisk(hash);
+        }
+    }
+
+    // Number of get calls, and how many of them had to call the loader
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    public List<CacheStatsDTO> getStats() {
+        List<CacheStatsDTO> stats = new ArrayList<>();
+        stats.add(new CacheStatsDTO(name + ".memory", memory.size(), memory.getHits(), memory.getMisses(), memory.getEvictions()));
+        stats.add(new CacheStatsDTO(name + ".disk", diskIndex.size(), diskHits.sum(), diskMisses.sum(), diskEvictions.sum()));
+        if (perceptualMaxDistance >= 0) {
+            stats.add(new CacheStatsDTO(name + ".perceptual", diskIndex.size(), perceptualHits.sum(), perceptualMisses.sum(), 0));
+        }
+        return stats;
+    }
+
+    private V lookup(String hash) {
+        V value = memory.get(hash);
+        if (value != null) {
+            return value;
+        }
+
+        DiskEntry entry = diskIndex.get(hash);
+        if (entry == null || entry.storedAtMillis + ttlMillis <= System.currentTimeMillis()) {
+            if (entry != null) {
+                deleteFromDisk(hash);
+            }
+            diskMisses.increment();
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(pathFor(hash).toFile());
+            value = objectMapper.treeToValue(node.path("value"), type);
+        } catch (IOException e) {
+            // Unreadable or half-deleted file, treat as a miss and let it be rewritten
+            deleteFromDisk(hash);
+            diskMisses.increment();
+            return null;
+        }
+        diskHits.increment();
+        memory.put(hash, value, entry.storedAtMillis + ttlMillis);
+        return value;
+    }
+
+    private String findSimilar(Long perceptualHash) {
+        if (perceptualHash == null) {
+            return null;
+        }
+        String best = null;
+        int bestDistance = perceptualMaxDistance + 1;
+        for (Map.Entry<String, DiskEntry> candidate : diskIndex.entrySet()) {
+            Long other = candidate.getValue().perceptualHash;
+            if (other == null) {
+                continue;
+            }
+            int distance = ImageHashes.hammingDistance(perceptualHash, other);
+            if (distance < bestDistance) {
+                best = candidate.getKey();
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private void writeToDisk(String hash, Long perceptualHash, V value) {
+        long storedAt = System.currentTimeMillis();
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("storedAt", storedAt);
+        if (perceptualHash != null) {
+            node.put("perceptualHash", perceptualHash);
+        }
+        node.set("value", objectMapper.valueToTree(value));
+
+        Path target = pathFor(hash);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            try {
+                objectMapper.writeValue(temp.toFile(), node);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            // The memory tier still has it, a failed disk write only costs a future provider call
+            System.err.println("Could not write " + name + " analysis cache entry: " + e.getMessage());
+            return;
+        }
+
+        diskIndex.put(hash, new DiskEntry(storedAt, perceptualHash));
+        if (diskIndex.size() > maxDiskEntries) {
+            evictFromDisk();
+        }
+    }
+
+    private void evictFromDisk() {
+        if (!diskEvictionLock.tryLock()) {
+            return;
+        }
+        try {
+            // Oldest first, down to 90% of the limit
+            List<Map.Entry<String, DiskEntry>> entries = new ArrayList<>(diskIndex.entrySet());
+            entries.sort((a, b) -> Long.compare(a.getValue().storedAtMillis, b.getValue().storedAtMillis));
+            int target = Math.max(1, maxDiskEntries - maxDiskEntries / 10);
+            for (int i = 0; i < entries.size() - target; i++) {
+                deleteFromDisk(entries.get(i).getKey());
+                diskEvictions.increment();
+            }
+        } finally {
+            diskEvictionLock.unlock();
+        }
+    }
+
+    private void deleteFromDisk(String hash) {
+        diskIndex.remove(hash);
+        memory.invalidate(hash);
+        try {
+            Files.deleteIfExists(pathFor(hash));
+        } catch (IOException e) {
+            System.err.println("Could not delete " + name + " analysis cache entry: " + e.getMessage());
+        }
+    }
+
+    private void loadDiskIndex() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            files.filter(path -> path.getFileName().toString().endsWith(".json")).forEach(path -> {
+                String hash = path.getFileName().toString().replace(".json", "");
+                try {
+                    JsonNode node = objectMapper.readTree(path.toFile());
+                    long storedAt = node.path("storedAt").asLong();
+                    if (storedAt + ttlMillis <= now) {
+                        Files.deleteIfExists(path);
+                        return;
+                    }
+                    JsonNode perceptualHash = node.get("perceptualHash");
+                    diskIndex.put(hash, new DiskEntry(storedAt, perceptualHash != null ? perceptualHash.asLong() : null));
+                } catch (IOException e) {
+                    System.err.println("Skipping unreadable " + name + " analysis cache entry " + path + ": " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Could not load " + name + " analysis cache: " + e.getMessage());
+        }
+        if (diskIndex.size() > maxDiskEntries) {
+            evictFromDisk();
+        }
+    }
+
+    private Path pathFor(String hash) {
+        return directory.resolve(hash.substring(0, 2)).resolve(hash + ".json");
+    }
+
+    private static final class DiskEntry {
+        private final long storedAtMillis;
+        private final Long perceptualHash;
+
+        private DiskEntry(long storedAtMillis, Long perceptualHash) {
+            this.storedAtMillis = storedAtMillis;
+            this.perceptualHash = perceptualHash;
+        }
+    }
+}
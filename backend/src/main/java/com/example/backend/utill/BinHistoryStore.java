@@ -0,0 +1,232 @@
+package com.example.backend.utill;
+
+import com.example.backend.DTO.BinReadingPointDTO;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fill-level history of bins in three MySQL tables, one per resolution:
+ * <ul>
+ *     <li>{@code bin_readings_raw}: every sensor reading, 15 bytes of data per row</li>
+ *     <li>{@code bin_readings_hourly} and {@code bin_readings_daily}: one row per bin and bucket with
+ *     sample count, min, max, sum and last fill level and lowest battery level</li>
+ * </ul>
+ * Each table is clustered on (bin_id, time), so the history of one bin is a single range scan, and
+ * has a secondary index on time for rollups and retention. Rollups are recomputed from the level
+ * below and upserted, so running them again over the same range is harmless.
+ * <p>
+ * The tables are plain JDBC (not JPA entities) so the column types can stay this small.
+ */
+public class BinHistoryStore {
+
+    public enum Level {
+        RAW("bin_readings_raw", "read_at"),
+        HOURLY("bin_readings_hourly", "bucket_start"),
+        DAILY("bin_readings_daily", "bucket_start");
+
+        private final String table;
+        private final String timeColumn;
+
+        Level(String table, String timeColumn) {
+            this.table = table;
+            this.timeColumn = timeColumn;
+        }
+    }
+
+    private static final String[] CREATE_TABLES = {
+            "CREATE TABLE IF NOT EXISTS bin_readings_raw ("
+                    + " bin_id BIGINT NOT NULL,"
+                    + " read_at DATETIME NOT NULL,"
+                    + " fill_level TINYINT UNSIGNED NOT NULL,"
+                    + " battery_level TINYINT UNSIGNED NOT NULL,"
+                    + " PRIMARY KEY (bin_id, read_at),"
+                    + " KEY idx_bin_readings_raw_read_at (read_at)"
+                    + ") ENGINE=InnoDB",
+            "CREATE TABLE IF NOT EXISTS bin_readings_hourly ("
+                    + " bin_id BIGINT NOT NULL,"
+                    + " bucket_start DATETIME NOT NULL,"
+                    + " samples SMALLINT UNSIGNED NOT NULL,"
+                    + " fill_min TINYINT UNSIGNED NOT NULL,"
+                    + " fill_max TINYINT UNSIGNED NOT NULL,"
+                    + " fill_sum INT UNSIGNED NOT NULL,"
+                    + " fill_last TINYINT UNSIGNED NOT NULL,"
+                    + " battery_min TINYINT UNSIGNED NOT NULL,"
+                    + " PRIMARY KEY (bin_id, bucket_start),"
+                    + " KEY idx_bin_readings_hourly_bucket (bucket_start)"
+                    + ") ENGINE=InnoDB",
+            "CREATE TABLE IF NOT EXISTS bin_readings_daily ("
+                    + " bin_id BIGINT NOT NULL,"
+                    + " bucket_start DATETIME NOT NULL,"
+                    + " samples INT UNSIGNED NOT NULL,"
+                    + " fill_min TINYINT UNSIGNED NOT NULL,"
+                    + " fill_max TINYINT UNSIGNED NOT NULL,"
+                    + " fill_sum INT UNSIGNED NOT NULL,"
+                    + " fill_last TINYINT UNSIGNED NOT NULL,"
+                    + " battery_min TINYINT UNSIGNED NOT NULL,"
+                    + " PRIMARY KEY (bin_id, bucket_start),"
+                    + " KEY idx_bin_readings_daily_bucket (bucket_start)"
+                    + ") ENGINE=InnoDB"
+    };
+
+    // A sensor resending the same reading hits the primary key and is skipped
+    private static final String INSERT_RAW =
+            "INSERT IGNORE INTO bin_readings_raw (bin_id, read_at, fill_level, battery_level) VALUES (?, ?, ?, ?)";
+
+    private static final String UPSERT_COLUMNS = " ON DUPLICATE KEY UPDATE samples = VALUES(samples),"
+            + " fill_min = VALUES(fill_min), fill_max = VALUES(fill_max), fill_sum = VALUES(fill_sum),"
+            + " fill_last = VALUES(fill_last), battery_min = VALUES(battery_min)";
+
+    private static final String ROLLUP_HOURS = "INSERT INTO bin_readings_hourly"
+            + " (bin_id, bucket_start, samples, fill_min, fill_max, fill_sum, fill_last, battery_min)"
+            + " SELECT bin_id, DATE_FORMAT(read_at, '%Y-%m-%d %H:00:00') AS bucket, COUNT(*), MIN(fill_level),"
+            + " MAX(fill_level), SUM(fill_level),"
+            + " CAST(SUBSTRING_INDEX(GROUP_CONCAT(fill_level ORDER BY read_at DESC), ',', 1) AS UNSIGNED),"
+            + " MIN(battery_level)"
+            + " FROM bin_readings_raw WHERE read_at >= ? AND read_at < ?"
+            + " GROUP BY bin_id, bucket" + UPSERT_COLUMNS;
+
+    private static final String ROLLUP_DAYS = "INSERT INTO bin_readings_daily"
+            + " (bin_id, bucket_start, samples, fill_min, fill_max, fill_sum, fill_last, battery_min)"
+            + " SELECT bin_id, DATE(bucket_start) AS bucket, SUM(samples), MIN(fill_min), MAX(fill_max), SUM(fill_sum),"
+            + " CAST(SUBSTRING_INDEX(GROUP_CONCAT(fill_last ORDER BY bucket_start DESC), ',', 1) AS UNSIGNED),"
+            + " MIN(battery_min)"
+            + " FROM bin_readings_hourly WHERE bucket_start >= ? AND bucket_start < ?"
+            + " GROUP BY bin_id, bucket" + UPSERT_COLUMNS;
+
+    private static final RowMapper<BinReadingPointDTO> RAW_POINT = (rs, row) -> {
+        int fill = rs.getInt("fill_level");
+        int battery = rs.getInt("battery_level");
+        return new BinReadingPointDTO(rs.getTimestamp("read_at").toLocalDateTime(), 1, 1, fill, fill, fill, fill, battery);
+    };
+
+    private static final RowMapper<BinReadingPointDTO> ROLLUP_POINT = (rs, row) -> {
+        long samples = rs.getLong("samples");
+        return new BinReadingPointDTO(rs.getTimestamp("bucket_start").toLocalDateTime(), samples, 1,
+                rs.getInt("fill_min"), rs.getInt("fill_max"), (double) rs.getLong("fill_sum") / samples,
+                rs.getInt("fill_last"), rs.getInt("battery_min"));
+    };
+
+    // Area points merge many bins, so there is no single "last" value
+    private static final RowMapper<BinReadingPointDTO> AREA_POINT = (rs, row) -> {
+        long samples = rs.getLong("samples");
+        return new BinReadingPointDTO(rs.getTimestamp("bucket_start").toLocalDateTime(), samples, rs.getInt("bins"),
+                rs.getInt("fill_min"), rs.getInt("fill_max"), (double) rs.getLong("fill_sum") / samples,
+                null, rs.getInt("battery_min"));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BinHistoryStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void createTables() {
+        for (String sql : CREATE_TABLES) {
+            jdbcTemplate.execute(sql);
+        }
+    }
+
+    /**
+     * Appends {@code count} readings from the given arrays in one JDBC batch. Duplicates are skipped.
+     */
+    public void insertRaw(long[] binIds, long[] epochSeconds, byte[] fillLevels, byte[] batteryLevels, int count) {
+        ZoneId zone = ZoneId.systemDefault();
+        jdbcTemplate.batchUpdate(INSERT_RAW, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                statement.setLong(1, binIds[i]);
+                statement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSeconds[i]), zone)));
+                statement.setInt(3, fillLevels[i] & 0xff);
+                statement.setInt(4, batteryLevels[i] & 0xff);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return count;
+            }
+        });
+    }
+
+    // Recomputes the hourly rows for [from, to), both on hour boundaries
+    public int rollupHours(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.update(ROLLUP_HOURS, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    // Recomputes the daily rows for [from, to) from the hourly rows
+    public int rollupDays(LocalDate from, LocalDate to) {
+        return jdbcTemplate.update(ROLLUP_DAYS, Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.atStartOfDay()));
+    }
+
+    public LocalDateTime earliest(Level level) {
+        Timestamp earliest = jdbcTemplate.queryForObject(
+                "SELECT MIN(" + level.timeColumn + ") FROM " + level.table, Timestamp.class);
+        return earliest != null ? earliest.toLocalDateTime() : null;
+    }
+
+    /**
+     * Deletes rows older than {@code cutoff} in chunks of {@code chunkSize}, so no single statement
+     * holds locks for long. Returns the number of rows deleted.
+     */
+    public long deleteOlderThan(Level level, LocalDateTime cutoff, int chunkSize) {
+        String sql = "DELETE FROM " + level.table + " WHERE " + level.timeColumn + " < ? LIMIT " + chunkSize;
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = jdbcTemplate.update(sql, Timestamp.valueOf(cutoff));
+            deleted += chunk;
+        } while (chunk == chunkSize);
+        return deleted;
+    }
+
+    /**
+     * Number of days since {@code since} on which each bin reached {@code fullPercent}, for bins that
+     * reported at all in that time.
+     */
+    public Map<Long, Integer> countFullDays(int fullPercent, LocalDate since) {
+        Map<Long, Integer> fullDays = new HashMap<>();
+        jdbcTemplate.query("SELECT bin_id, SUM(fill_max >= ?) AS full_days FROM bin_readings_daily"
+                        + " WHERE bucket_start >= ? GROUP BY bin_id",
+                (RowCallbackHandler) rs -> fullDays.put(rs.getLong("bin_id"), rs.getInt("full_days")),
+                fullPercent, Timestamp.valueOf(since.atStartOfDay()));
+        return fullDays;
+    }
+
+    public List<BinReadingPointDTO> query(long binId, Level level, LocalDateTime from, LocalDateTime to) {
+        String sql = "SELECT * FROM " + level.table + " WHERE bin_id = ? AND " + level.timeColumn + " >= ? AND "
+                + level.timeColumn + " < ? ORDER BY " + level.timeColumn;
+        return jdbcTemplate.query(sql, level == Level.RAW ? RAW_POINT : ROLLUP_POINT,
+                binId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * History of all bins inside a lat/lon box merged per bucket. Only the rollup levels can be
+     * merged, raw readings of different bins do not line up in time.
+     */
+    public List<BinReadingPointDTO> queryArea(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                              Level level, LocalDateTime from, LocalDateTime to) {
+        if (level == Level.RAW) {
+            throw new IllegalArgumentException("Area history is only available hourly or daily");
+        }
+        String sql = "SELECT h.bucket_start, SUM(h.samples) AS samples, COUNT(*) AS bins, MIN(h.fill_min) AS fill_min,"
+                + " MAX(h.fill_max) AS fill_max, SUM(h.fill_sum) AS fill_sum, MIN(h.battery_min) AS battery_min"
+                + " FROM " + level.table + " h JOIN bin_locations b ON b.id = h.bin_id"
+                + " WHERE b.latitude BETWEEN ? AND ? AND b.longitude BETWEEN ? AND ?"
+                + " AND h.bucket_start >= ? AND h.bucket_start < ?"
+                + " GROUP BY h.bucket_start ORDER BY h.bucket_start";
+        return jdbcTemplate.query(sql, AREA_POINT, minLatitude, maxLatitude, minLongitude, maxLongitude,
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+}
@@ -0,0 +1,396 @@
+package com.example.backend.utill;
+
+import com.example.backend.entity.BinLocation;
+import com.example.backend.entity.BinLocation.BinStatus;
+import com.example.backend.entity.BinLocation.WasteType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads a bin inventory file row by row, without holding the file in memory, and turns each row
+ * into an unsaved {@link BinLocation} or a per-row error.
+ * <p>
+ * CSV files need a header naming the columns (address, latitude, longitude, wasteType, status and
+ * optionally lastUpdated, in any order; unknown columns are ignored). NDJSON files hold one JSON
+ * object per line with the same field names. Rows are numbered by the line they start on.
+ */
+public final class BinImportReader {
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format detect(String fileName, String contentType) {
+            String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+            String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || type.contains("ndjson") || type.contains("json")) {
+                return NDJSON;
+            }
+            return CSV;
+        }
+    }
+
+    /**
+     * Receives every non-blank row in file order.
+     */
+    public interface RowListener {
+        void onRow(long row, BinLocation binLocation);
+
+        void onError(long row, String message);
+    }
+
+    private static final int ADDRESS = 0;
+    private static final int LATITUDE = 1;
+    private static final int LONGITUDE = 2;
+    private static final int WASTE_TYPE = 3;
+    private static final int STATUS = 4;
+    private static final int LAST_UPDATED = 5;
+    private static final int FIELD_COUNT = 6;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private BinImportReader() {
+    }
+
+    /**
+     * @throws IllegalArgumentException when the whole file is unusable, e.g. a CSV header without a required column
+     */
+    public static void read(InputStream input, Format format, RowListener listener) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.NDJSON) {
+            readNdjson(reader, listener);
+        } else {
+            readCsv(reader, listener);
+        }
+    }
+
+    private static void readCsv(Reader reader, RowListener listener) throws IOException {
+        CsvTokenizer csv = new CsvTokenizer(reader);
+        List<String> header = csv.nextRecord();
+        if (header == null) {
+            return;
+        }
+        int[] fieldOfColumn = new int[header.size()];
+        boolean[] present = new boolean[FIELD_COUNT];
+        for (int column = 0; column < header.size(); column++) {
+            fieldOfColumn[column] = field(header.get(column));
+            if (fieldOfColumn[column] >= 0) {
+                present[fieldOfColumn[column]] = true;
+            }
+        }
+        for (int field = ADDRESS; field <= STATUS; field++) {
+            if (!present[field]) {
+                throw new IllegalArgumentException("CSV header is missing the " + fieldName(field) + " column");
+            }
+        }
+
+        String[] values = new String[FIELD_COUNT];
+        List<String> record;
+        while (true) {
+            long row = csv.getRecordLine() + 1;
+            try {
+                record = csv.nextRecord();
+            } catch (IllegalStateException e) {
+                // Unterminated quote runs to the end of the file, nothing after it can be read
+                listener.onError(row, e.getMessage());
+                return;
+            }
+            if (record == null) {
+                return;
+            }
+            row = csv.getRecordLine();
+            if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                continue;
+            }
+            Arrays.fill(values, null);
+            for (int column = 0; column < record.size() && column < fieldOfColumn.length; column++) {
+                if (fieldOfColumn[column] >= 0) {
+                    values[fieldOfColumn[column]] = record.get(column);
+                }
+            }
+            emit(row, values, listener);
+        }
+    }
+
+    private static void readNdjson(Reader reader, RowListener listener) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        String[] values = new String[FIELD_COUNT];
+        long row = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            row++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            Arrays.fill(values, null);
+            try (JsonParser parser = JSON_FACTORY.createParser(line)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    listener.onError(row, "Expected a JSON object");
+                    continue;
+                }
+                JsonToken token;
+                while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                    int field = field(parser.getCurrentName());
+                    JsonToken value = parser.nextToken();
+                    if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                    } else if (field >= 0 && value != JsonToken.VALUE_NULL) {
+                        values[field] = parser.getText();
+                    }
+                }
+                if (token != JsonToken.END_OBJECT) {
+                    listener.onError(row, "Malformed JSON object");
+                    continue;
+                }
+            } catch (JsonProcessingException e) {
+                listener.onError(row, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            emit(row, values, listener);
+        }
+    }
+
+    private static void emit(long row, String[] values, RowListener listener) {
+        String address = trimToNull(values[ADDRESS]);
+        if (address == null) {
+            listener.onError(row, "address is required");
+            return;
+        }
+        if (address.length() > 255) {
+            listener.onError(row, "address is longer than 255 characters");
+            return;
+        }
+
+        Double latitude = parseCoordinate(values[LATITUDE], 90);
+        if (latitude == null) {
+            listener.onError(row, "latitude must be a number between -90 and 90");
+            return;
+        }
+        Double longitude = parseCoordinate(values[LONGITUDE], 180);
+        if (longitude == null) {
+            listener.onError(row, "longitude must be a number between -180 and 180");
+            return;
+        }
+
+        WasteType wasteType = parseEnum(WasteType.class, values[WASTE_TYPE]);
+        if (wasteType == null) {
+            listener.onError(row, "wasteType must be one of " + Arrays.toString(WasteType.values()));
+            return;
+        }
+        BinStatus status = parseEnum(BinStatus.class, values[STATUS]);
+        if (status == null) {
+            listener.onError(row, "status must be one of " + Arrays.toString(BinStatus.values()));
+            return;
+        }
+
+        LocalDateTime lastUpdated = null;
+        String lastUpdatedText = trimToNull(values[LAST_UPDATED]);
+        if (lastUpdatedText != null) {
+            try {
+                lastUpdated = LocalDateTime.parse(lastUpdatedText);
+            } catch (DateTimeParseException e) {
+                listener.onError(row, "lastUpdated must look like 2024-05-01T08:30:00");
+                return;
+            }
+        }
+
+        listener.onRow(row, new BinLocation(null, address, latitude, longitude, wasteType, status, lastUpdated, null, null, null, null));
+    }
+
+    // Header or JSON field name to field index, ignoring case, spaces and underscores
+    private static int field(String name) {
+        if (name == null) {
+            return -1;
+        }
+        StringBuilder key = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        switch (key.toString()) {
+            case "address":
+                return ADDRESS;
+            case "latitude":
+            case "lat":
+                return LATITUDE;
+            case "longitude":
+            case "lon":
+            case "lng":
+                return LONGITUDE;
+            case "wastetype":
+            case "type":
+                return WASTE_TYPE;
+            case "status":
+                return STATUS;
+            case "lastupdated":
+                return LAST_UPDATED;
+            default:
+                return -1;
+        }
+    }
+
+    private static String fieldName(int field) {
+        switch (field) {
+            case ADDRESS:
+                return "address";
+            case LATITUDE:
+                return "latitude";
+            case LONGITUDE:
+                return "longitude";
+            case WASTE_TYPE:
+                return "wasteType";
+            case STATUS:
+                return "status";
+            default:
+                return "lastUpdated";
+        }
+    }
+
+    private static Double parseCoordinate(String text, double limit) {
+        String trimmed = trimToNull(text);
+        if (trimmed == null) {
+            return null;
+        }
+        try {
+            double value = Double.parseDouble(trimmed);
+            return value >= -limit && value <= limit ? value : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String text) {
+        String trimmed = trimToNull(text);
+        if (trimmed == null) {
+            return null;
+        }
+        String name = trimmed.toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equals(name)) {
+                return constant;
+            }
+        }
+        return null;
+    }
+
+    private static String trimToNull(String text) {
+        if (text == null) {
+            return null;
+        }
+        String trimmed = text.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    // RFC 4180 records: comma separated, double quotes around fields holding commas, quotes or line breaks
+    private static final class CsvTokenizer {
+        private final Reader reader;
+        private final char[] buffer = new char[64 * 1024];
+        private int position;
+        private int limit;
+        private long line = 1;
+        private long recordLine;
+        private final StringBuilder field = new StringBuilder();
+
+        private CsvTokenizer(Reader reader) {
+            this.reader = reader;
+        }
+
+        // Line the last returned record started on
+        private long getRecordLine() {
+            return recordLine;
+        }
+
+        private List<String> nextRecord() throws IOException {
+            int c = read();
+            if (c < 0) {
+                return null;
+            }
+            recordLine = line;
+            List<String> record = new ArrayList<>(8);
+            field.setLength(0);
+            boolean quoted = false;
+            boolean fieldStart = true;
+            while (true) {
+                if (quoted) {
+                    if (c < 0) {
+                        throw new IllegalStateException("Unterminated quoted field");
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c < 0 || c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        int next = read();
+                        if (next != '\n') {
+                            unread();
+                        }
+                    }
+                    if (c >= 0) {
+                        line++;
+                    }
+                    record.add(field.toString());
+                    return record;
+                } else if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                    fieldStart = true;
+                    c = read();
+                    continue;
+                } else if (c == '"' && fieldStart) {
+                    quoted = true;
+                } else {
+                    field.append((char) c);
+                }
+                fieldStart = false;
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+
+        // Only ever called right after a successful read, so the character is still in the buffer
+        private void unread() {
+            if (position > 0) {
+                position--;
+            }
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package com.example.backend.utill;
+
+import com.example.backend.entity.BinLocation;
+import com.example.backend.entity.BinLocation.BinStatus;
+import com.example.backend.entity.BinLocation.WasteType;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory grid index over bin coordinates used for nearest-bin lookups.
+ * <p>
+ * The world is cut into fixed-size lat/lon cells (about 1.1 km at the equator). A k-nearest query
+ * scans rings of cells around the query point and stops as soon as no unvisited cell can hold a
+ * closer bin than the k-th one found so far, so the cost depends on local density, not fleet size.
+ * <p>
+ * Views derived from the bins (such as map tiles) can register a {@link Listener} to be told of
+ * each change as it is applied instead of re-reading the whole index.
+ */
+@Component
+public class BinSpatialIndex {
+
+    private static final double CELL_DEGREES = 0.01;
+    private static final double EARTH_RADIUS_METERS = 6_371_000d;
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180d;
+    private static final int CELLS_PER_LAT = (int) Math.ceil(180 / CELL_DEGREES);
+    private static final int CELLS_PER_LON = (int) Math.ceil(360 / CELL_DEGREES);
+
+    // Past this many rings the grid walk is more expensive than scanning everything
+    private static final int MAX_RINGS = 64;
+
+    private final Map<Long, Entry> entriesById = new HashMap<>();
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Listener> listeners = new ArrayList<>();
+    // Bumped on every change, so callers can tell whether something derived from the index is stale
+    private volatile long version;
+    // Bumped only when bins are added, moved or removed, not on sensor readings
+    private volatile long layoutVersion;
+
+    public void put(BinLocation binLocation) {
+        if (binLocation.getId() == null || binLocation.getLatitude() == null || binLocation.getLongitude() == null) {
+            return;
+        }
+        Entry entry = new Entry(binLocation);
+
+        lock.writeLock().lock();
+        try {
+            Entry previous = removeInternal(entry.id);
+            entriesById.put(entry.id, entry);
+            cells.computeIfAbsent(entry.cellKey, key -> new ArrayList<>()).add(entry);
+            version++;
+            layoutVersion++;
+            notifyChanged(previous, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = removeInternal(id);
+            version++;
+            layoutVersion++;
+            if (previous != null) {
+                notifyChanged(previous, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a sensor reading to an indexed bin, keeping its position. Returns false if the bin is not indexed.
+     */
+    public boolean updateTelemetry(Long id, BinStatus status, Integer fillLevel, Integer batteryLevel, LocalDateTime lastUpdated) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entriesById.get(id);
+            if (previous == null) {
+                return false;
+            }
+            Entry updated = new Entry(previous, status, fillLevel, batteryLevel, lastUpdated);
+            entriesById.put(id, updated);
+            List<Entry> cell = cells.get(previous.cellKey);
+            cell.set(cell.indexOf(previous), updated);
+            version++;
+            notifyChanged(previous, updated);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rebuild(Collection<BinLocation> binLocations) {
+        lock.writeLock().lock();
+        try {
+            entriesById.clear();
+            cells.clear();
+            for (BinLocation binLocation : binLocations) {
+                if (binLocation.getId() == null || binLocation.getLatitude() == null || binLocation.getLongitude() == null) {
+                    continue;
+                }
+                Entry entry = new Entry(binLocation);
+                entriesById.put(entry.id, entry);
+                cells.computeIfAbsent(entry.cellKey, key -> new ArrayList<>()).add(entry);
+            }
+            version++;
+            layoutVersion++;
+            for (Listener listener : listeners) {
+                listener.reset(entriesById.values());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registers a listener and hands it the current bins through {@link Listener#reset}, so it
+     * starts in step with the index whenever it is added.
+     */
+    public void addListener(Listener listener) {
+        lock.writeLock().lock();
+        try {
+            listeners.add(listener);
+            listener.reset(entriesById.values());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Entry get(Long id) {
+        lock.readLock().lock();
+        try {
+            return entriesById.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entriesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getLayoutVersion() {
+        return layoutVersion;
+    }
+
+    /**
+     * Returns every bin matching the filters, in no particular order.
+     *
+     * @param wasteType only bins of this type, or {@code null} for any type
+     * @param statuses  only bins in one of these statuses, or {@code null}/empty for any status
+     */
+    public List<Entry> select(WasteType wasteType, Set<BinStatus> statuses) {
+        lock.readLock().lock();
+        try {
+            List<Entry> result = new ArrayList<>();
+            for (Entry entry : entriesById.values()) {
+                if (matches(entry, wasteType, statuses)) {
+                    result.add(entry);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code k} bins ordered by distance from the given point.
+     *
+     * @param wasteType only bins of this type, or {@code null} for any type
+     * @param statuses  only bins in one of these statuses, or {@code null}/empty for any status
+     */
+    public List<Entry> nearest(double latitude, double longitude, int k, WasteType wasteType, Set<BinStatus> statuses) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Max-heap on distance holding the best k candidates seen so far
+        PriorityQueue<Candidate> best = new PriorityQueue<>(k + 1, (a, b) -> Double.compare(b.distance, a.distance));
+
+        lock.readLock().lock();
+        try {
+            if (entriesById.isEmpty()) {
+                return new ArrayList<>();
+            }
+            int centerRow = row(latitude);
+            int centerCol = col(longitude);
+
+            boolean settled = false;
+            for (int ring = 0; ring <= MAX_RINGS; ring++) {
+                if (best.size() == k && best.peek().distance <= ringLowerBound(latitude, ring)) {
+                    settled = true;
+                    break;
+                }
+                for (int r = centerRow - ring; r <= centerRow + ring; r++) {
+                    if (r < 0 || r >= CELLS_PER_LAT) {
+                        continue;
+                    }
+                    boolean edgeRow = r == centerRow - ring || r == centerRow + ring;
+                    int step = edgeRow ? 1 : 2 * ring;
+                    for (int c = centerCol - ring; c <= centerCol + ring; c += step) {
+                        collect(cells.get(cellKey(r, Math.floorMod(c, CELLS_PER_LON))),
+                                latitude, longitude, k, wasteType, statuses, best);
+                    }
+                }
+            }
+
+            if (!settled) {
+                // Sparse data far from the query point: fall back to a full scan
+                best.clear();
+                for (Entry entry : entriesById.values()) {
+                    offer(entry, latitude, longitude, k, wasteType, statuses, best);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Entry> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(best.poll().entry);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Great-circle distance in meters between two points.
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1d, Math.sqrt(a)));
+    }
+
+    private Entry removeInternal(Long id) {
+        Entry previous = entriesById.remove(id);
+        if (previous == null) {
+            return null;
+        }
+        List<Entry> cell = cells.get(previous.cellKey);
+        if (cell != null) {
+            cell.remove(previous);
+            if (cell.isEmpty()) {
+                cells.remove(previous.cellKey);
+            }
+        }
+        return previous;
+    }
+
+    private void notifyChanged(Entry previous, Entry current) {
+        for (Listener listener : listeners) {
+            listener.changed(previous, current);
+        }
+    }
+
+    private void collect(List<Entry> cell, double latitude, double longitude, int k,
+                         WasteType wasteType, Set<BinStatus> statuses, PriorityQueue<Candidate> best) {
+        if (cell == null) {
+            return;
+        }
+        for (Entry entry : cell) {
+            offer(entry, latitude, longitude, k, wasteType, statuses, best);
+        }
+    }
+
+    private void offer(Entry entry, double latitude, double longitude, int k,
+                       WasteType wasteType, Set<BinStatus> statuses, PriorityQueue<Candidate> best) {
+        if (!matches(entry, wasteType, statuses)) {
+            return;
+        }
+        double distance = distanceMeters(latitude, longitude, entry.latitude, entry.longitude);
+        if (best.size() < k) {
+            best.add(new Candidate(entry, distance));
+        } else if (distance < best.peek().distance) {
+            best.poll();
+            best.add(new Candidate(entry, distance));
+        }
+    }
+
+    private static boolean matches(Entry entry, WasteType wasteType, Set<BinStatus> statuses) {
+        if (wasteType != null && entry.wasteType != wasteType) {
+            return false;
+        }
+        return statuses == null || statuses.isEmpty() || statuses.contains(entry.status);
+    }
+
+    /**
+     * Smallest possible distance from the query point to any bin in ring {@code ring} or beyond.
+     */
+    private static double ringLowerBound(double latitude, int ring) {
+        if (ring == 0) {
+            return 0d;
+        }
+        double farthestLat = Math.min(90d, Math.abs(latitude) + ring * CELL_DEGREES);
+        double lonScale = Math.cos(Math.toRadians(farthestLat));
+        return (ring - 1) * CELL_DEGREES * METERS_PER_DEGREE * lonScale;
+    }
+
+    private static int row(double latitude) {
+        return Math.min(CELLS_PER_LAT - 1, Math.max(0, (int) Math.floor((latitude + 90d) / CELL_DEGREES)));
+    }
+
+    private static int col(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180d) / CELL_DEGREES), CELLS_PER_LON);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * Told of every change while the index's write lock is held, so changes arrive one at a time
+     * and in the order they were applied. Implementations must be quick and must not call back
+     * into the index.
+     */
+    public interface Listener {
+        // previous is null for a new bin, current is null for a removed one
+        void changed(Entry previous, Entry current);
+
+        // Everything was replaced; entries is only valid for the duration of the call
+        void reset(Collection<Entry> entries);
+    }
+
+    /**
+     * Immutable snapshot of the bin fields the index needs to answer queries without the database.
+     */
+    public static final class Entry {
+        private final Long id;
+        private final String address;
+        private final double latitude;
+        private final double longitude;
+        private final WasteType wasteType;
+        private final BinStatus status;
+        private final LocalDateTime lastUpdated;
+        private final Integer fillLevel;
+        private final Integer batteryLevel;
+        private final Long zoneId;
+        private final long cellKey;
+
+        private Entry(BinLocation binLocation) {
+            this.id = binLocation.getId();
+            this.address = binLocation.getAddress();
+            this.latitude = binLocation.getLatitude();
+            this.longitude = binLocation.getLongitude();
+            this.wasteType = binLocation.getWasteType();
+            this.status = binLocation.getStatus();
+            this.lastUpdated = binLocation.getLastUpdated();
+            this.fillLevel = binLocation.getFillLevel();
+            this.batteryLevel = binLocation.getBatteryLevel();
+            this.zoneId = binLocation.getZoneId();
+            this.cellKey = cellKey(row(latitude), col(longitude));
+        }
+
+        private Entry(Entry previous, BinStatus status, Integer fillLevel, Integer batteryLevel, LocalDateTime lastUpdated) {
+            this.id = previous.id;
+            this.address = previous.address;
+            this.latitude = previous.latitude;
+            this.longitude = previous.longitude;
+            this.wasteType = previous.wasteType;
+            this.status = status;
+            this.lastUpdated = lastUpdated;
+            this.fillLevel = fillLevel;
+            this.batteryLevel = batteryLevel;
+            this.zoneId = previous.zoneId;
+            this.cellKey = previous.cellKey;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getAddress() {
+            return address;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public WasteType getWasteType() {
+            return wasteType;
+        }
+
+        public BinStatus getStatus() {
+            return status;
+        }
+
+        public LocalDateTime getLastUpdated() {
+            return lastUpdated;
+        }
+
+        public Integer getFillLevel() {
+            return fillLevel;
+        }
+
+        public Integer getBatteryLevel() {
+            return batteryLevel;
+        }
+
+        public Long getZoneId() {
+            return zoneId;
+        }
+    }
+
+    private static final class Candidate {
+        private final Entry entry;
+        private final double distance;
+
+        private Candidate(Entry entry, double distance) {
+            this.entry = entry;
+            this.distance = distance;
+        }
+    }
+}
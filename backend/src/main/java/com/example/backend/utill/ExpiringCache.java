@@ -0,0 +1,139 @@
+package com.example.backend.utill;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small bounded cache with per-entry expiry, safe for concurrent use.
+ * <p>
+ * Reads are lock-free. When a put pushes the cache over its limit, one thread drops expired
+ * entries and then the least recently read ones until the cache is back to 90% of the limit,
+ * so the eviction cost is spread over many puts.
+ */
+public class ExpiringCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long defaultTtlMillis;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringCache(int maxSize, long defaultTtlMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.defaultTtlMillis = defaultTtlMillis;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        entry.lastReadNanos = System.nanoTime();
+        hits.increment();
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, System.currentTimeMillis() + defaultTtlMillis);
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private void evict() {
+        // Another thread is already making room
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            // Loop because other threads keep adding while we evict
+            do {
+                long now = System.currentTimeMillis();
+                int before = entries.size();
+                entries.values().removeIf(entry -> entry.expiresAtMillis <= now);
+
+                int target = Math.max(1, maxSize - maxSize / 10);
+                if (entries.size() > target) {
+                    // Copy the read times first, they keep changing while we sort
+                    List<Candidate<K, V>> candidates = new ArrayList<>(entries.size());
+                    entries.forEach((key, entry) -> candidates.add(new Candidate<>(key, entry, entry.lastReadNanos)));
+                    candidates.sort((x, y) -> Long.compare(x.lastReadNanos, y.lastReadNanos));
+                    int toRemove = candidates.size() - target;
+                    for (int i = 0; i < toRemove; i++) {
+                        entries.remove(candidates.get(i).key, candidates.get(i).entry);
+                    }
+                }
+                evictions.add(Math.max(0, before - entries.size()));
+            } while (entries.size() > maxSize);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+        private volatile long lastReadNanos = System.nanoTime();
+
+        private Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private static final class Candidate<K, V> {
+        private final K key;
+        private final Entry<V> entry;
+        private final long lastReadNanos;
+
+        private Candidate(K key, Entry<V> entry, long lastReadNanos) {
+            this.key = key;
+            this.entry = entry;
+            this.lastReadNanos = lastReadNanos;
+        }
+    }
+}
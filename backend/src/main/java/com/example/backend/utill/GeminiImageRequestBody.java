@@ -0,0 +1,83 @@
+package com.example.backend.utill;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Gemini generateContent request with one inline image and one text part, written straight to
+ * the connection. The image is base64-encoded in small chunks while it is sent, so no base64
+ * string or JSON string of the whole request is ever built on the heap.
+ */
+public class GeminiImageRequestBody extends RequestBody {
+
+    /**
+     * Opens the image bytes; called again if OkHttp has to resend the request.
+     */
+    @FunctionalInterface
+    public interface ImageSource {
+        InputStream open() throws IOException;
+    }
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private final JsonFactory jsonFactory;
+    private final ImageSource imageSource;
+    private final int imageLength;
+    private final String mimeType;
+    private final String prompt;
+
+    public GeminiImageRequestBody(JsonFactory jsonFactory, ImageSource imageSource, int imageLength,
+                                  String mimeType, String prompt) {
+        this.jsonFactory = jsonFactory;
+        this.imageSource = imageSource;
+        this.imageLength = imageLength;
+        this.mimeType = mimeType;
+        this.prompt = prompt;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return JSON;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        OutputStream out = sink.outputStream();
+        try (InputStream image = imageSource.open();
+             JsonGenerator json = jsonFactory.createGenerator(out)) {
+            // The sink belongs to OkHttp, closing the generator must not close it
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            // {"contents":[{"parts":[{"inlineData":{"mimeType":..,"data":..}},{"text":..}]}]}
+            json.writeStartObject();
+            json.writeArrayFieldStart("contents");
+            json.writeStartObject();
+            json.writeArrayFieldStart("parts");
+
+            json.writeStartObject();
+            json.writeObjectFieldStart("inlineData");
+            json.writeStringField("mimeType", mimeType);
+            json.writeFieldName("data");
+            json.writeBinary(Base64Variants.MIME_NO_LINEFEEDS, image, imageLength);
+            json.writeEndObject();
+            json.writeEndObject();
+
+            json.writeStartObject();
+            json.writeStringField("text", prompt);
+            json.writeEndObject();
+
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+}
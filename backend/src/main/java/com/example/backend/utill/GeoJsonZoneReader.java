@@ -0,0 +1,147 @@
+package com.example.backend.utill;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads collection-zone boundaries from GeoJSON: a FeatureCollection or a single Feature, with
+ * Polygon or MultiPolygon geometries in [longitude, latitude] order (RFC 7946). A bare geometry is
+ * rejected because it has nowhere to carry the zone code.
+ * <p>
+ * The zone code comes from the feature's {@code code}, {@code id} or {@code name} property or the
+ * feature id, in that order; the name from {@code name}, falling back to the code. Features that
+ * cannot be used are reported by position and skipped.
+ */
+public final class GeoJsonZoneReader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private GeoJsonZoneReader() {
+    }
+
+    public interface FeatureListener {
+        // geometry is the feature's GeoJSON geometry, already checked to parse with rings()
+        void onZone(int feature, String code, String name, String geometry);
+
+        void onError(int feature, String message);
+    }
+
+    public static void read(InputStream input, FeatureListener listener) throws IOException {
+        JsonNode root;
+        try {
+            root = MAPPER.readTree(input);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Not valid JSON: " + e.getOriginalMessage());
+        }
+        if (root == null || !root.isObject()) {
+            throw new IllegalArgumentException("Expected a GeoJSON object");
+        }
+        String type = root.path("type").asText();
+        if ("FeatureCollection".equals(type)) {
+            JsonNode features = root.path("features");
+            for (int i = 0; i < features.size(); i++) {
+                readFeature(i + 1, features.get(i), listener);
+            }
+        } else if ("Feature".equals(type)) {
+            readFeature(1, root, listener);
+        } else {
+            throw new IllegalArgumentException("Expected a FeatureCollection or Feature, got " + (type.isEmpty() ? "no type" : type));
+        }
+    }
+
+    private static void readFeature(int position, JsonNode feature, FeatureListener listener) {
+        JsonNode properties = feature.path("properties");
+        String code = firstText(properties.get("code"), properties.get("id"), properties.get("name"), feature.get("id"));
+        if (code == null) {
+            listener.onError(position, "No code, id or name to identify the zone");
+            return;
+        }
+        if (code.length() > 64) {
+            listener.onError(position, "Zone code longer than 64 characters");
+            return;
+        }
+        String name = firstText(properties.get("name"), null, null, null);
+        JsonNode geometry = feature.get("geometry");
+        if (geometry == null || geometry.isNull()) {
+            listener.onError(position, "Zone " + code + " has no geometry");
+            return;
+        }
+        String geometryJson = geometry.toString();
+        try {
+            rings(geometryJson);
+        } catch (IllegalArgumentException e) {
+            listener.onError(position, "Zone " + code + ": " + e.getMessage());
+            return;
+        }
+        listener.onZone(position, code, name != null ? name : code, geometryJson);
+    }
+
+    /**
+     * Every ring of a Polygon or MultiPolygon, outer boundaries and holes alike, each as
+     * {@code [lon0, lat0, lon1, lat1, ...]} without the closing point. With the even-odd rule a point
+     * is inside when it falls inside an odd number of them.
+     */
+    public static double[][] rings(String geometryJson) {
+        JsonNode geometry;
+        try {
+            geometry = MAPPER.readTree(geometryJson);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Geometry is not valid JSON");
+        }
+        String type = geometry.path("type").asText();
+        JsonNode coordinates = geometry.path("coordinates");
+        List<double[]> rings = new ArrayList<>();
+        if ("Polygon".equals(type)) {
+            addPolygon(coordinates, rings);
+        } else if ("MultiPolygon".equals(type)) {
+            for (JsonNode polygon : coordinates) {
+                addPolygon(polygon, rings);
+            }
+        } else {
+            throw new IllegalArgumentException("Geometry must be a Polygon or MultiPolygon, got " + (type.isEmpty() ? "no type" : type));
+        }
+        if (rings.isEmpty()) {
+            throw new IllegalArgumentException("Geometry has no rings");
+        }
+        return rings.toArray(new double[0][]);
+    }
+
+    private static void addPolygon(JsonNode polygon, List<double[]> rings) {
+        for (JsonNode ring : polygon) {
+            int points = ring.size();
+            if (points > 0 && ring.get(0).equals(ring.get(points - 1))) {
+                points--;
+            }
+            if (points < 3) {
+                throw new IllegalArgumentException("A ring needs at least three distinct points");
+            }
+            double[] coordinates = new double[points * 2];
+            for (int i = 0; i < points; i++) {
+                JsonNode position = ring.get(i);
+                double longitude = position.path(0).asDouble(Double.NaN);
+                double latitude = position.path(1).asDouble(Double.NaN);
+                if (!(longitude >= -180 && longitude <= 180 && latitude >= -90 && latitude <= 90)) {
+                    throw new IllegalArgumentException("Position " + position + " is not a valid [longitude, latitude]");
+                }
+                coordinates[2 * i] = longitude;
+                coordinates[2 * i + 1] = latitude;
+            }
+            rings.add(coordinates);
+        }
+    }
+
+    private static String firstText(JsonNode first, JsonNode second, JsonNode third, JsonNode fourth) {
+        for (JsonNode node : new JsonNode[]{first, second, third, fourth}) {
+            if (node != null && node.isValueNode() && !node.asText().trim().isEmpty()) {
+                return node.asText().trim();
+            }
+        }
+        return null;
+    }
+}
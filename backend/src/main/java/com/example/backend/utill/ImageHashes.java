@@ -0,0 +1,109 @@
+package com.example.backend.utill;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+
+/**
+ * Hashes used to recognise an uploaded image again: an exact content hash and a perceptual hash
+ * that stays (nearly) the same when the photo is re-encoded or resized.
+ */
+public final class ImageHashes {
+
+    // Longest side decoded for hashing; the 9x8 grid needs far fewer pixels than a photo has
+    private static final int HASH_DECODE_DIMENSION = 256;
+
+    private ImageHashes() {
+    }
+
+    public static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 64-bit difference hash: the image is shrunk to 9x8 grey pixels and each bit says whether a
+     * pixel is brighter than its right neighbour. Returns {@code null} if the bytes cannot be decoded
+     * or the image declares more than {@code maxPixels} pixels.
+     */
+    public static Long differenceHash(byte[] content, long maxPixels) {
+        BufferedImage source;
+        try {
+            source = decodeSmall(content, maxPixels);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+        if (source == null) {
+            return null;
+        }
+
+        // Box-average into 9x8 grey cells, plain rescaling would only sample a few pixels of a large photo
+        int width = source.getWidth();
+        int height = source.getHeight();
+        long[] sums = new long[72];
+        long[] counts = new long[72];
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            source.getRGB(0, y, width, 1, row, 0, width);
+            int cellRow = y * 8 / height;
+            for (int x = 0; x < width; x++) {
+                int rgb = row[x];
+                int grey = (((rgb >> 16) & 0xff) * 299 + ((rgb >> 8) & 0xff) * 587 + (rgb & 0xff) * 114) / 1000;
+                int cell = cellRow * 9 + x * 9 / width;
+                sums[cell] += grey;
+                counts[cell]++;
+            }
+        }
+
+        long hash = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                int left = y * 9 + x;
+                // Compare sums cross-multiplied by counts instead of dividing, cells can differ in size
+                boolean brighter = sums[left] * Math.max(1, counts[left + 1]) > sums[left + 1] * Math.max(1, counts[left]);
+                hash = (hash << 1) | (brighter ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    // Checks the declared size from the header before decoding, then lets the decoder skip pixels
+    private static BufferedImage decodeSmall(byte[] content, long maxPixels) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / HASH_DECODE_DIMENSION);
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    public static int hammingDistance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.backend.utill;
+
+import com.example.backend.DTO.PreprocessStatsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shrinks uploaded photos before they are sent to an analysis provider: decode, downscale so the
+ * longest side is at most {@code max-dimension}, and re-encode as a JPEG of at most {@code max-bytes}.
+ * Re-encoding drops EXIF (GPS position included) and other metadata, so a JPEG's EXIF orientation is
+ * applied to the pixels first. Every image that decodes is re-encoded, even when that does not make it
+ * smaller; images that cannot be decoded in time are passed on with their JPEG metadata segments cut out.
+ */
+@Component
+public class ImagePreprocessor {
+
+    private static final float[] JPEG_QUALITIES = {0.85f, 0.75f, 0.6f, 0.45f};
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+
+    @Autowired
+    private ThreadPoolExecutor imagePreprocessExecutor;
+
+    @Value("${recycling.preprocess.enabled:true}")
+    private boolean enabled;
+
+    @Value("${recycling.preprocess.max-dimension:1024}")
+    private int maxDimension;
+
+    @Value("${recycling.preprocess.max-bytes:400000}")
+    private int maxBytes;
+
+    // Refuse to decode anything bigger, a small file can still unpack into gigabytes of pixels
+    @Value("${recycling.preprocess.max-pixels:60000000}")
+    private long maxPixels;
+
+    @Value("${recycling.preprocess.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    private final LatencyHistogram latency = new LatencyHistogram(6, 10_000);
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder passedThrough = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+
+    public Prepared prepare(byte[] image, String contentType) {
+        if (!enabled) {
+            return new Prepared(image, contentType);
+        }
+        long start = System.nanoTime();
+        byte[] shrunk = null;
+        Future<byte[]> future = imagePreprocessExecutor.submit(() -> shrink(image));
+        try {
+            shrunk = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            future.cancel(true);
+        } catch (ExecutionException e) {
+            // Broken or unsupported image, handled below like a timeout
+        }
+        latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        bytesIn.add(image.length);
+        if (shrunk == null) {
+            byte[] stripped = stripJpegMetadata(image);
+            passedThrough.increment();
+            bytesOut.add(stripped.length);
+            return new Prepared(stripped, contentType);
+        }
+        processed.increment();
+        bytesOut.add(shrunk.length);
+        return new Prepared(shrunk, "image/jpeg");
+    }
+
+    public PreprocessStatsDTO getStats() {
+        return new PreprocessStatsDTO(enabled, processed.sum(), passedThrough.sum(), bytesIn.sum(), bytesOut.sum(),
+                latency.percentile(50), latency.percentile(95));
+    }
+
+    byte[] shrink(byte[] image) throws IOException {
+        BufferedImage decoded = decode(image);
+        if (decoded == null) {
+            return null;
+        }
+        BufferedImage scaled = scale(decoded, exifOrientation(image));
+
+        byte[] best = null;
+        for (float quality : JPEG_QUALITIES) {
+            best = encodeJpeg(scaled, quality);
+            if (best.length <= maxBytes) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    private BufferedImage decode(byte[] image) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    return null;
+                }
+
+                // Let the decoder skip pixels we would throw away anyway, keeping at least
+                // twice the target size so the final downscale still has detail to average
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (2 * maxDimension));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Scales and turns the stored pixels the way the EXIF orientation (1-8) says they are meant to be shown
+    private BufferedImage scale(BufferedImage source, int orientation) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double factor = Math.min(1d, (double) maxDimension / Math.max(width, height));
+        int scaledWidth = Math.max(1, (int) Math.round(width * factor));
+        int scaledHeight = Math.max(1, (int) Math.round(height * factor));
+        boolean transposed = orientation >= 5;
+        int targetWidth = transposed ? scaledHeight : scaledWidth;
+        int targetHeight = transposed ? scaledWidth : scaledHeight;
+
+        // JPEG has no alpha, paint transparent areas white instead of black
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, targetWidth, targetHeight);
+            graphics.transform(orientationTransform(orientation, scaledWidth, scaledHeight));
+            graphics.drawImage(source, 0, 0, scaledWidth, scaledHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static AffineTransform orientationTransform(int orientation, int width, int height) {
+        switch (orientation) {
+            case 2: // mirrored
+                return new AffineTransform(-1, 0, 0, 1, width, 0);
+            case 3: // upside down
+                return new AffineTransform(-1, 0, 0, -1, width, height);
+            case 4: // upside down and mirrored
+                return new AffineTransform(1, 0, 0, -1, 0, height);
+            case 5: // mirrored along the top-left to bottom-right diagonal
+                return new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6: // needs a quarter turn clockwise
+                return new AffineTransform(0, 1, -1, 0, height, 0);
+            case 7: // mirrored along the other diagonal
+                return new AffineTransform(0, -1, -1, 0, height, width);
+            case 8: // needs a quarter turn anticlockwise
+                return new AffineTransform(0, -1, 1, 0, 0, width);
+            default:
+                return new AffineTransform();
+        }
+    }
+
+    /**
+     * The Orientation tag of a JPEG's EXIF block, 1 (as stored) when there is none or it cannot be read.
+     */
+    static int exifOrientation(byte[] image) {
+        if (image.length < 4 || (image[0] & 0xFF) != 0xFF || (image[1] & 0xFF) != 0xD8) {
+            return 1;
+        }
+        int pos = 2;
+        while (pos + 4 <= image.length && (image[pos] & 0xFF) == 0xFF) {
+            int marker = image[pos + 1] & 0xFF;
+            // EXIF sits in the header segments, stop at the image data
+            if (marker == 0xDA || marker == 0xD9) {
+                break;
+            }
+            int length = readShort(image, pos + 2, false);
+            int end = Math.min(image.length, pos + 2 + length);
+            if (marker == 0xE1 && length >= 16 && image[pos + 4] == 'E' && image[pos + 5] == 'x'
+                    && image[pos + 6] == 'i' && image[pos + 7] == 'f' && image[pos + 8] == 0 && image[pos + 9] == 0) {
+                return tiffOrientation(image, pos + 10, end);
+            }
+            pos += 2 + length;
+        }
+        return 1;
+    }
+
+    // Looks through the first image file directory of the TIFF structure inside the EXIF segment
+    private static int tiffOrientation(byte[] image, int tiff, int end) {
+        if (tiff + 8 > end) {
+            return 1;
+        }
+        boolean littleEndian = image[tiff] == 'I' && image[tiff + 1] == 'I';
+        if (!littleEndian && !(image[tiff] == 'M' && image[tiff + 1] == 'M')) {
+            return 1;
+        }
+        long directory = tiff + readInt(image, tiff + 4, littleEndian);
+        if (directory + 2 > end) {
+            return 1;
+        }
+        int entries = readShort(image, (int) directory, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = (int) directory + 2 + i * 12;
+            if (entry + 12 > end) {
+                break;
+            }
+            if (readShort(image, entry, littleEndian) == EXIF_ORIENTATION_TAG) {
+                int orientation = readShort(image, entry + 8, littleEndian);
+                return orientation >= 1 && orientation <= 8 ? orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static int readShort(byte[] data, int offset, boolean littleEndian) {
+        int a = data[offset] & 0xFF;
+        int b = data[offset + 1] & 0xFF;
+        return littleEndian ? (b << 8) | a : (a << 8) | b;
+    }
+
+    private static long readInt(byte[] data, int offset, boolean littleEndian) {
+        long high = readShort(data, offset, littleEndian);
+        long low = readShort(data, offset + 2, littleEndian);
+        return littleEndian ? (low << 16) | high : (high << 16) | low;
+    }
+
+    /**
+     * A JPEG with its APP1-APP13 and APP15 segments (EXIF, XMP, IPTC...) and comments removed, without
+     * decoding it. JFIF (APP0) and Adobe (APP14) stay, they affect how the pixels are decoded. Anything
+     * that is not a well-formed JPEG comes back unchanged.
+     */
+    static byte[] stripJpegMetadata(byte[] image) {
+        if (image.length < 4 || (image[0] & 0xFF) != 0xFF || (image[1] & 0xFF) != 0xD8) {
+            return image;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(image.length);
+        out.write(image, 0, 2);
+        int pos = 2;
+        while (pos + 4 <= image.length) {
+            if ((image[pos] & 0xFF) != 0xFF) {
+                return image;
+            }
+            int marker = image[pos + 1] & 0xFF;
+            if (marker == 0xFF) {
+                pos++; // fill byte
+                continue;
+            }
+            if (marker == 0xDA) {
+                // Start of scan: the rest is image data
+                out.write(image, pos, image.length - pos);
+                return out.toByteArray();
+            }
+            int length = readShort(image, pos + 2, false);
+            if (length < 2 || pos + 2 + length > image.length) {
+                return image;
+            }
+            boolean metadata = (marker >= 0xE1 && marker <= 0xED) || marker == 0xEF || marker == 0xFE;
+            if (!metadata) {
+                out.write(image, pos, 2 + length);
+            }
+            pos += 2 + length;
+        }
+        return image;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Image bytes as they should be sent to the provider.
+     */
+    public static final class Prepared {
+        private final byte[] content;
+        private final String contentType;
+
+        private Prepared(byte[] content, String contentType) {
+            this.content = content;
+            this.contentType = contentType;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+}
@@ -20,9 +20,33 @@ public class JwtUtil {
     private static final String SECRET_KEY = "12345678";
     private static final int TOKEN_VALIDITY = 3600 * 5;
 
+    // Tokens whose signature was already checked, kept until they expire
+    private static final int VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+
+    private final ExpiringCache<String, VerifiedToken> verifiedTokens =
+            new ExpiringCache<>(VERIFIED_TOKEN_CACHE_SIZE, TOKEN_VALIDITY * 1000L);
+
+    /**
+     * Parses and verifies the token once and returns its subject and expiry. Tokens seen before are
+     * served from the cache without repeating the HMAC check. Throws the usual jjwt exceptions for
+     * malformed, badly signed or expired tokens.
+     */
+    public VerifiedToken verifyToken(String token) {
+        VerifiedToken verifiedToken = verifiedTokens.get(token);
+        if (verifiedToken != null) {
+            return verifiedToken;
+        }
+
+        Claims claims = getAllClaimsFromToken(token);
+        verifiedToken = new VerifiedToken(claims.getSubject(), claims.getExpiration());
+        if (verifiedToken.getExpiration() != null) {
+            verifiedTokens.put(token, verifiedToken, verifiedToken.getExpiration().getTime());
+        }
+        return verifiedToken;
+    }
 
     public String getUsernameFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
+        return verifyToken(token).getUsername();
     }
 
     public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
@@ -35,16 +59,18 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
+        return validateToken(verifyToken(token), userDetails);
+    }
 
-        // There's a logic issue here - you're checking if token IS expired
-        // Should be checking if token is NOT expired
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public boolean validateToken(VerifiedToken verifiedToken, UserDetails userDetails) {
+        return verifiedToken.getUsername() != null
+                && verifiedToken.getUsername().equals(userDetails.getUsername())
+                && !isTokenExpired(verifiedToken);
     }
 
-    private boolean isTokenExpired(String token) {
-        final Date expiration = getClaimFromToken(token, Claims::getExpiration);
-        return expiration.before(new Date());
+    private boolean isTokenExpired(VerifiedToken verifiedToken) {
+        final Date expiration = verifiedToken.getExpiration();
+        return expiration != null && expiration.before(new Date());
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -57,4 +83,25 @@ public class JwtUtil {
                 .signWith(SignatureAlgorithm.HS512, SECRET_KEY)  // Changed from ES512 to HS512
                 .compact();
     }
-}
\ No newline at end of file
+
+    /**
+     * The parts of a verified token the request filter needs.
+     */
+    public static final class VerifiedToken {
+        private final String username;
+        private final Date expiration;
+
+        public VerifiedToken(String username, Date expiration) {
+            this.username = username;
+            this.expiration = expiration;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public Date getExpiration() {
+            return expiration;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.example.backend.utill;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Weighted k-means over planar points held in primitive arrays.
+ * <p>
+ * Centers are seeded with k-means++ (each new center drawn with probability proportional to weight
+ * times squared distance to the nearest center so far), then refined with Lloyd iterations. Both the
+ * distance updates and the assignment steps split the points into fixed chunks that run in parallel
+ * on the given fork/join pool; each chunk returns its own partial sums, which are added up afterwards,
+ * so no state is shared between threads and the result does not depend on the thread count.
+ * <p>
+ * With a capacity, points are then reassigned greedily so that no cluster holds more than that many
+ * points: points with most to lose from not getting their nearest center go first.
+ */
+public final class KMeansClusterer {
+
+    private static final int CHUNK_SIZE = 4096;
+    private static final int MAX_CAPACITY_ROUNDS = 20;
+    // Lloyd iterations stop once fewer than this share of the points change cluster, or the cost
+    // improves by less than this fraction; the long tail after that barely moves the centers
+    private static final double CONVERGED_CHANGE_FRACTION = 1e-4;
+    private static final double CONVERGED_COST_FRACTION = 1e-4;
+
+    private final ForkJoinPool pool;
+    private final int maxIterations;
+
+    public KMeansClusterer(ForkJoinPool pool, int maxIterations) {
+        this.pool = pool;
+        this.maxIterations = Math.max(1, maxIterations);
+    }
+
+    /**
+     * @param weights  weight of each point, or {@code null} for all ones
+     * @param capacity most points per cluster, or 0 for no limit
+     * @param seed     seeding is random; the same seed gives the same clusters
+     */
+    public Result cluster(double[] x, double[] y, double[] weights, int k, int capacity, long seed) {
+        int n = x.length;
+        if (k < 1 || k > n) {
+            throw new IllegalArgumentException("k must be between 1 and the number of points (" + n + ")");
+        }
+        if (capacity > 0 && (long) capacity * k < n) {
+            throw new IllegalArgumentException(k + " clusters of at most " + capacity + " cannot hold " + n + " points");
+        }
+        double[] w = weights != null ? weights : filled(n, 1d);
+        double[] centerX = new double[k];
+        double[] centerY = new double[k];
+        seed(x, y, w, k, new Random(seed), centerX, centerY);
+
+        int[] assignment = new int[n];
+        Arrays.fill(assignment, -1);
+        long settled = (long) (n * CONVERGED_CHANGE_FRACTION);
+        int iterations = 0;
+        boolean converged = false;
+        double previousCost = Double.MAX_VALUE;
+        while (iterations < maxIterations && !converged) {
+            iterations++;
+            Partial step = assign(x, y, w, centerX, centerY, assignment);
+            boolean reseeded = moveCenters(step, x, y, w, centerX, centerY, assignment);
+            converged = !reseeded && (step.changed <= settled || previousCost - step.cost <= previousCost * CONVERGED_COST_FRACTION);
+            previousCost = step.cost;
+        }
+
+        if (capacity > 0) {
+            for (int round = 0; round < MAX_CAPACITY_ROUNDS; round++) {
+                int changed = assignWithCapacity(x, y, w, centerX, centerY, capacity, assignment);
+                Partial sums = sums(x, y, w, assignment, k);
+                moveCenters(sums, x, y, w, centerX, centerY, assignment);
+                if (changed == 0) {
+                    break;
+                }
+            }
+        }
+
+        int[] sizes = new int[k];
+        double[] clusterWeights = new double[k];
+        double cost = 0;
+        for (int i = 0; i < n; i++) {
+            int c = assignment[i];
+            sizes[c]++;
+            clusterWeights[c] += w[i];
+            cost += w[i] * squaredDistance(x[i], y[i], centerX[c], centerY[c]);
+        }
+        return new Result(centerX, centerY, assignment, sizes, clusterWeights, iterations, converged, cost);
+    }
+
+    private void seed(double[] x, double[] y, double[] w, int k, Random random, double[] centerX, double[] centerY) {
+        int n = x.length;
+        int first = pick(w, null, random.nextDouble() * total(w));
+        centerX[0] = x[first];
+        centerY[0] = y[first];
+
+        double[] nearest = filled(n, Double.MAX_VALUE);
+        for (int c = 1; c < k; c++) {
+            double cx = centerX[c - 1];
+            double cy = centerY[c - 1];
+            // Fold in the newest center and return each chunk's sum of weight * squared distance
+            double[] chunkTotals = parallel(n, (from, to) -> {
+                double sum = 0;
+                for (int i = from; i < to; i++) {
+                    double d = squaredDistance(x[i], y[i], cx, cy);
+                    if (d < nearest[i]) {
+                        nearest[i] = d;
+                    }
+                    sum += w[i] * nearest[i];
+                }
+                return sum;
+            });
+            double total = 0;
+            for (double chunkTotal : chunkTotals) {
+                total += chunkTotal;
+            }
+            int next = total > 0 ? pick(w, nearest, random.nextDouble() * total) : random.nextInt(n);
+            centerX[c] = x[next];
+            centerY[c] = y[next];
+        }
+    }
+
+    // Index where the running sum of w[i] * d[i] (or w[i] without d) first passes target
+    private static int pick(double[] w, double[] d, double target) {
+        double running = 0;
+        int last = 0;
+        for (int i = 0; i < w.length; i++) {
+            double mass = d != null ? w[i] * d[i] : w[i];
+            if (mass > 0) {
+                running += mass;
+                last = i;
+                if (running >= target) {
+                    return i;
+                }
+            }
+        }
+        return last;
+    }
+
+    // Assigns every point to its nearest center and returns the per-cluster sums of the new assignment
+    private Partial assign(double[] x, double[] y, double[] w, double[] centerX, double[] centerY, int[] assignment) {
+        int k = centerX.length;
+        Partial[] partials = parallelChunks(x.length, Partial[]::new, (from, to) -> {
+            Partial partial = new Partial(k);
+            for (int i = from; i < to; i++) {
+                int best = 0;
+                double bestDistance = Double.MAX_VALUE;
+                for (int c = 0; c < k; c++) {
+                    double d = squaredDistance(x[i], y[i], centerX[c], centerY[c]);
+                    if (d < bestDistance) {
+                        best = c;
+                        bestDistance = d;
+                    }
+                }
+                if (assignment[i] != best) {
+                    assignment[i] = best;
+                    partial.changed++;
+                }
+                partial.add(best, x[i], y[i], w[i]);
+                partial.cost += w[i] * bestDistance;
+            }
+            return partial;
+        });
+        return Partial.merge(partials, k);
+    }
+
+    private Partial sums(double[] x, double[] y, double[] w, int[] assignment, int k) {
+        Partial[] partials = parallelChunks(x.length, Partial[]::new, (from, to) -> {
+            Partial partial = new Partial(k);
+            for (int i = from; i < to; i++) {
+                partial.add(assignment[i], x[i], y[i], w[i]);
+            }
+            return partial;
+        });
+        return Partial.merge(partials, k);
+    }
+
+    // Centers to the weighted mean of their points; an empty cluster takes over the worst-placed point
+    private static boolean moveCenters(Partial sums, double[] x, double[] y, double[] w,
+                                       double[] centerX, double[] centerY, int[] assignment) {
+        int k = centerX.length;
+        boolean reseeded = false;
+        for (int c = 0; c < k; c++) {
+            if (sums.weight[c] > 0) {
+                centerX[c] = sums.sumX[c] / sums.weight[c];
+                centerY[c] = sums.sumY[c] / sums.weight[c];
+            } else if (sums.count[c] == 0) {
+                int worst = 0;
+                double worstCost = -1;
+                for (int i = 0; i < x.length; i++) {
+                    int own = assignment[i];
+                    double cost = w[i] * squaredDistance(x[i], y[i], centerX[own], centerY[own]);
+                    if (cost > worstCost && sums.count[own] > 1) {
+                        worst = i;
+                        worstCost = cost;
+                    }
+                }
+                sums.count[assignment[worst]]--;
+                sums.count[c]++;
+                centerX[c] = x[worst];
+                centerY[c] = y[worst];
+                assignment[worst] = c;
+                reseeded = true;
+            }
+        }
+        return reseeded;
+    }
+
+    private int assignWithCapacity(double[] x, double[] y, double[] w, double[] centerX, double[] centerY,
+                                   int capacity, int[] assignment) {
+        int n = x.length;
+        int k = centerX.length;
+        // Regret: how much further the second-nearest center is than the nearest
+        double[] regret = new double[n];
+        parallel(n, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                double best = Double.MAX_VALUE;
+                double second = Double.MAX_VALUE;
+                for (int c = 0; c < k; c++) {
+                    double d = squaredDistance(x[i], y[i], centerX[c], centerY[c]);
+                    if (d < best) {
+                        second = best;
+                        best = d;
+                    } else if (d < second) {
+                        second = d;
+                    }
+                }
+                regret[i] = k > 1 ? (Math.sqrt(second) - Math.sqrt(best)) * w[i] : 0;
+            }
+            return 0d;
+        });
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> -regret[i]));
+
+        int[] load = new int[k];
+        int changed = 0;
+        for (int i : order) {
+            int best = -1;
+            double bestDistance = Double.MAX_VALUE;
+            for (int c = 0; c < k; c++) {
+                if (load[c] < capacity) {
+                    double d = squaredDistance(x[i], y[i], centerX[c], centerY[c]);
+                    if (d < bestDistance) {
+                        best = c;
+                        bestDistance = d;
+                    }
+                }
+            }
+            load[best]++;
+            if (assignment[i] != best) {
+                assignment[i] = best;
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private double[] parallel(int n, ChunkTask<Double> task) {
+        Double[] results = parallelChunks(n, Double[]::new, task);
+        double[] values = new double[results.length];
+        for (int i = 0; i < results.length; i++) {
+            values[i] = results[i];
+        }
+        return values;
+    }
+
+    private <T> T[] parallelChunks(int n, IntFunction<T[]> arrayFactory, ChunkTask<T> task) {
+        int chunks = (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        try {
+            return pool.submit(() -> IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> task.run(chunk * CHUNK_SIZE, Math.min(n, (chunk + 1) * CHUNK_SIZE)))
+                    .toArray(arrayFactory)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Clustering interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Clustering failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static double total(double[] values) {
+        double total = 0;
+        for (double value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    private static double[] filled(int n, double value) {
+        double[] values = new double[n];
+        Arrays.fill(values, value);
+        return values;
+    }
+
+    private static double squaredDistance(double x1, double y1, double x2, double y2) {
+        double dx = x1 - x2;
+        double dy = y1 - y2;
+        return dx * dx + dy * dy;
+    }
+
+    private interface ChunkTask<T> {
+        T run(int from, int to);
+    }
+
+    // Per-cluster sums over one chunk of points, or over all of them once merged
+    private static final class Partial {
+        private final double[] sumX;
+        private final double[] sumY;
+        private final double[] weight;
+        private final int[] count;
+        private int changed;
+        private double cost;
+
+        private Partial(int k) {
+            sumX = new double[k];
+            sumY = new double[k];
+            weight = new double[k];
+            count = new int[k];
+        }
+
+        private void add(int cluster, double x, double y, double w) {
+            sumX[cluster] += w * x;
+            sumY[cluster] += w * y;
+            weight[cluster] += w;
+            count[cluster]++;
+        }
+
+        private static Partial merge(Partial[] partials, int k) {
+            Partial total = new Partial(k);
+            for (Partial partial : partials) {
+                for (int c = 0; c < k; c++) {
+                    total.sumX[c] += partial.sumX[c];
+                    total.sumY[c] += partial.sumY[c];
+                    total.weight[c] += partial.weight[c];
+                    total.count[c] += partial.count[c];
+                }
+                total.changed += partial.changed;
+                total.cost += partial.cost;
+            }
+            return total;
+        }
+    }
+
+    public static final class Result {
+        private final double[] centerX;
+        private final double[] centerY;
+        private final int[] assignment;
+        private final int[] sizes;
+        private final double[] weights;
+        private final int iterations;
+        private final boolean converged;
+        private final double cost;
+
+        private Result(double[] centerX, double[] centerY, int[] assignment, int[] sizes, double[] weights,
+                       int iterations, boolean converged, double cost) {
+            this.centerX = centerX;
+            this.centerY = centerY;
+            this.assignment = assignment;
+            this.sizes = sizes;
+            this.weights = weights;
+            this.iterations = iterations;
+            this.converged = converged;
+            this.cost = cost;
+        }
+
+        public double[] getCenterX() {
+            return centerX;
+        }
+
+        public double[] getCenterY() {
+            return centerY;
+        }
+
+        // Cluster of each point
+        public int[] getAssignment() {
+            return assignment;
+        }
+
+        public int[] getSizes() {
+            return sizes;
+        }
+
+        public double[] getWeights() {
+            return weights;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        // False when the Lloyd iterations hit the limit before (almost) no point changed cluster any more
+        public boolean isConverged() {
+            return converged;
+        }
+
+        // Sum of weight times squared distance to the assigned center
+        public double getCost() {
+            return cost;
+        }
+    }
+}
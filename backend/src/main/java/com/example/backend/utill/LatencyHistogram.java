@@ -0,0 +1,112 @@
+package com.example.backend.utill;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency histogram over a rolling time window, cheap enough to record every outbound call.
+ * <p>
+ * Buckets grow by 25% from 1 ms to about 3 minutes, so a percentile is accurate to within one
+ * bucket. The window is split into slots; a slot is cleared when it comes round again, so
+ * percentiles only reflect the last {@code slots * slotMillis} milliseconds.
+ */
+public class LatencyHistogram {
+
+    private static final double GROWTH = 1.25;
+    private static final int BUCKETS = 55;
+    private static final long[] UPPER_BOUNDS_MILLIS = new long[BUCKETS];
+
+    static {
+        double bound = 1;
+        for (int i = 0; i < BUCKETS; i++) {
+            UPPER_BOUNDS_MILLIS[i] = (long) Math.ceil(bound);
+            bound *= GROWTH;
+        }
+    }
+
+    private final int slots;
+    private final long slotMillis;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray slotEpochs;
+
+    public LatencyHistogram(int slots, long slotMillis) {
+        this.slots = slots;
+        this.slotMillis = slotMillis;
+        this.counts = new AtomicLongArray(slots * BUCKETS);
+        this.slotEpochs = new AtomicLongArray(slots);
+    }
+
+    public void record(long millis) {
+        long epoch = System.currentTimeMillis() / slotMillis;
+        int slot = (int) (epoch % slots);
+        long slotEpoch = slotEpochs.get(slot);
+        if (slotEpoch != epoch && slotEpochs.compareAndSet(slot, slotEpoch, epoch)) {
+            // First record in a new period for this slot: drop what it held from the last lap
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(slot * BUCKETS + i, 0);
+            }
+        }
+        counts.incrementAndGet(slot * BUCKETS + bucketOf(millis));
+    }
+
+    public long count() {
+        long total = 0;
+        for (long bucketCount : snapshot()) {
+            total += bucketCount;
+        }
+        return total;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile (0-100), or -1 if nothing was recorded.
+     */
+    public long percentile(double percentile) {
+        long[] merged = snapshot();
+        long total = 0;
+        for (long bucketCount : merged) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100d);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += merged[i];
+            if (seen >= Math.max(1, rank)) {
+                return UPPER_BOUNDS_MILLIS[i];
+            }
+        }
+        return UPPER_BOUNDS_MILLIS[BUCKETS - 1];
+    }
+
+    private long[] snapshot() {
+        long currentEpoch = System.currentTimeMillis() / slotMillis;
+        long[] merged = new long[BUCKETS];
+        for (int slot = 0; slot < slots; slot++) {
+            // Slots not written during the current window hold stale data
+            if (currentEpoch - slotEpochs.get(slot) >= slots) {
+                continue;
+            }
+            for (int i = 0; i < BUCKETS; i++) {
+                merged[i] += counts.get(slot * BUCKETS + i);
+            }
+        }
+        return merged;
+    }
+
+    private static int bucketOf(long millis) {
+        if (millis <= 1) {
+            return 0;
+        }
+        int bucket = (int) Math.ceil(Math.log(millis) / Math.log(GROWTH));
+        // Rounding in the log can land one bucket off either way
+        while (bucket > 0 && UPPER_BOUNDS_MILLIS[Math.min(bucket, BUCKETS - 1)] >= millis
+                && UPPER_BOUNDS_MILLIS[Math.min(bucket - 1, BUCKETS - 1)] >= millis) {
+            bucket--;
+        }
+        while (bucket < BUCKETS - 1 && UPPER_BOUNDS_MILLIS[bucket] < millis) {
+            bucket++;
+        }
+        return Math.min(bucket, BUCKETS - 1);
+    }
+}
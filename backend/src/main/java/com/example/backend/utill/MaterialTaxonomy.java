@@ -0,0 +1,135 @@
+package com.example.backend.utill;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Keyword to material table used to classify image tags, loaded from JSON
+ * ({@code recycling/material-taxonomy.json}).
+ * <p>
+ * Keywords are grouped by language code; only {@code en} is listed because that is the language
+ * Imagga returns tags in. Every keyword is compiled into one {@link AhoCorasick} automaton, so
+ * classifying a tag list is a single pass over the tags whatever the size of the table. A keyword
+ * only counts when it is a whole word (or words) of the tag. Each tag adds its confidence to every
+ * material it mentions once; the material with the highest total wins, ties go to the one listed first.
+ */
+public final class MaterialTaxonomy {
+
+    private final List<Material> materials;
+    private final Material unknown;
+    private final int[] materialOfKeyword;
+    private final AhoCorasick automaton;
+
+    private MaterialTaxonomy(List<Material> materials, Material unknown, List<String> keywords, List<Integer> materialOfKeyword) {
+        this.materials = materials;
+        this.unknown = unknown;
+        this.materialOfKeyword = materialOfKeyword.stream().mapToInt(Integer::intValue).toArray();
+        this.automaton = new AhoCorasick(keywords);
+    }
+
+    public static MaterialTaxonomy load(InputStream json) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(json);
+
+        List<Material> materials = new ArrayList<>();
+        List<String> keywords = new ArrayList<>();
+        List<Integer> materialOfKeyword = new ArrayList<>();
+        for (JsonNode node : root.path("materials")) {
+            int index = materials.size();
+            materials.add(material(node));
+            Iterator<JsonNode> languages = node.path("keywords").elements();
+            while (languages.hasNext()) {
+                for (JsonNode keyword : languages.next()) {
+                    keywords.add(keyword.asText().toLowerCase(Locale.ROOT));
+                    materialOfKeyword.add(index);
+                }
+            }
+        }
+        if (materials.isEmpty()) {
+            throw new IOException("Material taxonomy has no materials");
+        }
+        return new MaterialTaxonomy(materials, material(root.path("unknown")), keywords, materialOfKeyword);
+    }
+
+    /**
+     * @param confidences weight of each tag (Imagga confidence), or {@code null} to weigh all tags equally
+     */
+    public Material classify(List<String> tags, List<Double> confidences) {
+        double[] scores = new double[materials.size()];
+        int[] lastTag = new int[materials.size()];
+        Arrays.fill(lastTag, -1);
+
+        for (int t = 0; t < tags.size(); t++) {
+            String tag = tags.get(t).toLowerCase(Locale.ROOT);
+            double weight = confidences != null ? confidences.get(t) : 1d;
+            int tagIndex = t;
+            automaton.match(tag, (keyword, start, end) -> {
+                int material = materialOfKeyword[keyword];
+                // Count a material once per tag, and only for whole-word matches
+                if (lastTag[material] != tagIndex && isWordBoundary(tag, start, end)) {
+                    lastTag[material] = tagIndex;
+                    scores[material] += weight;
+                }
+            });
+        }
+
+        int best = -1;
+        for (int m = 0; m < scores.length; m++) {
+            if (scores[m] > 0 && (best < 0 || scores[m] > scores[best])) {
+                best = m;
+            }
+        }
+        return best >= 0 ? materials.get(best) : unknown;
+    }
+
+    public int size() {
+        return materials.size();
+    }
+
+    private static boolean isWordBoundary(String text, int start, int end) {
+        return (start == 0 || !isWordChar(text.charAt(start - 1)))
+                && (end == text.length() || !isWordChar(text.charAt(end)));
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    private static Material material(JsonNode node) {
+        return new Material(
+                node.path("name").asText("Unknown material"),
+                node.path("recyclability").asText("Please check with local recycling guidelines"),
+                node.path("recyclingProcess").asText("Please consult your local recycling guidelines for proper disposal methods"));
+    }
+
+    public static final class Material {
+        private final String name;
+        private final String recyclability;
+        private final String recyclingProcess;
+
+        private Material(String name, String recyclability, String recyclingProcess) {
+            this.name = name;
+            this.recyclability = recyclability;
+            this.recyclingProcess = recyclingProcess;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getRecyclability() {
+            return recyclability;
+        }
+
+        public String getRecyclingProcess() {
+            return recyclingProcess;
+        }
+    }
+}
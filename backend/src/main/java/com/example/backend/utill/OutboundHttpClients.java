@@ -0,0 +1,65 @@
+package com.example.backend.utill;
+
+import com.example.backend.DTO.ProviderStatsDTO;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands out one {@link ProviderClient} per external provider, configured from
+ * {@code outbound.provider.<name>.*} properties, and collects their stats.
+ */
+@Component
+public class OutboundHttpClients {
+
+    @Autowired
+    private OkHttpClient sharedHttpClient;
+
+    @Autowired
+    private Environment environment;
+
+    private final Map<String, ProviderClient> clients = new ConcurrentHashMap<>();
+
+    public ProviderClient get(String provider) {
+        return clients.computeIfAbsent(provider, this::create);
+    }
+
+    public List<ProviderStatsDTO> getStats() {
+        List<ProviderStatsDTO> stats = new ArrayList<>();
+        clients.values().forEach(client -> stats.add(client.getStats()));
+        return stats;
+    }
+
+    private ProviderClient create(String provider) {
+        String prefix = "outbound.provider." + provider + ".";
+        OkHttpClient httpClient = sharedHttpClient.newBuilder()
+                .connectTimeout(property(prefix + "connect-timeout-ms", 3_000), TimeUnit.MILLISECONDS)
+                .readTimeout(property(prefix + "read-timeout-ms", 20_000), TimeUnit.MILLISECONDS)
+                .writeTimeout(property(prefix + "write-timeout-ms", 20_000), TimeUnit.MILLISECONDS)
+                // Hard cap on the whole call, including redirects and reading the body
+                .callTimeout(property(prefix + "call-timeout-ms", 30_000), TimeUnit.MILLISECONDS)
+                .build();
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                property(prefix + "circuit.window-size", 20),
+                property(prefix + "circuit.minimum-calls", 10),
+                property(prefix + "circuit.failure-rate", 50) / 100d,
+                property(prefix + "circuit.open-ms", 30_000));
+
+        return new ProviderClient(provider, httpClient, circuitBreaker,
+                property(prefix + "max-concurrent", 16),
+                property(prefix + "bulkhead-wait-ms", 0),
+                new LatencyHistogram(6, 10_000));
+    }
+
+    private int property(String key, int defaultValue) {
+        return environment.getProperty(key, Integer.class, defaultValue);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.backend.utill;
+
+/**
+ * Equirectangular projection of lat/lon onto a plane in meters, scaled for one reference latitude.
+ * Across a city the error is well under 1%, and every distance afterwards is a single sqrt instead
+ * of a haversine, which is what route planning and clustering spend most of their time on.
+ */
+public final class PlanarProjection {
+
+    private static final double METERS_PER_DEGREE = Math.PI * 6_371_000d / 180d;
+
+    private final double lonScale;
+
+    public PlanarProjection(double referenceLatitude) {
+        this.lonScale = Math.cos(Math.toRadians(referenceLatitude));
+    }
+
+    public double x(double longitude) {
+        return longitude * lonScale * METERS_PER_DEGREE;
+    }
+
+    public double y(double latitude) {
+        return latitude * METERS_PER_DEGREE;
+    }
+
+    public double longitude(double x) {
+        return x / (lonScale * METERS_PER_DEGREE);
+    }
+
+    public double latitude(double y) {
+        return y / METERS_PER_DEGREE;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.backend.utill;
+
+import com.example.backend.DTO.ProviderStatsDTO;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outbound HTTP access to one external provider: its own timeouts on top of the shared
+ * connection pool, a circuit breaker, a concurrency bulkhead and a latency histogram.
+ */
+public class ProviderClient {
+
+    /**
+     * Reads what it needs from the response; the response is closed afterwards.
+     */
+    @FunctionalInterface
+    public interface ResponseHandler<T> {
+        T handle(Response response) throws IOException;
+    }
+
+    private final String name;
+    private final OkHttpClient httpClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final int maxConcurrent;
+    private final long bulkheadWaitMillis;
+    private final LatencyHistogram latency;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ProviderClient(String name, OkHttpClient httpClient, CircuitBreaker circuitBreaker,
+                          int maxConcurrent, long bulkheadWaitMillis, LatencyHistogram latency) {
+        this.name = name;
+        this.httpClient = httpClient;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+        this.bulkheadWaitMillis = bulkheadWaitMillis;
+        this.latency = latency;
+    }
+
+    public <T> T call(Request request, ResponseHandler<T> handler) throws IOException {
+        if (!acquireBulkhead()) {
+            rejected.increment();
+            throw new ProviderUnavailableException(name + " is at its concurrency limit");
+        }
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                rejected.increment();
+                throw new ProviderUnavailableException(name + " circuit is open");
+            }
+
+            calls.increment();
+            long start = System.nanoTime();
+            boolean failed = true;
+            try (Response response = httpClient.newCall(request).execute()) {
+                // 5xx and rate limiting mean the provider is struggling, 4xx is our request's fault
+                failed = response.code() >= 500 || response.code() == 429;
+                return handler.handle(response);
+            } finally {
+                latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                if (failed) {
+                    failures.increment();
+                    circuitBreaker.onFailure();
+                } else {
+                    circuitBreaker.onSuccess();
+                }
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public ProviderStatsDTO getStats() {
+        return new ProviderStatsDTO(
+                name,
+                circuitBreaker.getState().name(),
+                maxConcurrent - bulkhead.availablePermits(),
+                maxConcurrent,
+                calls.sum(),
+                failures.sum(),
+                rejected.sum(),
+                latency.count(),
+                latency.percentile(50),
+                latency.percentile(95),
+                latency.percentile(99)
+        );
+    }
+
+    private boolean acquireBulkhead() throws IOException {
+        try {
+            return bulkhead.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderUnavailableException("Interrupted waiting for " + name);
+        }
+    }
+}
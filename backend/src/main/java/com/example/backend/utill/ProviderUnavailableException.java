@@ -0,0 +1,14 @@
+package com.example.backend.utill;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of calling a provider whose circuit is open, whose concurrency limit is reached or
+ * whose daily quota is used up.
+ */
+public class ProviderUnavailableException extends IOException {
+
+    public ProviderUnavailableException(String message) {
+        super(message);
+    }
+}
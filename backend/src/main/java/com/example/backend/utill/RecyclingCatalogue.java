@@ -0,0 +1,184 @@
+package com.example.backend.utill;
+
+import com.example.backend.Controller.RecyclingResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Local catalogue of everyday items and how to recycle them, loaded from JSON
+ * ({@code recycling/catalogue.json}) and searched with a trigram index so typos still match.
+ * <p>
+ * Every item name and alias is cut into trigrams ("bottle" gives "  b", " bo", "bot", ... "le ").
+ * A query scores each name by the Dice coefficient of their trigram sets, found through the
+ * trigram posting lists, so only names sharing at least one trigram with the query are looked at.
+ */
+public final class RecyclingCatalogue {
+
+    private final List<Item> items = new ArrayList<>();
+    // One entry per item name or alias
+    private final List<String> names = new ArrayList<>();
+    private final List<Integer> itemOfName = new ArrayList<>();
+    private final List<Integer> trigramCountOfName = new ArrayList<>();
+    private final Map<String, List<Integer>> namesByTrigram = new HashMap<>();
+
+    private RecyclingCatalogue() {
+    }
+
+    public static RecyclingCatalogue load(InputStream json) throws IOException {
+        RecyclingCatalogue catalogue = new RecyclingCatalogue();
+        for (JsonNode node : new ObjectMapper().readTree(json).path("items")) {
+            int itemIndex = catalogue.items.size();
+            Item item = new Item(
+                    node.path("itemName").asText(),
+                    node.path("material").asText("Unknown Material"),
+                    node.path("recyclability").asText("Unknown"),
+                    node.path("recyclingProcess").asText("No recycling process available."));
+            catalogue.items.add(item);
+            catalogue.addName(item.itemName, itemIndex);
+            for (JsonNode alias : node.path("aliases")) {
+                catalogue.addName(alias.asText(), itemIndex);
+            }
+        }
+        return catalogue;
+    }
+
+    /**
+     * Best matching items for the query, best first, one result per item.
+     */
+    public List<Match> search(String query, int limit, double minScore) {
+        Set<String> queryTrigrams = trigrams(normalize(query));
+        if (queryTrigrams.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        Map<Integer, Integer> sharedByName = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            List<Integer> postings = namesByTrigram.get(trigram);
+            if (postings != null) {
+                for (int name : postings) {
+                    sharedByName.merge(name, 1, Integer::sum);
+                }
+            }
+        }
+
+        // Keep the best scoring name of each item
+        Map<Integer, Match> bestByItem = new HashMap<>();
+        for (Map.Entry<Integer, Integer> entry : sharedByName.entrySet()) {
+            int name = entry.getKey();
+            double score = 2d * entry.getValue() / (queryTrigrams.size() + trigramCountOfName.get(name));
+            if (score < minScore) {
+                continue;
+            }
+            int itemIndex = itemOfName.get(name);
+            Match current = bestByItem.get(itemIndex);
+            if (current == null || score > current.score) {
+                bestByItem.put(itemIndex, new Match(items.get(itemIndex), names.get(name), score));
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(bestByItem.values());
+        matches.sort((a, b) -> Double.compare(b.score, a.score));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    private void addName(String name, int itemIndex) {
+        String normalized = normalize(name);
+        Set<String> nameTrigrams = trigrams(normalized);
+        if (nameTrigrams.isEmpty()) {
+            return;
+        }
+        int nameIndex = names.size();
+        names.add(name);
+        itemOfName.add(itemIndex);
+        trigramCountOfName.add(nameTrigrams.size());
+        for (String trigram : nameTrigrams) {
+            namesByTrigram.computeIfAbsent(trigram, key -> new ArrayList<>()).add(nameIndex);
+        }
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = true;
+        for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        return normalized.toString().trim();
+    }
+
+    // Trigrams of each word, padded so short words and word starts count
+    private static Set<String> trigrams(String normalized) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private static final class Item {
+        private final String itemName;
+        private final String material;
+        private final String recyclability;
+        private final String recyclingProcess;
+
+        private Item(String itemName, String material, String recyclability, String recyclingProcess) {
+            this.itemName = itemName;
+            this.material = material;
+            this.recyclability = recyclability;
+            this.recyclingProcess = recyclingProcess;
+        }
+    }
+
+    public static final class Match {
+        private final Item item;
+        private final String matchedName;
+        private final double score;
+
+        private Match(Item item, String matchedName, double score) {
+            this.item = item;
+            this.matchedName = matchedName;
+            this.score = score;
+        }
+
+        // A fresh response every time, callers may modify it
+        public RecyclingResponse toResponse() {
+            return new RecyclingResponse(item.itemName, item.material, item.recyclability, item.recyclingProcess);
+        }
+
+        public String getMatchedName() {
+            return matchedName;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,718 @@
+package com.example.backend.utill;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Collection route heuristic for several trucks and depots on planar coordinates (meters).
+ * <p>
+ * Stops go to their nearest depot, each depot gets a share of the trucks, and a sweep around the
+ * depot cuts its stops into one group per truck. Every group is then toured with nearest neighbour
+ * and improved with 2-opt and Or-opt moves, both searched only among each stop's nearest neighbours,
+ * so a pass costs O(n&middot;k) instead of O(n&sup2;). Several sweeps starting at different angles are
+ * run in parallel on the given fork/join pool (and the routes of each in parallel too); the shortest
+ * plan wins. Immutable and safe to share.
+ */
+public final class RoutePlanner {
+
+    private static final double EPSILON = 1e-7;
+    private static final int MAX_OR_OPT_SEGMENT = 3;
+    private static final int BRUTE_FORCE_NEIGHBOURS_BELOW = 400;
+
+    private final int neighbourCount;
+    private final int restarts;
+    private final ForkJoinPool pool;
+
+    public RoutePlanner(int neighbourCount, int restarts, ForkJoinPool pool) {
+        this.neighbourCount = Math.max(2, neighbourCount);
+        this.restarts = Math.max(1, restarts);
+        this.pool = pool;
+    }
+
+    /**
+     * Plans routes for {@code trucks} trucks that each visit at most {@code capacity} stops. Stops that
+     * do not fit are left out, farthest from their depot first, and listed in {@link Plan#getUnserved()}.
+     */
+    public Plan plan(double[] depotX, double[] depotY, double[] stopX, double[] stopY, int trucks, int capacity) {
+        if (depotX.length == 0 || trucks <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Need at least one depot, one truck and a capacity of one stop");
+        }
+        List<List<Integer>> stopsByDepot = assignToDepots(depotX, depotY, stopX, stopY, trucks);
+        int[] trucksByDepot = shareTrucks(stopsByDepot, trucks);
+
+        List<Integer> unserved = new ArrayList<>();
+        for (int depot = 0; depot < depotX.length; depot++) {
+            List<Integer> stops = stopsByDepot.get(depot);
+            long room = (long) trucksByDepot[depot] * capacity;
+            if (stops.size() > room) {
+                double dx = depotX[depot];
+                double dy = depotY[depot];
+                stops.sort(Comparator.comparingDouble(stop -> distance(dx, dy, stopX[stop], stopY[stop])));
+                unserved.addAll(stops.subList((int) room, stops.size()));
+                stopsByDepot.set(depot, new ArrayList<>(stops.subList(0, (int) room)));
+            }
+        }
+
+        try {
+            Plan best = pool.submit(() -> IntStream.range(0, restarts).parallel()
+                    .mapToObj(restart -> solve(restart, depotX, depotY, stopX, stopY, stopsByDepot, trucksByDepot))
+                    .min(Comparator.comparingDouble(Plan::getTotalLength))
+                    .orElseThrow(IllegalStateException::new)).get();
+            return new Plan(best.routes, unserved.stream().mapToInt(Integer::intValue).toArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Route planning interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Route planning failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private Plan solve(int restart, double[] depotX, double[] depotY, double[] stopX, double[] stopY,
+                       List<List<Integer>> stopsByDepot, int[] trucksByDepot) {
+        double startAngle = 2 * Math.PI * restart / restarts;
+        List<int[]> groups = new ArrayList<>();
+        List<Integer> groupDepots = new ArrayList<>();
+        for (int depot = 0; depot < depotX.length; depot++) {
+            List<Integer> stops = stopsByDepot.get(depot);
+            if (stops.isEmpty() || trucksByDepot[depot] == 0) {
+                continue;
+            }
+            for (int[] group : sweep(depotX[depot], depotY[depot], stopX, stopY, stops, trucksByDepot[depot], startAngle)) {
+                groups.add(group);
+                groupDepots.add(depot);
+            }
+        }
+        List<Route> routes = IntStream.range(0, groups.size()).parallel()
+                .mapToObj(i -> {
+                    int depot = groupDepots.get(i);
+                    return route(depot, depotX[depot], depotY[depot], stopX, stopY, groups.get(i));
+                })
+                .collect(Collectors.toList());
+        return new Plan(routes, new int[0]);
+    }
+
+    // Each stop to the nearest depot that will get trucks; with fewer trucks than depots, the busiest depots
+    private static List<List<Integer>> assignToDepots(double[] depotX, double[] depotY, double[] stopX, double[] stopY, int trucks) {
+        int depots = depotX.length;
+        int[] nearest = new int[stopX.length];
+        int[] counts = new int[depots];
+        for (int stop = 0; stop < stopX.length; stop++) {
+            nearest[stop] = nearestDepot(depotX, depotY, stopX[stop], stopY[stop], null);
+            counts[nearest[stop]]++;
+        }
+
+        boolean[] open = new boolean[depots];
+        Integer[] byLoad = new Integer[depots];
+        for (int depot = 0; depot < depots; depot++) {
+            byLoad[depot] = depot;
+        }
+        Arrays.sort(byLoad, (a, b) -> Integer.compare(counts[b], counts[a]));
+        for (int i = 0; i < depots && i < trucks; i++) {
+            open[byLoad[i]] = counts[byLoad[i]] > 0 || i == 0;
+        }
+
+        List<List<Integer>> stopsByDepot = new ArrayList<>();
+        for (int depot = 0; depot < depots; depot++) {
+            stopsByDepot.add(new ArrayList<>());
+        }
+        for (int stop = 0; stop < stopX.length; stop++) {
+            int depot = open[nearest[stop]] ? nearest[stop] : nearestDepot(depotX, depotY, stopX[stop], stopY[stop], open);
+            stopsByDepot.get(depot).add(stop);
+        }
+        return stopsByDepot;
+    }
+
+    private static int nearestDepot(double[] depotX, double[] depotY, double x, double y, boolean[] open) {
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        for (int depot = 0; depot < depotX.length; depot++) {
+            if (open != null && !open[depot]) {
+                continue;
+            }
+            double d = distance(depotX[depot], depotY[depot], x, y);
+            if (d < bestDistance) {
+                best = depot;
+                bestDistance = d;
+            }
+        }
+        return best;
+    }
+
+    // Trucks in proportion to each depot's stops (largest remainder), at least one per depot with stops
+    private static int[] shareTrucks(List<List<Integer>> stopsByDepot, int trucks) {
+        int depots = stopsByDepot.size();
+        int total = 0;
+        int busy = 0;
+        for (List<Integer> stops : stopsByDepot) {
+            total += stops.size();
+            busy += stops.isEmpty() ? 0 : 1;
+        }
+        int[] share = new int[depots];
+        if (total == 0) {
+            return share;
+        }
+        int spare = trucks - busy;
+        double[] remainders = new double[depots];
+        int given = 0;
+        for (int depot = 0; depot < depots; depot++) {
+            int stops = stopsByDepot.get(depot).size();
+            if (stops == 0) {
+                continue;
+            }
+            double exact = (double) spare * stops / total;
+            share[depot] = 1 + (int) exact;
+            remainders[depot] = exact - (int) exact;
+            given += share[depot];
+        }
+        while (given < trucks) {
+            int best = 0;
+            for (int depot = 1; depot < depots; depot++) {
+                if (remainders[depot] > remainders[best]) {
+                    best = depot;
+                }
+            }
+            share[best]++;
+            remainders[best] = -1;
+            given++;
+        }
+        return share;
+    }
+
+    // Stops ordered by angle around the depot from startAngle, cut into equal runs, one per truck
+    private static List<int[]> sweep(double depotX, double depotY, double[] stopX, double[] stopY,
+                                     List<Integer> stops, int trucks, double startAngle) {
+        int n = stops.size();
+        double[] angles = new double[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            int stop = stops.get(i);
+            double angle = Math.atan2(stopY[stop] - depotY, stopX[stop] - depotX) - startAngle;
+            angles[i] = angle < 0 ? angle + 2 * Math.PI : angle;
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> angles[i]));
+
+        int groupCount = Math.min(trucks, n);
+        List<int[]> groups = new ArrayList<>(groupCount);
+        int next = 0;
+        for (int group = 0; group < groupCount; group++) {
+            int size = n / groupCount + (group < n % groupCount ? 1 : 0);
+            int[] members = new int[size];
+            for (int i = 0; i < size; i++) {
+                members[i] = stops.get(order[next++]);
+            }
+            groups.add(members);
+        }
+        return groups;
+    }
+
+    private Route route(int depot, double depotX, double depotY, double[] stopX, double[] stopY, int[] stops) {
+        // Node 0 is the depot, node i > 0 is stops[i - 1]; the tour is a cycle through all of them
+        int m = stops.length + 1;
+        double[] x = new double[m];
+        double[] y = new double[m];
+        x[0] = depotX;
+        y[0] = depotY;
+        for (int i = 0; i < stops.length; i++) {
+            x[i + 1] = stopX[stops[i]];
+            y[i + 1] = stopY[stops[i]];
+        }
+
+        Tour tour = new Tour(nearestNeighbourTour(x, y));
+        if (m > 3) {
+            int[][] neighbours = nearestNeighbours(x, y, Math.min(neighbourCount, m - 1));
+            boolean improved = true;
+            while (improved) {
+                improved = twoOpt(tour, x, y, neighbours);
+                improved |= orOpt(tour, x, y, neighbours);
+            }
+        }
+
+        // Start the stop list right after the depot
+        int[] ordered = new int[stops.length];
+        int position = tour.pos[0];
+        for (int i = 0; i < stops.length; i++) {
+            position = (position + 1) % m;
+            ordered[i] = stops[tour.order[position] - 1];
+        }
+        return new Route(depot, ordered, tour.length(x, y));
+    }
+
+    private static int[] nearestNeighbourTour(double[] x, double[] y) {
+        int m = x.length;
+        int[] order = new int[m];
+        boolean[] visited = new boolean[m];
+        int current = 0;
+        visited[0] = true;
+        for (int step = 1; step < m; step++) {
+            int best = -1;
+            double bestDistance = Double.MAX_VALUE;
+            for (int node = 1; node < m; node++) {
+                if (!visited[node]) {
+                    double dx = x[node] - x[current];
+                    double dy = y[node] - y[current];
+                    double d = dx * dx + dy * dy;
+                    if (d < bestDistance) {
+                        best = node;
+                        bestDistance = d;
+                    }
+                }
+            }
+            order[step] = best;
+            visited[best] = true;
+            current = best;
+        }
+        return order;
+    }
+
+    /**
+     * Replaces edges (a, b) and (c, d) with (a, c) and (b, d) whenever that is shorter, looking only at
+     * c among a's nearest neighbours. Nodes next to a change are checked again, the rest are not.
+     */
+    private static boolean twoOpt(Tour tour, double[] x, double[] y, int[][] neighbours) {
+        int m = tour.order.length;
+        IntQueue queue = new IntQueue(m);
+        for (int node = 0; node < m; node++) {
+            queue.offer(node);
+        }
+        boolean improvedAny = false;
+        while (!queue.isEmpty()) {
+            int a = queue.poll();
+            boolean moved = false;
+            for (int direction = 0; direction < 2 && !moved; direction++) {
+                int b = direction == 0 ? tour.next(a) : tour.prev(a);
+                double ab = distance(x, y, a, b);
+                for (int c : neighbours[a]) {
+                    double ac = distance(x, y, a, c);
+                    if (ac >= ab - EPSILON) {
+                        // Neighbours are sorted, no later c can make (a, c) shorter than (a, b)
+                        break;
+                    }
+                    int d = direction == 0 ? tour.next(c) : tour.prev(c);
+                    if (c == b || d == a) {
+                        continue;
+                    }
+                    double gain = ab + distance(x, y, c, d) - ac - distance(x, y, b, d);
+                    if (gain > EPSILON) {
+                        if (direction == 0) {
+                            tour.reverse(tour.pos[b], tour.pos[c]);
+                        } else {
+                            tour.reverse(tour.pos[a], tour.pos[d]);
+                        }
+                        queue.offer(a);
+                        queue.offer(b);
+                        queue.offer(c);
+                        queue.offer(d);
+                        moved = true;
+                        improvedAny = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return improvedAny;
+    }
+
+    /**
+     * Moves runs of up to three consecutive stops, possibly reversed, next to one of their nearest
+     * neighbours whenever that shortens the tour.
+     */
+    private static boolean orOpt(Tour tour, double[] x, double[] y, int[][] neighbours) {
+        int m = tour.order.length;
+        boolean improvedAny = false;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int start = 0; start < m; start++) {
+                for (int length = 1; length <= MAX_OR_OPT_SEGMENT && length < m - 2; length++) {
+                    if (tryMoveSegment(tour, x, y, neighbours, start, length)) {
+                        improved = true;
+                        improvedAny = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return improvedAny;
+    }
+
+    private static boolean tryMoveSegment(Tour tour, double[] x, double[] y, int[][] neighbours, int start, int length) {
+        int m = tour.order.length;
+        int first = tour.order[start];
+        int last = tour.order[(start + length - 1) % m];
+        int before = tour.prev(first);
+        int after = tour.next(last);
+        double removalGain = distance(x, y, before, first) + distance(x, y, last, after) - distance(x, y, before, after);
+        if (removalGain <= EPSILON) {
+            return false;
+        }
+
+        for (int end = 0; end < 2; end++) {
+            int anchor = end == 0 ? first : last;
+            for (int c : neighbours[anchor]) {
+                if (distance(x, y, anchor, c) >= removalGain) {
+                    break;
+                }
+                if (c == before || inSegment(tour, start, length, c)) {
+                    continue;
+                }
+                int cNext = tour.next(c);
+                if (inSegment(tour, start, length, cNext)) {
+                    continue;
+                }
+                double base = distance(x, y, c, cNext);
+                double forward = distance(x, y, c, first) + distance(x, y, last, cNext) - base;
+                double reversed = distance(x, y, c, last) + distance(x, y, first, cNext) - base;
+                if (removalGain - Math.min(forward, reversed) > EPSILON) {
+                    tour.moveSegment(start, length, c, reversed < forward);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean inSegment(Tour tour, int start, int length, int node) {
+        int m = tour.order.length;
+        return (tour.pos[node] - start + m) % m < length;
+    }
+
+    /**
+     * The k nearest other nodes of every node, closest first. Uses a uniform grid for larger inputs.
+     */
+    static int[][] nearestNeighbours(double[] x, double[] y, int k) {
+        int m = x.length;
+        int[][] neighbours = new int[m][];
+        if (m < BRUTE_FORCE_NEIGHBOURS_BELOW) {
+            for (int node = 0; node < m; node++) {
+                KBest best = new KBest(k);
+                for (int other = 0; other < m; other++) {
+                    if (other != node) {
+                        best.offer(other, squaredDistance(x, y, node, other));
+                    }
+                }
+                neighbours[node] = best.sorted();
+            }
+            return neighbours;
+        }
+
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int node = 0; node < m; node++) {
+            minX = Math.min(minX, x[node]);
+            minY = Math.min(minY, y[node]);
+            maxX = Math.max(maxX, x[node]);
+            maxY = Math.max(maxY, y[node]);
+        }
+        // About two nodes per cell
+        double cell = Math.max(1e-6, Math.sqrt(Math.max((maxX - minX) * (maxY - minY), 1e-12) * 2 / m));
+        int cols = (int) Math.min(4096, (maxX - minX) / cell + 1);
+        int rows = (int) Math.min(4096, (maxY - minY) / cell + 1);
+        double cellX = (maxX - minX) / cols + 1e-9;
+        double cellY = (maxY - minY) / rows + 1e-9;
+
+        // Counting sort of nodes into cells
+        int[] cellOf = new int[m];
+        int[] cellStart = new int[cols * rows + 1];
+        for (int node = 0; node < m; node++) {
+            int col = Math.min(cols - 1, (int) ((x[node] - minX) / cellX));
+            int row = Math.min(rows - 1, (int) ((y[node] - minY) / cellY));
+            cellOf[node] = row * cols + col;
+            cellStart[cellOf[node] + 1]++;
+        }
+        for (int c = 0; c < cols * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] members = new int[m];
+        int[] fill = Arrays.copyOf(cellStart, cols * rows);
+        for (int node = 0; node < m; node++) {
+            members[fill[cellOf[node]]++] = node;
+        }
+
+        double ringStep = Math.min(cellX, cellY);
+        for (int node = 0; node < m; node++) {
+            KBest best = new KBest(k);
+            int col = cellOf[node] % cols;
+            int row = cellOf[node] / cols;
+            for (int ring = 0; ring <= Math.max(cols, rows); ring++) {
+                // The node can sit anywhere in its own cell, so this ring and everything beyond it
+                // is only guaranteed to be (ring - 1) cells away
+                double reach = (ring - 1) * ringStep;
+                if (ring > 0 && best.isFull() && best.worst() <= reach * reach) {
+                    break;
+                }
+                for (int r = row - ring; r <= row + ring; r++) {
+                    if (r < 0 || r >= rows) {
+                        continue;
+                    }
+                    boolean edgeRow = r == row - ring || r == row + ring;
+                    int step = edgeRow || ring == 0 ? 1 : 2 * ring;
+                    for (int c = col - ring; c <= col + ring; c += step) {
+                        if (c < 0 || c >= cols) {
+                            continue;
+                        }
+                        int index = r * cols + c;
+                        for (int i = cellStart[index]; i < cellStart[index + 1]; i++) {
+                            int other = members[i];
+                            if (other != node) {
+                                best.offer(other, squaredDistance(x, y, node, other));
+                            }
+                        }
+                    }
+                }
+            }
+            neighbours[node] = best.sorted();
+        }
+        return neighbours;
+    }
+
+    private static double distance(double[] x, double[] y, int a, int b) {
+        return Math.sqrt(squaredDistance(x, y, a, b));
+    }
+
+    private static double squaredDistance(double[] x, double[] y, int a, int b) {
+        double dx = x[a] - x[b];
+        double dy = y[a] - y[b];
+        return dx * dx + dy * dy;
+    }
+
+    private static double distance(double x1, double y1, double x2, double y2) {
+        double dx = x1 - x2;
+        double dy = y1 - y2;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Cyclic tour with the position of every node, so neighbours and segment reversal are O(1) and
+     * O(segment).
+     */
+    private static final class Tour {
+        private final int[] order;
+        private final int[] pos;
+
+        private Tour(int[] order) {
+            this.order = order;
+            this.pos = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                pos[order[i]] = i;
+            }
+        }
+
+        private int next(int node) {
+            return order[(pos[node] + 1) % order.length];
+        }
+
+        private int prev(int node) {
+            return order[(pos[node] - 1 + order.length) % order.length];
+        }
+
+        // Reverses positions from..to going forward; reversing the rest instead gives the same cycle
+        private void reverse(int from, int to) {
+            int m = order.length;
+            int length = (to - from + m) % m + 1;
+            if (length * 2 > m) {
+                int newFrom = (to + 1) % m;
+                to = (from - 1 + m) % m;
+                from = newFrom;
+                length = m - length;
+            }
+            for (int i = 0; i < length / 2; i++) {
+                int a = order[from];
+                int b = order[to];
+                order[from] = b;
+                pos[b] = from;
+                order[to] = a;
+                pos[a] = to;
+                from = (from + 1) % m;
+                to = (to - 1 + m) % m;
+            }
+        }
+
+        private void moveSegment(int start, int length, int after, boolean reversed) {
+            int m = order.length;
+            int[] segment = new int[length];
+            for (int i = 0; i < length; i++) {
+                segment[i] = order[(start + i) % m];
+            }
+            int[] rebuilt = new int[m];
+            int size = 0;
+            for (int i = 0; i < m - length; i++) {
+                int node = order[(start + length + i) % m];
+                rebuilt[size++] = node;
+                if (node == after) {
+                    for (int j = 0; j < length; j++) {
+                        rebuilt[size++] = segment[reversed ? length - 1 - j : j];
+                    }
+                }
+            }
+            System.arraycopy(rebuilt, 0, order, 0, m);
+            for (int i = 0; i < m; i++) {
+                pos[order[i]] = i;
+            }
+        }
+
+        private double length(double[] x, double[] y) {
+            double total = 0;
+            for (int i = 0; i < order.length; i++) {
+                total += distance(x, y, order[i], order[(i + 1) % order.length]);
+            }
+            return total;
+        }
+    }
+
+    // FIFO of node ids without duplicates
+    private static final class IntQueue {
+        private final int[] items;
+        private final boolean[] queued;
+        private int head;
+        private int size;
+
+        private IntQueue(int capacity) {
+            items = new int[capacity];
+            queued = new boolean[capacity];
+        }
+
+        private void offer(int node) {
+            if (!queued[node]) {
+                queued[node] = true;
+                items[(head + size++) % items.length] = node;
+            }
+        }
+
+        private int poll() {
+            int node = items[head];
+            head = (head + 1) % items.length;
+            size--;
+            queued[node] = false;
+            return node;
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    // The k smallest (node, distance) pairs seen, kept as a max-heap
+    private static final class KBest {
+        private final int[] nodes;
+        private final double[] distances;
+        private int size;
+
+        private KBest(int k) {
+            nodes = new int[k];
+            distances = new double[k];
+        }
+
+        private boolean isFull() {
+            return size == nodes.length;
+        }
+
+        private double worst() {
+            return distances[0];
+        }
+
+        private void offer(int node, double distance) {
+            if (nodes.length == 0) {
+                return;
+            }
+            if (size < nodes.length) {
+                int i = size++;
+                while (i > 0 && distances[(i - 1) / 2] < distance) {
+                    nodes[i] = nodes[(i - 1) / 2];
+                    distances[i] = distances[(i - 1) / 2];
+                    i = (i - 1) / 2;
+                }
+                nodes[i] = node;
+                distances[i] = distance;
+            } else if (distance < distances[0]) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && distances[child + 1] > distances[child]) {
+                        child++;
+                    }
+                    if (distances[child] <= distance) {
+                        break;
+                    }
+                    nodes[i] = nodes[child];
+                    distances[i] = distances[child];
+                    i = child;
+                }
+                nodes[i] = node;
+                distances[i] = distance;
+            }
+        }
+
+        private int[] sorted() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingDouble(i -> distances[i]));
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = nodes[order[i]];
+            }
+            return result;
+        }
+    }
+
+    public static final class Plan {
+        private final List<Route> routes;
+        private final int[] unserved;
+        private final double totalLength;
+
+        private Plan(List<Route> routes, int[] unserved) {
+            this.routes = routes;
+            this.unserved = unserved;
+            this.totalLength = routes.stream().mapToDouble(Route::getLength).sum();
+        }
+
+        public List<Route> getRoutes() {
+            return routes;
+        }
+
+        // Indexes of the stops no truck could take
+        public int[] getUnserved() {
+            return unserved;
+        }
+
+        public double getTotalLength() {
+            return totalLength;
+        }
+    }
+
+    public static final class Route {
+        private final int depot;
+        private final int[] stops;
+        private final double length;
+
+        private Route(int depot, int[] stops, double length) {
+            this.depot = depot;
+            this.stops = stops;
+            this.length = length;
+        }
+
+        public int getDepot() {
+            return depot;
+        }
+
+        // Stop indexes in driving order, starting and ending at the depot
+        public int[] getStops() {
+            return stops;
+        }
+
+        // Meters, including the legs from and back to the depot
+        public double getLength() {
+            return length;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.backend.utill;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-size binary frame sent by bin fill-level sensors, big-endian, 20 bytes:
+ * <pre>
+ *  0  2  magic "BT"
+ *  2  1  version (1)
+ *  3  1  flags (reserved, 0)
+ *  4  8  bin id
+ * 12  4  reading time, unsigned seconds since the epoch
+ * 16  1  fill level, percent 0-100
+ * 17  1  battery level, percent 0-100
+ * 18  2  CRC-16/CCITT-FALSE of bytes 0-17
+ * </pre>
+ * A TCP connection carries frames back to back; a UDP datagram holds one or more whole frames.
+ */
+public final class TelemetryFrameCodec {
+
+    public static final int FRAME_SIZE = 20;
+
+    private static final byte MAGIC_0 = 'B';
+    private static final byte MAGIC_1 = 'T';
+    private static final byte VERSION = 1;
+
+    private static final int[] CRC_TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i << 8;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+            CRC_TABLE[i] = crc & 0xffff;
+        }
+    }
+
+    /**
+     * Receives decoded frames. Called on the thread that decodes.
+     */
+    public interface FrameListener {
+        void onReading(long binId, int fillPercent, int batteryPercent, long epochSeconds);
+
+        void onRejected();
+    }
+
+    private TelemetryFrameCodec() {
+    }
+
+    public static void encode(ByteBuffer out, long binId, int fillPercent, int batteryPercent, long epochSeconds) {
+        int start = out.position();
+        out.put(MAGIC_0).put(MAGIC_1).put(VERSION).put((byte) 0);
+        out.putLong(binId);
+        out.putInt((int) epochSeconds);
+        out.put((byte) fillPercent).put((byte) batteryPercent);
+        out.putShort((short) crc16(out, start, FRAME_SIZE - 2));
+    }
+
+    /**
+     * Decodes every whole frame between the buffer's position and limit, leaving the position at the
+     * first byte of an incomplete trailing frame. Garbage is skipped a byte at a time until the next
+     * magic, so a TCP stream recovers from a corrupted frame; each such run counts as one rejection.
+     */
+    public static void decode(ByteBuffer in, FrameListener listener) {
+        boolean skipping = false;
+        while (in.remaining() >= FRAME_SIZE) {
+            int start = in.position();
+            if (in.get(start) != MAGIC_0 || in.get(start + 1) != MAGIC_1 || in.get(start + 2) != VERSION
+                    || (in.getShort(start + FRAME_SIZE - 2) & 0xffff) != crc16(in, start, FRAME_SIZE - 2)) {
+                if (!skipping) {
+                    listener.onRejected();
+                    skipping = true;
+                }
+                in.position(start + 1);
+                continue;
+            }
+            skipping = false;
+            in.position(start + FRAME_SIZE);
+
+            long binId = in.getLong(start + 4);
+            long epochSeconds = in.getInt(start + 12) & 0xffffffffL;
+            int fillPercent = in.get(start + 16) & 0xff;
+            int batteryPercent = in.get(start + 17) & 0xff;
+            if (fillPercent > 100 || batteryPercent > 100 || binId <= 0) {
+                listener.onRejected();
+                continue;
+            }
+            listener.onReading(binId, fillPercent, batteryPercent, epochSeconds);
+        }
+    }
+
+    // CRC-16/CCITT-FALSE (poly 0x1021, init 0xFFFF) over absolute positions, without moving the buffer
+    private static int crc16(ByteBuffer buffer, int offset, int length) {
+        int crc = 0xffff;
+        for (int i = offset; i < offset + length; i++) {
+            crc = ((crc << 8) ^ CRC_TABLE[((crc >>> 8) ^ buffer.get(i)) & 0xff]) & 0xffff;
+        }
+        return crc;
+    }
+}
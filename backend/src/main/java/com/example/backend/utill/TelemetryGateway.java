@@ -0,0 +1,265 @@
+package com.example.backend.utill;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Single-threaded NIO listener for sensor telemetry on a TCP and/or UDP port. Frames are decoded
+ * with {@link TelemetryFrameCodec} straight out of the socket buffers and handed to the listener on
+ * the gateway thread, so the listener must be quick and must not block.
+ * <p>
+ * Each TCP connection borrows a direct read buffer from a pool and gives it back when it closes.
+ * The pool grows up to {@code maxConnections} buffers; past that, new connections are refused.
+ * Connections that send nothing for {@code idleTimeoutMillis} are closed.
+ */
+public final class TelemetryGateway implements Closeable {
+
+    private final InetSocketAddress tcpAddress;
+    private final InetSocketAddress udpAddress;
+    private final TelemetryFrameCodec.FrameListener listener;
+    private final long idleTimeoutMillis;
+    private final int maxConnections;
+    private final int bufferSize;
+
+    // Only touched on the gateway thread
+    private final ArrayDeque<ByteBuffer> bufferPool = new ArrayDeque<>();
+    private int allocatedBuffers;
+    private final ByteBuffer datagramBuffer = ByteBuffer.allocateDirect(64 * 1024);
+
+    private Selector selector;
+    private ServerSocketChannel tcpChannel;
+    private DatagramChannel udpChannel;
+    private Thread thread;
+    private volatile boolean running;
+    private volatile int openConnections;
+
+    /**
+     * @param tcpAddress address to accept TCP connections on, or {@code null} for no TCP
+     * @param udpAddress address to receive datagrams on, or {@code null} for no UDP
+     */
+    public TelemetryGateway(InetSocketAddress tcpAddress, InetSocketAddress udpAddress, int maxConnections,
+                            int bufferSize, long idleTimeoutMillis, TelemetryFrameCodec.FrameListener listener) {
+        this.tcpAddress = tcpAddress;
+        this.udpAddress = udpAddress;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.listener = listener;
+        this.maxConnections = maxConnections;
+        // Whole frames only, so a partial frame always fits after compacting
+        this.bufferSize = Math.max(1, bufferSize / TelemetryFrameCodec.FRAME_SIZE) * TelemetryFrameCodec.FRAME_SIZE;
+    }
+
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        selector = Selector.open();
+        try {
+            if (tcpAddress != null) {
+                tcpChannel = ServerSocketChannel.open();
+                tcpChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+                tcpChannel.bind(tcpAddress, 1024);
+                tcpChannel.configureBlocking(false);
+                tcpChannel.register(selector, SelectionKey.OP_ACCEPT);
+            }
+            if (udpAddress != null) {
+                udpChannel = DatagramChannel.open();
+                udpChannel.setOption(StandardSocketOptions.SO_RCVBUF, 4 * 1024 * 1024);
+                udpChannel.bind(udpAddress);
+                udpChannel.configureBlocking(false);
+                udpChannel.register(selector, SelectionKey.OP_READ);
+            }
+        } catch (IOException e) {
+            closeQuietly(tcpChannel);
+            closeQuietly(udpChannel);
+            closeQuietly(selector);
+            throw e;
+        }
+
+        running = true;
+        thread = new Thread(this::run, "telemetry-gateway");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public int getOpenConnections() {
+        return openConnections;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long lastIdleSweep = System.currentTimeMillis();
+        try {
+            while (running) {
+                selector.select(1000);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else if (key.channel() == udpChannel) {
+                            receiveDatagrams();
+                        } else if (key.isReadable()) {
+                            read(key);
+                        }
+                    } catch (IOException e) {
+                        if (key.channel() instanceof SocketChannel) {
+                            closeConnection(key);
+                        } else {
+                            System.err.println("Telemetry gateway error: " + e.getMessage());
+                        }
+                    }
+                }
+
+                long now = System.currentTimeMillis();
+                if (idleTimeoutMillis > 0 && now - lastIdleSweep >= 1000) {
+                    closeIdleConnections(now);
+                    lastIdleSweep = now;
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            System.err.println("Telemetry gateway stopped: " + e.getMessage());
+        } finally {
+            if (selector.isOpen()) {
+                for (SelectionKey key : selector.keys()) {
+                    if (key.channel() instanceof SocketChannel) {
+                        closeConnection(key);
+                    }
+                }
+            }
+            closeQuietly(tcpChannel);
+            closeQuietly(udpChannel);
+            closeQuietly(selector);
+            running = false;
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = tcpChannel.accept()) != null) {
+            ByteBuffer buffer = bufferPool.poll();
+            if (buffer == null && allocatedBuffers < maxConnections) {
+                buffer = ByteBuffer.allocateDirect(bufferSize);
+                allocatedBuffers++;
+            }
+            if (buffer == null) {
+                // At the connection limit; the sensor retries later
+                closeQuietly(channel);
+                continue;
+            }
+            buffer.clear();
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.register(selector, SelectionKey.OP_READ, new Connection(buffer));
+            } catch (IOException e) {
+                // Only this connection is lost; its buffer goes back to the pool and the others keep going
+                bufferPool.push(buffer);
+                closeQuietly(channel);
+                System.err.println("Telemetry connection setup failed: " + e.getMessage());
+                continue;
+            }
+            openConnections++;
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+        ByteBuffer buffer = connection.buffer;
+        int read;
+        while ((read = channel.read(buffer)) > 0) {
+            connection.lastReadMillis = System.currentTimeMillis();
+            buffer.flip();
+            TelemetryFrameCodec.decode(buffer, listener);
+            buffer.compact();
+        }
+        if (read < 0) {
+            closeConnection(key);
+        }
+    }
+
+    private void receiveDatagrams() throws IOException {
+        // Drain everything queued since the last wakeup
+        while (true) {
+            datagramBuffer.clear();
+            if (udpChannel.receive(datagramBuffer) == null) {
+                return;
+            }
+            datagramBuffer.flip();
+            TelemetryFrameCodec.decode(datagramBuffer, listener);
+            if (datagramBuffer.hasRemaining()) {
+                // A datagram must hold whole frames
+                listener.onRejected();
+            }
+        }
+    }
+
+    private void closeIdleConnections(long now) {
+        for (SelectionKey key : selector.keys()) {
+            Object attachment = key.attachment();
+            if (attachment instanceof Connection && now - ((Connection) attachment).lastReadMillis > idleTimeoutMillis) {
+                closeConnection(key);
+            }
+        }
+    }
+
+    private void closeConnection(SelectionKey key) {
+        Object attachment = key.attachment();
+        key.attach(null);
+        key.cancel();
+        closeQuietly(key.channel());
+        if (attachment instanceof Connection) {
+            bufferPool.push(((Connection) attachment).buffer);
+            openConnections--;
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // Nothing useful to do while shutting a channel
+        }
+    }
+
+    private static final class Connection {
+        private final ByteBuffer buffer;
+        private long lastReadMillis = System.currentTimeMillis();
+
+        private Connection(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+}
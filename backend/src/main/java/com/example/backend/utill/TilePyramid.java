@@ -0,0 +1,240 @@
+package com.example.backend.utill;
+
+import com.example.backend.entity.BinLocation.BinStatus;
+import com.example.backend.entity.BinLocation.WasteType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bin counts on the Web Mercator (slippy map) tile grid for every zoom level up to a maximum,
+ * kept up to date one bin change at a time.
+ * <p>
+ * Each tile is cut into {@code grid x grid} cells and the pyramid holds, for every non-empty cell,
+ * the number of bins by waste type and by status. A bin's cell is worked out once at the finest
+ * level and shifted down for the coarser ones, so a change costs one counter update per zoom level
+ * however large the fleet is, and reading a tile costs only its own non-empty cells.
+ */
+public class TilePyramid implements BinSpatialIndex.Listener {
+
+    // Web Mercator stops here, the map is square
+    private static final double MAX_LATITUDE = 85.05112878;
+    private static final WasteType[] WASTE_TYPES = WasteType.values();
+    private static final BinStatus[] STATUSES = BinStatus.values();
+    // Per-cell counts: total, then one per waste type, then one per status
+    private static final int WIDTH = 1 + WASTE_TYPES.length + STATUSES.length;
+
+    private final int maxZoom;
+    private final int gridBits;
+    private final List<Map<Long, Tile>> levels = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Bumped on every change and stamped on the tiles it touched, so clients can revalidate tiles
+    private long revision;
+
+    public TilePyramid(int maxZoom, int grid) {
+        if (grid < 1 || grid > 256 || Integer.bitCount(grid) != 1) {
+            throw new IllegalArgumentException("grid must be a power of two between 1 and 256");
+        }
+        this.gridBits = Integer.numberOfTrailingZeros(grid);
+        if (maxZoom < 0 || maxZoom + gridBits > 30) {
+            throw new IllegalArgumentException("maxZoom must be between 0 and " + (30 - gridBits) + " for a grid of " + grid);
+        }
+        this.maxZoom = maxZoom;
+        for (int z = 0; z <= maxZoom; z++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    @Override
+    public void changed(BinSpatialIndex.Entry previous, BinSpatialIndex.Entry current) {
+        lock.writeLock().lock();
+        try {
+            revision++;
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            if (current != null) {
+                apply(current, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void reset(Collection<BinSpatialIndex.Entry> entries) {
+        lock.writeLock().lock();
+        try {
+            revision++;
+            for (Map<Long, Tile> level : levels) {
+                level.clear();
+            }
+            for (BinSpatialIndex.Entry entry : entries) {
+                apply(entry, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * A copy of one tile's counts. Tiles without bins come back empty with revision 0.
+     */
+    public TileCounts tile(int z, int x, int y) {
+        if (z < 0 || z > maxZoom) {
+            throw new IllegalArgumentException("Zoom must be between 0 and " + maxZoom);
+        }
+        long tiles = 1L << z;
+        if (x < 0 || x >= tiles || y < 0 || y >= tiles) {
+            throw new IllegalArgumentException("Tile " + z + "/" + x + "/" + y + " does not exist");
+        }
+        lock.readLock().lock();
+        try {
+            Tile tile = levels.get(z).get(tileKey(z, x, y));
+            if (tile == null) {
+                return new TileCounts(0, 0, new ArrayList<>());
+            }
+            int mask = (1 << gridBits) - 1;
+            List<int[]> cells = new ArrayList<>(tile.cells.size());
+            for (Map.Entry<Integer, int[]> cell : tile.cells.entrySet()) {
+                int[] row = new int[2 + WIDTH];
+                row[0] = cell.getKey() & mask;
+                row[1] = cell.getKey() >>> gridBits;
+                System.arraycopy(cell.getValue(), 0, row, 2, WIDTH);
+                cells.add(row);
+            }
+            return new TileCounts(tile.revision, tile.total, cells);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    public int getGrid() {
+        return 1 << gridBits;
+    }
+
+    // Adds (delta 1) or removes (delta -1) a bin at every zoom level
+    private void apply(BinSpatialIndex.Entry entry, int delta) {
+        int bits = maxZoom + gridBits;
+        long pixelX = pixel((entry.getLongitude() + 180d) / 360d, bits);
+        double latitude = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, entry.getLatitude())));
+        long pixelY = pixel((1 - Math.log(Math.tan(latitude) + 1 / Math.cos(latitude)) / Math.PI) / 2, bits);
+        int mask = (1 << gridBits) - 1;
+
+        for (int z = 0; z <= maxZoom; z++) {
+            long cellX = pixelX >> (maxZoom - z);
+            long cellY = pixelY >> (maxZoom - z);
+            long key = tileKey(z, cellX >> gridBits, cellY >> gridBits);
+            int cell = (int) (((cellY & mask) << gridBits) | (cellX & mask));
+
+            Map<Long, Tile> level = levels.get(z);
+            Tile tile = level.get(key);
+            if (tile == null) {
+                if (delta < 0) {
+                    continue;
+                }
+                tile = new Tile();
+                level.put(key, tile);
+            }
+            if (tile.add(cell, entry, delta, revision)) {
+                level.remove(key);
+            }
+        }
+    }
+
+    private static long pixel(double normalized, int bits) {
+        long size = 1L << bits;
+        return Math.max(0, Math.min(size - 1, (long) Math.floor(normalized * size)));
+    }
+
+    // Row-major index scrambled by an odd multiplier (still one-to-one): plain x/y packing hashes
+    // neighbouring tiles into the same few HashMap buckets
+    private static long tileKey(int z, long x, long y) {
+        return ((y << z) | x) * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Column names for the counts in each {@link TileCounts} cell, after its x and y.
+     */
+    public static List<String> columns() {
+        List<String> columns = new ArrayList<>(2 + WIDTH);
+        columns.add("x");
+        columns.add("y");
+        columns.add("total");
+        for (WasteType wasteType : WASTE_TYPES) {
+            columns.add(wasteType.name());
+        }
+        for (BinStatus status : STATUSES) {
+            columns.add(status.name());
+        }
+        return columns;
+    }
+
+    private static final class Tile {
+        private final Map<Integer, int[]> cells = new HashMap<>();
+        private long revision;
+        private int total;
+
+        // Returns true once the tile holds no bins and can be dropped
+        private boolean add(int cell, BinSpatialIndex.Entry entry, int delta, long revision) {
+            int[] counts = cells.get(cell);
+            if (counts == null) {
+                if (delta < 0) {
+                    return cells.isEmpty();
+                }
+                counts = new int[WIDTH];
+                cells.put(cell, counts);
+            }
+            counts[0] += delta;
+            if (entry.getWasteType() != null) {
+                counts[1 + entry.getWasteType().ordinal()] += delta;
+            }
+            if (entry.getStatus() != null) {
+                counts[1 + WASTE_TYPES.length + entry.getStatus().ordinal()] += delta;
+            }
+            if (counts[0] <= 0) {
+                cells.remove(cell);
+            }
+            this.total += delta;
+            this.revision = revision;
+            return cells.isEmpty();
+        }
+    }
+
+    /**
+     * One tile's non-empty cells, each as {@code [x, y, total, per waste type..., per status...]}
+     * in the order given by {@link #columns()}.
+     */
+    public static final class TileCounts {
+        private final long revision;
+        private final int total;
+        private final List<int[]> cells;
+
+        private TileCounts(long revision, int total, List<int[]> cells) {
+            this.revision = revision;
+            this.total = total;
+            this.cells = cells;
+        }
+
+        public long getRevision() {
+            return revision;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public List<int[]> getCells() {
+            return cells;
+        }
+    }
+}
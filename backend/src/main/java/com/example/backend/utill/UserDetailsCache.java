@@ -0,0 +1,70 @@
+package com.example.backend.utill;
+
+import com.example.backend.DTO.CacheStatsDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Short-lived cache of user credentials and authorities so JwtRequestFilter does not hit
+ * MySQL (user + USER_ROLE join) on every API call.
+ * <p>
+ * A fresh UserDetails is built on every hit because Spring Security erases the password of
+ * the instance it authenticates with, which would otherwise corrupt the cached copy.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final ExpiringCache<String, CachedUser> cache;
+
+    public UserDetailsCache(@Value("${security.user-cache.max-size:10000}") int maxSize,
+                            @Value("${security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = new ExpiringCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    public UserDetails get(String username) {
+        CachedUser cachedUser = cache.get(username);
+        if (cachedUser == null) {
+            return null;
+        }
+        return new User(cachedUser.username, cachedUser.password, cachedUser.authorities);
+    }
+
+    public void put(UserDetails userDetails) {
+        cache.put(userDetails.getUsername(), new CachedUser(
+                userDetails.getUsername(),
+                userDetails.getPassword(),
+                userDetails.getAuthorities()
+        ));
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStatsDTO getStats() {
+        return new CacheStatsDTO("userDetails", cache.size(), cache.getHits(), cache.getMisses(), cache.getEvictions());
+    }
+
+    private static final class CachedUser {
+        private final String username;
+        private final String password;
+        private final List<GrantedAuthority> authorities;
+
+        private CachedUser(String username, String password, Collection<? extends GrantedAuthority> authorities) {
+            this.username = username;
+            this.password = password;
+            this.authorities = new ArrayList<>(authorities);
+        }
+    }
+}
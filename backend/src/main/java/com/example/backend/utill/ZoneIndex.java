@@ -0,0 +1,205 @@
+package com.example.backend.utill;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * In-memory R-tree over collection-zone polygons for point-in-zone lookups.
+ * <p>
+ * The tree is bulk loaded with Sort-Tile-Recursive packing (sort by x, cut into vertical slices,
+ * sort each slice by y, fill nodes in that order), which gives full nodes with little overlap for
+ * a static set like ward boundaries. A lookup descends only into nodes whose box holds the point
+ * and runs the exact even-odd polygon test on the few zones left. Zones change rarely, so the tree
+ * is immutable and replaced as a whole on {@link #rebuild}; readers never lock.
+ */
+@Component
+public class ZoneIndex {
+
+    private static final int NODE_CAPACITY = 16;
+
+    private volatile Node root;
+    private volatile int size;
+
+    public void rebuild(Collection<Zone> zones) {
+        if (zones.isEmpty()) {
+            root = null;
+            size = 0;
+            return;
+        }
+        List<Box> level = new ArrayList<>(zones);
+        do {
+            level = pack(level);
+        } while (level.size() > 1);
+        root = (Node) level.get(0);
+        size = zones.size();
+    }
+
+    /**
+     * The zone holding the point, or {@code null}. Where zones overlap (bad data) the one with the
+     * smallest bounding box wins, so lookups are stable.
+     */
+    public Zone locate(double latitude, double longitude) {
+        Node node = root;
+        if (node == null) {
+            return null;
+        }
+        Zone best = null;
+        List<Node> stack = new ArrayList<>();
+        stack.add(node);
+        while (!stack.isEmpty()) {
+            Node current = stack.remove(stack.size() - 1);
+            for (Box child : current.children) {
+                if (!child.contains(longitude, latitude)) {
+                    continue;
+                }
+                if (child instanceof Node) {
+                    stack.add((Node) child);
+                } else {
+                    Zone zone = (Zone) child;
+                    if ((best == null || zone.area() < best.area()) && zone.containsExactly(longitude, latitude)) {
+                        best = zone;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    // Null-safe shortcut for tagging rows that may have no coordinates
+    public Long locateId(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        Zone zone = locate(latitude, longitude);
+        return zone != null ? zone.id : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // One level of STR packing: boxes in, parent nodes out
+    private static List<Box> pack(List<Box> boxes) {
+        int nodes = (boxes.size() + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int slices = (int) Math.ceil(Math.sqrt(nodes));
+        int perSlice = slices * NODE_CAPACITY;
+
+        List<Box> sorted = new ArrayList<>(boxes);
+        sorted.sort(Comparator.comparingDouble(Box::centerX));
+        List<Box> parents = new ArrayList<>(nodes);
+        for (int start = 0; start < sorted.size(); start += perSlice) {
+            List<Box> slice = new ArrayList<>(sorted.subList(start, Math.min(sorted.size(), start + perSlice)));
+            slice.sort(Comparator.comparingDouble(Box::centerY));
+            for (int from = 0; from < slice.size(); from += NODE_CAPACITY) {
+                parents.add(new Node(slice.subList(from, Math.min(slice.size(), from + NODE_CAPACITY)).toArray(new Box[0])));
+            }
+        }
+        return parents;
+    }
+
+    private abstract static class Box {
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+
+        boolean contains(double x, double y) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY;
+        }
+
+        double centerX() {
+            return (minX + maxX) / 2;
+        }
+
+        double centerY() {
+            return (minY + maxY) / 2;
+        }
+
+        double area() {
+            return (maxX - minX) * (maxY - minY);
+        }
+    }
+
+    private static final class Node extends Box {
+        private final Box[] children;
+
+        private Node(Box[] children) {
+            this.children = children;
+            for (Box child : children) {
+                minX = Math.min(minX, child.minX);
+                minY = Math.min(minY, child.minY);
+                maxX = Math.max(maxX, child.maxX);
+                maxY = Math.max(maxY, child.maxY);
+            }
+        }
+    }
+
+    /**
+     * A zone's boundary as rings of {@code [lon0, lat0, lon1, lat1, ...]}, see {@link GeoJsonZoneReader#rings}.
+     */
+    public static final class Zone extends Box {
+        private final Long id;
+        private final String code;
+        private final double[][] rings;
+
+        public Zone(Long id, String code, double[][] rings) {
+            this.id = id;
+            this.code = code;
+            this.rings = rings;
+            for (double[] ring : rings) {
+                for (int i = 0; i < ring.length; i += 2) {
+                    minX = Math.min(minX, ring[i]);
+                    maxX = Math.max(maxX, ring[i]);
+                    minY = Math.min(minY, ring[i + 1]);
+                    maxY = Math.max(maxY, ring[i + 1]);
+                }
+            }
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public double getMinLatitude() {
+            return minY;
+        }
+
+        public double getMinLongitude() {
+            return minX;
+        }
+
+        public double getMaxLatitude() {
+            return maxY;
+        }
+
+        public double getMaxLongitude() {
+            return maxX;
+        }
+
+        // Even-odd ray casting over every ring, so holes and multi-part zones need no special case
+        private boolean containsExactly(double x, double y) {
+            boolean inside = false;
+            for (double[] ring : rings) {
+                int points = ring.length / 2;
+                for (int i = 0, j = points - 1; i < points; j = i++) {
+                    double xi = ring[2 * i];
+                    double yi = ring[2 * i + 1];
+                    double xj = ring[2 * j];
+                    double yj = ring[2 * j + 1];
+                    if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi) {
+                        inside = !inside;
+                    }
+                }
+            }
+            return inside;
+        }
+    }
+}
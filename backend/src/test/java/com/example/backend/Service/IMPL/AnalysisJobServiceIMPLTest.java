@@ -0,0 +1,121 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.DTO.AnalysisJobDTO;
+import com.example.backend.DTO.ImageAnalysisResponse;
+import com.example.backend.Service.ImageAnalysisService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Jobs stay visible while they are queued or running, however many others finish in the meantime.
+ */
+class AnalysisJobServiceIMPLTest {
+
+    private final ImageAnalysisService imageAnalysisService = mock(ImageAnalysisService.class);
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>());
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        // slow.jpg waits for the test to let it finish, everything else answers at once
+        when(imageAnalysisService.analyzeImage(any(byte[].class), anyString())).thenAnswer(invocation -> {
+            if ("slow.jpg".equals(invocation.getArgument(1))) {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return ImageAnalysisResponse.builder().itemName(invocation.getArgument(1)).build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void runningJobIsNotEvictedByFinishedOnes() {
+        AnalysisJobServiceIMPL service = service(1, 100);
+        String slow = service.submit(new byte[]{1}, "slow.jpg").getJobId();
+
+        for (int i = 0; i < 5; i++) {
+            service.submit(new byte[]{1}, "fast-" + i + ".jpg");
+        }
+        waitUntil(() -> executor.getCompletedTaskCount() == 5);
+
+        assertEquals("RUNNING", service.getJob(slow).getStatus());
+        assertNotNull(service.subscribe(slow));
+
+        release.countDown();
+        waitUntil(() -> "DONE".equals(service.getJob(slow).getStatus()));
+        assertEquals("slow.jpg", service.getJob(slow).getResult().getItemName());
+    }
+
+    @Test
+    void finishedJobsAreBounded() {
+        AnalysisJobServiceIMPL service = service(2, 100);
+        String first = service.submit(new byte[]{1}, "first.jpg").getJobId();
+        waitUntil(() -> executor.getCompletedTaskCount() == 1);
+
+        for (int i = 0; i < 5; i++) {
+            service.submit(new byte[]{1}, "fast-" + i + ".jpg");
+        }
+        waitUntil(() -> executor.getCompletedTaskCount() == 6);
+
+        assertNull(service.getJob(first));
+    }
+
+    @Test
+    void tooManyJobsInProgressAreRejected() {
+        AnalysisJobServiceIMPL service = service(100, 2);
+        service.submit(new byte[]{1}, "slow.jpg");
+        service.submit(new byte[]{1}, "slow.jpg");
+
+        assertThrows(RejectedExecutionException.class, () -> service.submit(new byte[]{1}, "slow.jpg"));
+
+        release.countDown();
+        waitUntil(() -> executor.getCompletedTaskCount() == 2);
+        assertNotNull(service.submit(new byte[]{1}, "next.jpg"));
+    }
+
+    private AnalysisJobServiceIMPL service(int maxRetained, int maxActive) {
+        AnalysisJobServiceIMPL service = new AnalysisJobServiceIMPL(maxRetained);
+        ReflectionTestUtils.setField(service, "imageAnalysisService", imageAnalysisService);
+        ReflectionTestUtils.setField(service, "analysisExecutor", executor);
+        ReflectionTestUtils.setField(service, "sseTimeoutSeconds", 5L);
+        ReflectionTestUtils.setField(service, "maxActive", maxActive);
+        return service;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
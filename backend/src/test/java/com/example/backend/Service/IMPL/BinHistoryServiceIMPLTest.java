@@ -0,0 +1,80 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.utill.BinHistoryStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Buffered raw readings: a batch that cannot be written is counted as dropped, not lost silently.
+ */
+class BinHistoryServiceIMPLTest {
+
+    private final BinHistoryStore store = mock(BinHistoryStore.class);
+    private BinHistoryServiceIMPL service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BinHistoryServiceIMPL();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", mock(JdbcTemplate.class));
+        ReflectionTestUtils.setField(service, "bufferSize", 10);
+        service.init();
+        ReflectionTestUtils.setField(service, "store", store);
+    }
+
+    @Test
+    void fullBufferDropsReadings() {
+        for (int i = 0; i < 12; i++) {
+            service.append(1, 50, 90, 1_700_000_000L + i);
+        }
+
+        assertEquals(2, service.getDroppedReadings());
+    }
+
+    @Test
+    void failedWriteCountsTheBatchAsDropped() {
+        doThrow(new QueryTimeoutException("database unavailable"))
+                .when(store).insertRaw(any(), any(), any(), any(), anyInt());
+        for (int i = 0; i < 3; i++) {
+            service.append(1, 50, 90, 1_700_000_000L + i);
+        }
+
+        assertThrows(QueryTimeoutException.class, () -> ReflectionTestUtils.invokeMethod(service, "flush"));
+        assertEquals(3, service.getDroppedReadings());
+    }
+
+    @Test
+    void failedReadingsAreNotWrittenAgain() {
+        List<Long> written = new ArrayList<>();
+        doThrow(new QueryTimeoutException("database unavailable"))
+                .doAnswer(invocation -> {
+                    long[] binIds = invocation.getArgument(0);
+                    int count = invocation.getArgument(4);
+                    for (int i = 0; i < count; i++) {
+                        written.add(binIds[i]);
+                    }
+                    return null;
+                })
+                .when(store).insertRaw(any(), any(), any(), any(), anyInt());
+        service.append(1, 50, 90, 1_700_000_000L);
+        assertThrows(QueryTimeoutException.class, () -> ReflectionTestUtils.invokeMethod(service, "flush"));
+
+        service.append(2, 60, 90, 1_700_000_060L);
+        ReflectionTestUtils.invokeMethod(service, "flush");
+
+        assertEquals(List.of(2L), written);
+        assertEquals(1, service.getDroppedReadings());
+    }
+}
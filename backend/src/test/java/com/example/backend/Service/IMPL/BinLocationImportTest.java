@@ -0,0 +1,64 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.DTO.BinImportResultDTO;
+import com.example.backend.Service.BinLocationService;
+import com.example.backend.utill.BinImportReader;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Bulk import against the application's database. Everything runs in a transaction that is rolled
+ * back, so no bins are left behind.
+ */
+@SpringBootTest(properties = "bins.import.chunk-size=10")
+class BinLocationImportTest {
+
+    @Autowired
+    private BinLocationService binLocationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void importedChunksDoNotStayInThePersistenceContext() {
+        // The outer transaction holds one persistence context for the whole import, as open-in-view does for a request
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            BinImportResultDTO result = importCsv(35);
+
+            assertEquals(35, result.getImported());
+            assertEquals(0, result.getFailed());
+            // Four chunks were saved, none of their bins is still managed
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        });
+    }
+
+    private BinImportResultDTO importCsv(int rows) {
+        StringBuilder csv = new StringBuilder("address,latitude,longitude,wasteType,status\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Import test bin ").append(i).append(',')
+                    .append(6.9 + i * 0.001).append(',').append(79.86).append(",PLASTIC,EMPTY\n");
+        }
+        try {
+            return binLocationService.importBinLocations(
+                    new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), BinImportReader.Format.CSV);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
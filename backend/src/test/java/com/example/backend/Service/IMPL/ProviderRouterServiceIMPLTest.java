@@ -0,0 +1,240 @@
+package com.example.backend.Service.IMPL;
+
+import com.example.backend.Controller.RecyclingResponse;
+import com.example.backend.DTO.RouterStatsDTO;
+import com.example.backend.Service.AnalysisProvider;
+import com.example.backend.config.HttpClientConfig;
+import com.example.backend.utill.OutboundHttpClients;
+import com.example.backend.utill.ProviderUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Routing over stub providers: ranking, falling through to the next provider, and daily quotas.
+ */
+class ProviderRouterServiceIMPLTest {
+
+    private static final byte[] IMAGE = {1, 2, 3};
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(4, 4, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>());
+    private OutboundHttpClients outboundHttpClients;
+
+    @BeforeEach
+    void setUp() {
+        outboundHttpClients = new OutboundHttpClients();
+        ReflectionTestUtils.setField(outboundHttpClients, "sharedHttpClient",
+                new HttpClientConfig().sharedHttpClient(20, 300, 128, 32));
+        ReflectionTestUtils.setField(outboundHttpClients, "environment", environment);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void lowerLatencyProviderIsAskedFirst() {
+        StubProvider slow = new StubProvider("slow");
+        StubProvider fast = new StubProvider("fast");
+        ProviderRouterServiceIMPL router = router(-1, slow, fast);
+        latency("slow", 800);
+        latency("fast", 50);
+
+        RecyclingResponse response = router.analyze(IMAGE, "bottle.jpg", "image/jpeg");
+
+        assertEquals("fast", response.getItemName());
+        assertEquals(1, fast.calls.get());
+        assertEquals(0, slow.calls.get());
+    }
+
+    @Test
+    void recentErrorsRankAProviderLower() {
+        StubProvider flaky = new StubProvider("flaky");
+        StubProvider steady = new StubProvider("steady");
+        ProviderRouterServiceIMPL router = router(-1, flaky, steady);
+        latency("flaky", 50);
+        latency("steady", 200);
+
+        flaky.failing = true;
+        router.analyze(IMAGE, "bottle.jpg", "image/jpeg");
+        flaky.failing = false;
+        flaky.calls.set(0);
+
+        // 100% errors outweigh the latency advantage
+        assertEquals("steady", router.analyze(IMAGE, "bottle.jpg", "image/jpeg").getItemName());
+        assertEquals(0, flaky.calls.get());
+    }
+
+    @Test
+    void failedProviderFallsThroughToTheNext() {
+        StubProvider first = new StubProvider("first");
+        StubProvider second = new StubProvider("second");
+        StubProvider third = new StubProvider("third");
+        ProviderRouterServiceIMPL router = router(-1, first, second, third);
+        latency("first", 50);
+        latency("second", 100);
+        latency("third", 200);
+        first.failing = true;
+        second.failing = true;
+
+        RecyclingResponse response = router.analyze(IMAGE, "bottle.jpg", "image/jpeg");
+
+        assertNull(response.getError());
+        assertEquals("third", response.getItemName());
+        assertEquals(Arrays.asList(1, 1, 1), Arrays.asList(first.calls.get(), second.calls.get(), third.calls.get()));
+    }
+
+    @Test
+    void everyProviderFailingReturnsTheError() {
+        StubProvider first = new StubProvider("first");
+        StubProvider second = new StubProvider("second");
+        ProviderRouterServiceIMPL router = router(0, first, second);
+        first.failing = true;
+        second.failing = true;
+
+        assertNotNull(router.analyze(IMAGE, "bottle.jpg", "image/jpeg").getError());
+    }
+
+    @Test
+    void slowPrimaryIsHedged() {
+        StubProvider slow = new StubProvider("slow");
+        StubProvider fast = new StubProvider("fast");
+        ProviderRouterServiceIMPL router = router(50, slow, fast);
+        latency("slow", 50);
+        latency("fast", 100);
+        slow.delayMillis = 2_000;
+
+        assertEquals("fast", router.analyze(IMAGE, "bottle.jpg", "image/jpeg").getItemName());
+        assertEquals(1, slow.calls.get());
+    }
+
+    @Test
+    void exhaustedQuotaFallsThroughToTheNext() {
+        environment.setProperty("recycling.router.metered.daily-quota", "2");
+        StubProvider metered = new StubProvider("metered");
+        StubProvider spare = new StubProvider("spare");
+        ProviderRouterServiceIMPL router = router(-1, metered, spare);
+        latency("metered", 50);
+        latency("spare", 500);
+
+        assertEquals("metered", router.analyze(new byte[]{1}, "a.jpg", "image/jpeg").getItemName());
+        assertEquals("metered", router.analyze(new byte[]{2}, "b.jpg", "image/jpeg").getItemName());
+        assertEquals("spare", router.analyze(new byte[]{3}, "c.jpg", "image/jpeg").getItemName());
+        assertEquals(2, stats(router, "metered").getQuotaUsedToday());
+        assertEquals(2, metered.outboundCalls.get());
+    }
+
+    @Test
+    void cacheHitsDoNotUseQuota() {
+        environment.setProperty("recycling.router.metered.daily-quota", "1");
+        StubProvider metered = new StubProvider("metered");
+        StubProvider spare = new StubProvider("spare");
+        ProviderRouterServiceIMPL router = router(-1, metered, spare);
+        latency("metered", 50);
+        latency("spare", 500);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("metered", router.analyze(IMAGE, "bottle.jpg", "image/jpeg").getItemName());
+        }
+        assertEquals(1, metered.outboundCalls.get());
+        assertEquals(1, stats(router, "metered").getQuotaUsedToday());
+        assertEquals(0, spare.calls.get());
+    }
+
+    private ProviderRouterServiceIMPL router(long hedgeDelayMillis, AnalysisProvider... providers) {
+        ProviderRouterServiceIMPL router = new ProviderRouterServiceIMPL();
+        ReflectionTestUtils.setField(router, "providers", List.of(providers));
+        ReflectionTestUtils.setField(router, "outboundHttpClients", outboundHttpClients);
+        ReflectionTestUtils.setField(router, "providerCallExecutor", executor);
+        ReflectionTestUtils.setField(router, "environment", environment);
+        ReflectionTestUtils.setField(router, "hedgeDelayMillis", hedgeDelayMillis);
+        ReflectionTestUtils.setField(router, "timeoutMillis", 5_000L);
+        ReflectionTestUtils.setField(router, "errorPenaltyMillis", 100d);
+        return router;
+    }
+
+    // The router ranks by the latency histogram of the provider's outbound client
+    private void latency(String provider, long millis) {
+        for (int i = 0; i < 20; i++) {
+            outboundHttpClients.get(provider).getLatency().record(millis);
+        }
+    }
+
+    private static RouterStatsDTO stats(ProviderRouterServiceIMPL router, String provider) {
+        return router.getStats().stream()
+                .filter(stats -> stats.getName().equals(provider))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    // Answers with its own name; remembers answers per image like the real providers' result caches
+    private static final class StubProvider implements AnalysisProvider {
+        private final String name;
+        private final Map<String, RecyclingResponse> cache = new HashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger outboundCalls = new AtomicInteger();
+        private volatile boolean failing;
+        private volatile long delayMillis;
+
+        private StubProvider(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public RecyclingResponse analyze(byte[] image, String fileName, String contentType,
+                                         BooleanSupplier outboundPermit) throws IOException {
+            calls.incrementAndGet();
+            String key = Arrays.toString(image);
+            synchronized (cache) {
+                RecyclingResponse cached = cache.get(key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            if (!outboundPermit.getAsBoolean()) {
+                throw new ProviderUnavailableException(name + " daily quota is used up");
+            }
+            outboundCalls.incrementAndGet();
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failing) {
+                return new RecyclingResponse("Error analyzing image: " + name + " is down");
+            }
+            RecyclingResponse response = new RecyclingResponse(name, "Plastic", "Recyclable", "Rinse it");
+            synchronized (cache) {
+                cache.put(key, response);
+            }
+            return response;
+        }
+    }
+}
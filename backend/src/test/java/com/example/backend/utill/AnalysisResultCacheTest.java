@@ -0,0 +1,193 @@
+package com.example.backend.utill;
+
+import com.example.backend.Controller.RecyclingResponse;
+import com.example.backend.DTO.CacheStatsDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Image hashing and the memory/disk result cache built on it.
+ */
+class AnalysisResultCacheTest {
+
+    private static final long MAX_PIXELS = 60_000_000L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void identicalBytesHashTheSame() throws IOException {
+        byte[] photo = png(gradient(Color.BLACK, Color.WHITE));
+
+        assertEquals(ImageHashes.sha256Hex(photo), ImageHashes.sha256Hex(photo.clone()));
+        assertEquals(ImageHashes.differenceHash(photo, MAX_PIXELS), ImageHashes.differenceHash(photo.clone(), MAX_PIXELS));
+        assertNotEquals(ImageHashes.sha256Hex(photo), ImageHashes.sha256Hex(png(gradient(Color.WHITE, Color.BLACK))));
+    }
+
+    @Test
+    void reEncodedImageKeepsItsPerceptualHash() throws IOException {
+        BufferedImage image = gradient(Color.BLACK, Color.WHITE);
+        Long original = ImageHashes.differenceHash(png(image), MAX_PIXELS);
+        Long reEncoded = ImageHashes.differenceHash(jpeg(image), MAX_PIXELS);
+        Long mirrored = ImageHashes.differenceHash(png(gradient(Color.WHITE, Color.BLACK)), MAX_PIXELS);
+
+        assertNotNull(original);
+        assertTrue(ImageHashes.hammingDistance(original, reEncoded) <= 4);
+        assertTrue(ImageHashes.hammingDistance(original, mirrored) > 32);
+    }
+
+    @Test
+    void undecodableOrOversizedImagesHaveNoPerceptualHash() throws IOException {
+        assertNull(ImageHashes.differenceHash(new byte[]{1, 2, 3}, MAX_PIXELS));
+        assertNull(ImageHashes.differenceHash(png(gradient(Color.BLACK, Color.WHITE)), 100));
+    }
+
+    @Test
+    void sameBytesAreLoadedOnce() throws IOException {
+        AnalysisResultCache<RecyclingResponse> cache = cache(100, 100, 60_000, -1);
+
+        assertEquals("first", get(cache, new byte[]{1}, "first").getItemName());
+        assertEquals("first", get(cache, new byte[]{1}, "second").getItemName());
+        assertEquals("other", get(cache, new byte[]{2}, "other").getItemName());
+
+        assertEquals(3, cache.getRequests());
+        assertEquals(2, cache.getLoads());
+        assertEquals(1, stats(cache, "test.memory").getHits());
+    }
+
+    @Test
+    void errorResponsesAreNotCached() throws IOException {
+        AnalysisResultCache<RecyclingResponse> cache = cache(100, 100, 60_000, -1);
+
+        cache.get(new byte[]{1}, () -> new RecyclingResponse("Error analyzing image: down"), response -> response.getError() == null);
+        get(cache, new byte[]{1}, "retried");
+
+        assertEquals(2, cache.getLoads());
+        assertEquals(1, diskFiles());
+    }
+
+    @Test
+    void diskEntriesSurviveARestart() throws IOException {
+        get(cache(100, 100, 60_000, -1), new byte[]{1}, "stored");
+
+        AnalysisResultCache<RecyclingResponse> restarted = cache(100, 100, 60_000, -1);
+
+        assertEquals("stored", get(restarted, new byte[]{1}, "reloaded").getItemName());
+        assertEquals(0, restarted.getLoads());
+        assertEquals(1, stats(restarted, "test.disk").getHits());
+    }
+
+    @Test
+    void similarImageIsAPerceptualHit() throws IOException {
+        BufferedImage image = gradient(Color.BLACK, Color.WHITE);
+        AnalysisResultCache<RecyclingResponse> cache = cache(100, 100, 60_000, 4);
+
+        get(cache, png(image), "bottle");
+
+        assertEquals("bottle", get(cache, jpeg(image), "re-encoded").getItemName());
+        assertEquals("mirrored", get(cache, png(gradient(Color.WHITE, Color.BLACK)), "mirrored").getItemName());
+        assertEquals(2, cache.getLoads());
+        assertEquals(1, stats(cache, "test.perceptual").getHits());
+    }
+
+    @Test
+    void expiredEntriesAreLoadedAgain() throws IOException, InterruptedException {
+        AnalysisResultCache<RecyclingResponse> cache = cache(100, 100, 200, -1);
+        get(cache, new byte[]{1}, "old");
+
+        Thread.sleep(300);
+
+        assertEquals("new", get(cache, new byte[]{1}, "new").getItemName());
+        assertEquals(2, cache.getLoads());
+        // A restart does not bring the expired entry back either
+        get(cache, new byte[]{2}, "other");
+        Thread.sleep(300);
+        assertEquals(0, stats(cache(100, 100, 200, -1), "test.disk").getSize());
+    }
+
+    @Test
+    void bothTiersStayWithinTheirLimits() throws IOException, InterruptedException {
+        AnalysisResultCache<RecyclingResponse> cache = cache(5, 10, 60_000, -1);
+
+        for (int i = 0; i < 30; i++) {
+            get(cache, new byte[]{(byte) i}, "item " + i);
+            // Disk eviction goes by store time, keep them apart
+            Thread.sleep(2);
+        }
+
+        assertTrue(stats(cache, "test.memory").getSize() <= 5);
+        assertTrue(stats(cache, "test.memory").getEvictions() > 0);
+        assertTrue(stats(cache, "test.disk").getSize() <= 10);
+        assertTrue(stats(cache, "test.disk").getEvictions() > 0);
+        assertTrue(diskFiles() <= 10);
+        // The newest entry is kept, the oldest is gone
+        assertEquals("item 29", get(cache, new byte[]{29}, "reloaded").getItemName());
+        assertEquals("reloaded", get(cache, new byte[]{0}, "reloaded").getItemName());
+    }
+
+    private AnalysisResultCache<RecyclingResponse> cache(int maxMemoryEntries, int maxDiskEntries, long ttlMillis,
+                                                         int perceptualMaxDistance) {
+        return new AnalysisResultCache<>("test", RecyclingResponse.class, objectMapper, directory,
+                maxMemoryEntries, maxDiskEntries, ttlMillis, perceptualMaxDistance, MAX_PIXELS);
+    }
+
+    private RecyclingResponse get(AnalysisResultCache<RecyclingResponse> cache, byte[] image, String itemName)
+            throws IOException {
+        return cache.get(image, () -> new RecyclingResponse(itemName, "Plastic", "Recyclable", "Rinse it"),
+                response -> response.getError() == null);
+    }
+
+    private static CacheStatsDTO stats(AnalysisResultCache<?> cache, String name) {
+        return cache.getStats().stream()
+                .filter(stats -> stats.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private long diskFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".json")).count();
+        }
+    }
+
+    private static BufferedImage gradient(Color from, Color to) {
+        BufferedImage image = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, from, 320, 0, to));
+        graphics.fillRect(0, 0, 320, 240);
+        graphics.dispose();
+        return image;
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static byte[] jpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.backend.utill;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * No upload reaches a provider with its EXIF block (GPS position included) still attached.
+ */
+class ImagePreprocessorTest {
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>());
+    private ImagePreprocessor preprocessor;
+
+    @BeforeEach
+    void setUp() {
+        preprocessor = new ImagePreprocessor();
+        ReflectionTestUtils.setField(preprocessor, "imagePreprocessExecutor", executor);
+        ReflectionTestUtils.setField(preprocessor, "enabled", true);
+        ReflectionTestUtils.setField(preprocessor, "maxDimension", 1024);
+        ReflectionTestUtils.setField(preprocessor, "maxBytes", 400_000);
+        ReflectionTestUtils.setField(preprocessor, "maxPixels", 60_000_000L);
+        ReflectionTestUtils.setField(preprocessor, "timeoutMillis", 5_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void smallPhotoIsReEncodedEvenWhenThatMakesItBigger() throws IOException {
+        // Heavily compressed noise: re-encoding at normal quality comes out larger than the upload
+        byte[] upload = withExif(jpeg(noise(200, 150), 0.1f), 1);
+
+        ImagePreprocessor.Prepared prepared = preprocessor.prepare(upload, "image/jpeg");
+
+        assertTrue(prepared.getContent().length > upload.length);
+        assertEquals("image/jpeg", prepared.getContentType());
+        assertFalse(contains(prepared.getContent(), "GPS-SECRET"));
+        assertNotNull(ImageIO.read(new ByteArrayInputStream(prepared.getContent())));
+    }
+
+    @Test
+    void exifOrientationIsAppliedBeforeItIsDropped() throws IOException {
+        byte[] upload = withExif(jpeg(noise(40, 20), 0.9f), 6);
+
+        BufferedImage sent = ImageIO.read(new ByteArrayInputStream(preprocessor.prepare(upload, "image/jpeg").getContent()));
+
+        assertEquals(20, sent.getWidth());
+        assertEquals(40, sent.getHeight());
+    }
+
+    @Test
+    void undecodableJpegLosesItsMetadataSegments() throws IOException {
+        byte[] photo = withExif(jpeg(noise(16, 16), 0.9f), 1);
+
+        byte[] stripped = ImagePreprocessor.stripJpegMetadata(photo);
+
+        assertFalse(contains(stripped, "GPS-SECRET"));
+        assertTrue(contains(stripped, "JFIF"));
+        assertNotNull(ImageIO.read(new ByteArrayInputStream(stripped)));
+    }
+
+    @Test
+    void somethingElseIsPassedOnUnchanged() {
+        byte[] notAnImage = "not an image".getBytes(StandardCharsets.US_ASCII);
+
+        ImagePreprocessor.Prepared prepared = preprocessor.prepare(notAnImage, "image/png");
+
+        assertArrayEquals(notAnImage, prepared.getContent());
+        assertEquals("image/png", prepared.getContentType());
+    }
+
+    private static BufferedImage noise(int width, int height) {
+        Random random = new Random(42);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        return image;
+    }
+
+    private static byte[] jpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    // An APP1 EXIF segment with the orientation tag and a marker string standing in for GPS data
+    private static byte[] withExif(byte[] jpeg, int orientation) {
+        byte[] tiff = {'M', 'M', 0, 42, 0, 0, 0, 8, 0, 1, 0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0, 0, 0, 0, 0};
+        byte[] marker = "GPS-SECRET".getBytes(StandardCharsets.US_ASCII);
+        int length = 2 + 6 + tiff.length + marker.length;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, 2);
+        out.write(0xFF);
+        out.write(0xE1);
+        out.write(length >> 8);
+        out.write(length & 0xFF);
+        out.writeBytes("Exif\0\0".getBytes(StandardCharsets.US_ASCII));
+        out.writeBytes(tiff);
+        out.writeBytes(marker);
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+
+    private static boolean contains(byte[] content, String text) {
+        return new String(content, StandardCharsets.ISO_8859_1).contains(text);
+    }
+}
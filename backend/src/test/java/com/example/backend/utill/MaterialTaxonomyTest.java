@@ -0,0 +1,56 @@
+package com.example.backend.utill;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Classification with the shipped {@code recycling/material-taxonomy.json}.
+ */
+class MaterialTaxonomyTest {
+
+    private MaterialTaxonomy taxonomy;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        try (InputStream json = getClass().getResourceAsStream("/recycling/material-taxonomy.json")) {
+            taxonomy = MaterialTaxonomy.load(json);
+        }
+    }
+
+    @Test
+    void binsAreNotMetal() {
+        // Taggers name the container, which says nothing about what is thrown away
+        for (String tag : List.of("trash can", "garbage can", "watering can", "can")) {
+            assertEquals("Unknown material", classify(tag), tag);
+        }
+    }
+
+    @Test
+    void specificCansAreMetal() {
+        for (String tag : List.of("aluminum can", "soda can", "tin can", "beer can")) {
+            assertEquals("Metal", classify(tag), tag);
+        }
+    }
+
+    @Test
+    void keywordsOnlyMatchWholeWords() {
+        assertEquals("Unknown material", classify("tinsel"));
+        assertEquals("Paper", classify("Cardboard Box"));
+    }
+
+    @Test
+    void mostConfidentMaterialWins() {
+        assertEquals("Plastic", taxonomy.classify(List.of("plastic bottle", "glass"), List.of(80d, 40d)).getName());
+        assertEquals("Glass", taxonomy.classify(List.of("plastic bottle", "glass"), List.of(40d, 80d)).getName());
+    }
+
+    private String classify(String tag) {
+        return taxonomy.classify(List.of(tag), null).getName();
+    }
+}
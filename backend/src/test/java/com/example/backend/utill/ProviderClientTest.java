@@ -0,0 +1,181 @@
+package com.example.backend.utill;
+
+import com.example.backend.config.HttpClientConfig;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Timeouts, circuit breaker and bulkhead of the provider clients, against a stand-in server.
+ */
+class ProviderClientTest {
+
+    private MockWebServer server;
+    private MockEnvironment environment;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        environment = new MockEnvironment();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    void slowHeadersTripTheReadTimeout() throws Exception {
+        environment.setProperty("outbound.provider.stub.read-timeout-ms", "200");
+        ProviderClient client = client();
+        server.enqueue(new MockResponse().setHeadersDelay(2, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        assertThrows(InterruptedIOException.class, () -> client.call(request(), Response::code));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_500);
+        assertEquals(1, client.getStats().getFailures());
+    }
+
+    @Test
+    void slowBodyTripsTheCallTimeout() throws Exception {
+        environment.setProperty("outbound.provider.stub.read-timeout-ms", "5000");
+        environment.setProperty("outbound.provider.stub.call-timeout-ms", "300");
+        ProviderClient client = client();
+        // Each chunk arrives well inside the read timeout, only the whole call is too slow
+        server.enqueue(new MockResponse().setBody("x".repeat(10_000)).throttleBody(100, 50, TimeUnit.MILLISECONDS));
+
+        assertThrows(InterruptedIOException.class, () -> client.call(request(), response -> response.body().string()));
+        assertEquals(1, client.getStats().getFailures());
+    }
+
+    @Test
+    void consecutiveServerErrorsOpenTheCircuit() throws Exception {
+        openingCircuit(60_000);
+        ProviderClient client = client();
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+        }
+        for (int i = 0; i < 4; i++) {
+            assertEquals(503, client.call(request(), Response::code));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitBreaker().getState());
+
+        // Fails fast without reaching the server
+        assertThrows(ProviderUnavailableException.class, () -> client.call(request(), Response::code));
+        assertEquals(4, server.getRequestCount());
+        assertEquals(1, client.getStats().getRejected());
+    }
+
+    @Test
+    void halfOpenProbeClosesTheCircuitAgain() throws Exception {
+        openingCircuit(300);
+        ProviderClient client = client();
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+            client.call(request(), Response::code);
+        }
+        assertThrows(ProviderUnavailableException.class, () -> client.call(request(), Response::code));
+
+        Thread.sleep(400);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, client.getCircuitBreaker().getState());
+        server.enqueue(new MockResponse().setBody("ok"));
+        assertEquals("ok", client.call(request(), response -> response.body().string()));
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreaker().getState());
+        assertEquals(5, server.getRequestCount());
+    }
+
+    @Test
+    void failedProbeOpensTheCircuitAgain() throws Exception {
+        openingCircuit(300);
+        ProviderClient client = client();
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+            client.call(request(), Response::code);
+        }
+
+        Thread.sleep(400);
+        server.enqueue(new MockResponse().setResponseCode(500));
+        assertEquals(500, client.call(request(), Response::code));
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitBreaker().getState());
+        assertThrows(ProviderUnavailableException.class, () -> client.call(request(), Response::code));
+        assertEquals(5, server.getRequestCount());
+    }
+
+    @Test
+    void fullBulkheadRejectsInsteadOfQueueing() throws Exception {
+        environment.setProperty("outbound.provider.stub.max-concurrent", "2");
+        environment.setProperty("outbound.provider.stub.bulkhead-wait-ms", "0");
+        ProviderClient client = client();
+        CountDownLatch release = new CountDownLatch(1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                release.await(5, TimeUnit.SECONDS);
+                return new MockResponse().setBody("ok");
+            }
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = callers.submit(() -> client.call(request(), Response::code));
+            Future<Integer> second = callers.submit(() -> client.call(request(), Response::code));
+            // Both permits are taken once both requests reached the server
+            assertTrue(server.takeRequest(2, TimeUnit.SECONDS) != null);
+            assertTrue(server.takeRequest(2, TimeUnit.SECONDS) != null);
+
+            long start = System.nanoTime();
+            assertThrows(ProviderUnavailableException.class, () -> client.call(request(), Response::code));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+            assertEquals(2, server.getRequestCount());
+            assertEquals(2, client.getStats().getInFlight());
+            assertEquals(1, client.getStats().getRejected());
+
+            release.countDown();
+            assertEquals(200, first.get(5, TimeUnit.SECONDS));
+            assertEquals(200, second.get(5, TimeUnit.SECONDS));
+            assertEquals(0, client.getStats().getInFlight());
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    // Four failures in a window of four open the circuit
+    private void openingCircuit(long openMillis) {
+        environment.setProperty("outbound.provider.stub.circuit.window-size", "4");
+        environment.setProperty("outbound.provider.stub.circuit.minimum-calls", "4");
+        environment.setProperty("outbound.provider.stub.circuit.failure-rate", "100");
+        environment.setProperty("outbound.provider.stub.circuit.open-ms", Long.toString(openMillis));
+    }
+
+    private ProviderClient client() {
+        OutboundHttpClients clients = new OutboundHttpClients();
+        ReflectionTestUtils.setField(clients, "sharedHttpClient", new HttpClientConfig().sharedHttpClient(20, 300, 128, 32));
+        ReflectionTestUtils.setField(clients, "environment", environment);
+        return clients.get("stub");
+    }
+
+    private Request request() {
+        return new Request.Builder().url(server.url("/tags")).build();
+    }
+}
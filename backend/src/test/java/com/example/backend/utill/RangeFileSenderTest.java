@@ -0,0 +1,38 @@
+package com.example.backend.utill;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * If-None-Match matching as the sync and tile endpoints use it.
+ */
+class RangeFileSenderTest {
+
+    private static final String ETAG = "\"bins-1a2b-42\"";
+
+    @Test
+    void exactTagMatches() {
+        assertTrue(RangeFileSender.etagMatches("\"bins-1a2b-42\"", ETAG));
+    }
+
+    @Test
+    void weakTagMatches() {
+        // Proxies that compress the body weaken the ETag on the way back
+        assertTrue(RangeFileSender.etagMatches("W/\"bins-1a2b-42\"", ETAG));
+    }
+
+    @Test
+    void anyTagInAListMatches() {
+        assertTrue(RangeFileSender.etagMatches("\"bins-1a2b-41\", W/\"bins-1a2b-42\"", ETAG));
+        assertTrue(RangeFileSender.etagMatches("*", ETAG));
+    }
+
+    @Test
+    void otherOrMissingTagsDoNotMatch() {
+        assertFalse(RangeFileSender.etagMatches(null, ETAG));
+        assertFalse(RangeFileSender.etagMatches("\"bins-1a2b-41\"", ETAG));
+        assertFalse(RangeFileSender.etagMatches("bins-1a2b-42", ETAG));
+    }
+}
@@ -90,11 +90,11 @@ const ComplaintTable = ({ onDelete, onEdit }) => {
                 <td className="px-6 py-4 text-sm text-gray-900 max-w-xs truncate">{complaint.complain}</td>
                 <td className="px-6 py-4 whitespace-nowrap">
                   <div className="flex items-center">
-                    {complaint.image ? (
+                    {complaint.imageUrl || complaint.image ? (
                       <div className="flex-shrink-0 h-10 w-10">
                         <img 
                           className="h-10 w-10 rounded-md object-cover" 
-                          src={complaint.image} 
+                          src={complaint.imageUrl ? `http://localhost:8045${complaint.imageUrl}` : complaint.image} 
                           alt="Complaint evidence" 
                           onError={(e) => {
                             e.target.onerror = null;